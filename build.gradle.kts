@@ -34,6 +34,7 @@ project("core-ng") {
         implementation("org.jetbrains.kotlin:kotlin-stdlib:1.9.22")
         implementation("io.undertow:undertow-core:2.3.17.Final")
         implementation("org.apache.kafka:kafka-clients:${kafkaVersion}")
+        implementation("org.lz4:lz4-java:1.8.0")       // same version as kafka-clients depends on, used by cache binary codec
         compileOnly("org.jboss.logging:jboss-logging-annotations:2.2.1.Final")
         compileOnly("com.github.spotbugs:spotbugs-annotations:4.8.3")
         testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
@@ -100,10 +101,33 @@ project("core-ng-search-test") {
     }
 }
 
+project("core-ng-benchmark") {
+    apply(plugin = "me.champeau.jmh")
+    dependencies {
+        "jmh"(project(":core-ng"))
+        "jmh"("org.apache.kafka:kafka-clients:${kafkaVersion}")     // to create kafka records in MessageListenerThreadBenchmark
+    }
+    configure<me.champeau.jmh.JmhParameters> {
+        jmhVersion = "1.37"
+        fork = 1
+        warmupIterations = 3
+        iterations = 5
+        profilers = listOf("gc")      // report gc.alloc.rate.norm, allocated bytes per op
+        resultFormat = "JSON"
+        // usage: "gradlew :core-ng-benchmark:jmh -Pbaseline" to refresh checked in baseline, otherwise write result to build dir to compare with baseline
+        resultsFile = if (project.hasProperty("baseline")) file("baseline/result.json") else layout.buildDirectory.file("results/jmh/result.json").get().asFile
+        val include = project.properties["include"] as String?     // usage: "gradlew :core-ng-benchmark:jmh -Pinclude=RouteBenchmark"
+        if (include != null) includes = listOf(include)
+    }
+    tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+        options.compilerArgs.remove("-Werror")      // jmh generated code doesn't pass -Xlint:all
+    }
+}
+
 val mavenURL = project.properties["mavenURL"] as String?    // usage: "gradlew -PmavenURL=/path clean publish"
 
 subprojects {
-    if (mavenURL != null && project.name.startsWith("core-ng")) {
+    if (mavenURL != null && project.name.startsWith("core-ng") && project.name != "core-ng-benchmark") {
         apply(plugin = "maven-publish")
 
         val mavenDir = file(mavenURL)
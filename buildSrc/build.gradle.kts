@@ -17,4 +17,5 @@ dependencies {
     implementation("com.github.spotbugs.snom:spotbugs-gradle-plugin:6.0.20")
     implementation("org.flywaydb:flyway-gradle-plugin:10.17.2")
     implementation("org.flywaydb:flyway-mysql:10.17.2")
+    implementation("me.champeau.jmh:jmh-gradle-plugin:0.7.2")
 }
@@ -0,0 +1,66 @@
+package core.framework.internal.cache;
+
+import core.framework.api.json.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+public class LocalCacheStoreBenchmark {
+    private static final int KEYS = 20000;     // twice of default max size, to make put trigger eviction
+
+    private final Duration expiration = Duration.ofHours(1);
+    private LocalCacheStore cacheStore;
+    private CacheContext<TestCache> context;
+    private String[] keys;
+    private TestCache value;
+
+    @Setup
+    public void setup() {
+        cacheStore = new LocalCacheStore();
+        context = new CacheContext<>(TestCache.class);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "cache:" + i;
+        }
+        value = new TestCache();
+        value.name = "value";
+        for (int i = 0; i < cacheStore.maxSize; i++) {
+            cacheStore.put(keys[i], value, expiration, context);
+        }
+    }
+
+    @Benchmark
+    public TestCache get() {
+        return cacheStore.get(keys[ThreadLocalRandom.current().nextInt(KEYS)], context);
+    }
+
+    @Benchmark
+    public void put() {
+        cacheStore.put(keys[ThreadLocalRandom.current().nextInt(KEYS)], value, expiration, context);
+    }
+
+    public static class TestCache {
+        @Property(name = "name")
+        public String name;
+    }
+}
@@ -0,0 +1,94 @@
+package core.framework.internal.db;
+
+import core.framework.db.Column;
+import core.framework.db.PrimaryKey;
+import core.framework.db.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RowMapperBenchmark {
+    private static final String[] COLUMNS = {"id", "string_field", "long_field", "double_field", "decimal_field", "boolean_field", "date_time_field", "zoned_date_time_field"};
+    private static final Object[] VALUES = {1, "value", 100L, 1.5, new BigDecimal("12.34"), Boolean.TRUE, LocalDateTime.of(2024, 8, 1, 12, 0), OffsetDateTime.of(2024, 8, 1, 12, 0, 0, 0, ZoneOffset.UTC)};
+
+    private RowMapper<TestEntity> mapper;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        mapper = new RowMapperBuilder<>(TestEntity.class, new EnumDBMapper()).build();
+        resultSet = resultSet();
+    }
+
+    // stub result set only returns values of one row, to measure mapper and column index lookup without jdbc driver overhead
+    private ResultSet resultSet() {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> COLUMNS.length;
+            case "getColumnLabel" -> COLUMNS[(int) args[0] - 1];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getMetaData" -> meta;
+            case "getObject", "getString", "getBigDecimal" -> VALUES[(int) args[0] - 1];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @Benchmark
+    public TestEntity map() throws SQLException {
+        return mapper.map(new ResultSetWrapper(resultSet));
+    }
+
+    @Table(name = "test_entity")
+    public static class TestEntity {
+        @PrimaryKey
+        @Column(name = "id")
+        public Integer id;
+
+        @Column(name = "string_field")
+        public String stringField;
+
+        @Column(name = "long_field")
+        public Long longField;
+
+        @Column(name = "double_field")
+        public Double doubleField;
+
+        @Column(name = "decimal_field")
+        public BigDecimal decimalField;
+
+        @Column(name = "boolean_field")
+        public Boolean booleanField;
+
+        @Column(name = "date_time_field")
+        public LocalDateTime dateTimeField;
+
+        @Column(name = "zoned_date_time_field")
+        public ZonedDateTime zonedDateTimeField;
+    }
+}
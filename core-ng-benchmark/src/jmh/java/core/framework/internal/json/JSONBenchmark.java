@@ -0,0 +1,96 @@
+package core.framework.internal.json;
+
+import core.framework.api.json.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class JSONBenchmark {
+    private JSONReader<TestBean> reader;
+    private JSONWriter<TestBean> writer;
+    private TestBean bean;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        reader = new JSONReader<>(TestBean.class);
+        writer = new JSONWriter<>(TestBean.class);
+
+        bean = new TestBean();
+        bean.id = "5f3a6b2c9d1e";
+        bean.name = "benchmark";
+        bean.count = 100;
+        bean.amount = 99.99;
+        bean.enabled = Boolean.TRUE;
+        bean.createdTime = LocalDateTime.of(2024, 8, 1, 12, 0);
+        bean.items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            var item = new TestBean.Item();
+            item.name = "item-" + i;
+            item.quantity = i;
+            bean.items.add(item);
+        }
+        json = writer.toJSON(bean);
+    }
+
+    @Benchmark
+    public TestBean read() throws IOException {
+        return reader.fromJSON(json);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return writer.toJSON(bean);
+    }
+
+    public static class TestBean {
+        @Property(name = "id")
+        public String id;
+
+        @Property(name = "name")
+        public String name;
+
+        @Property(name = "count")
+        public Integer count;
+
+        @Property(name = "amount")
+        public Double amount;
+
+        @Property(name = "enabled")
+        public Boolean enabled;
+
+        @Property(name = "created_time")
+        public LocalDateTime createdTime;
+
+        @Property(name = "items")
+        public List<Item> items;
+
+        public static class Item {
+            @Property(name = "name")
+            public String name;
+
+            @Property(name = "quantity")
+            public Integer quantity;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package core.framework.internal.kafka;
+
+import core.framework.api.json.Property;
+import core.framework.api.validate.NotNull;
+import core.framework.internal.json.JSONWriter;
+import core.framework.internal.log.LogManager;
+import core.framework.kafka.MessageHandler;
+import core.framework.log.LogAppender;
+import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.StatMessage;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteBufferDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MessageListenerThreadBenchmark {
+    private static final int MESSAGES = 500;    // default max poll records
+    private static final String TOPIC = "topic";
+
+    @Param({"false", "true"})
+    public boolean zeroCopy;
+
+    @Param({"100", "1000"})
+    public int items;
+
+    private final Headers headers = new RecordHeaders();
+    private final String[] keys = new String[MESSAGES];
+    private MockConsumer<String, Object> consumer;
+    private MessageListenerThread thread;
+    private Deserializer<?> deserializer;
+    private ByteBuffer fetched;     // simulate fetch response, value of each record is slice of it
+    private int valueLength;
+    private long offset;
+
+    @Setup
+    public void setup() {
+        var logManager = new LogManager();
+        logManager.appender = new LogAppender() {
+            @Override
+            public void append(ActionLogMessage message) {
+            }
+
+            @Override
+            public void append(StatMessage message) {
+            }
+        };
+        var listener = new MessageListener(null, null, logManager, Duration.ofSeconds(30).toNanos());
+        listener.zeroCopy = zeroCopy;
+        listener.subscribe(TOPIC, TestMessage.class, new TestHandler(), null);
+        var partition = new TopicPartition(TOPIC, 0);
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        thread = new MessageListenerThread("kafka-listener", consumer, listener);
+        deserializer = zeroCopy ? new ByteBufferDeserializer() : new ByteArrayDeserializer();   // same as MessageListener.createConsumer
+
+        var message = new TestMessage();
+        message.id = "5f3a6b2c9d1e";
+        message.items = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            message.items.add("item-" + i);
+        }
+        byte[] value = new JSONWriter<>(TestMessage.class).toJSON(message);
+        valueLength = value.length;
+        fetched = ByteBuffer.allocate(valueLength * MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            fetched.put(value);
+            keys[i] = "key-" + i;
+        }
+    }
+
+    // deserialize value from fetched buffer as kafka consumer does, then go through listener path, poll, group by key, dispatch to virtual threads,
+    // handle with action log, wait all completed and commit
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void poll() throws InterruptedException {
+        for (int i = 0; i < MESSAGES; i++) {
+            Object value = deserializer.deserialize(TOPIC, headers, fetched.slice(i * valueLength, valueLength));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset++, keys[i], value));
+        }
+        Collection<KafkaMessages> messages = thread.poll();
+        thread.processAll(messages);
+    }
+
+    public static class TestMessage {
+        @NotNull
+        @Property(name = "id")
+        public String id;
+
+        @Property(name = "items")
+        public List<String> items;
+    }
+
+    public static class TestHandler implements MessageHandler<TestMessage> {
+        @Override
+        public void handle(String key, TestMessage value) {
+        }
+    }
+}
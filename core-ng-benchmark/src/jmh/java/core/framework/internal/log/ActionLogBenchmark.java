@@ -0,0 +1,72 @@
+package core.framework.internal.log;
+
+import core.framework.log.LogAppender;
+import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.StatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ActionLogBenchmark {
+    private static final String LOGGER = LoggerImpl.abbreviateLoggerName(ActionLogBenchmark.class.getCanonicalName());
+
+    private final LogManager logManager = new LogManager();
+
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    @Setup
+    public void setup() {
+        logManager.appender = new LogAppender() {
+            @Override
+            public void append(ActionLogMessage message) {
+            }
+
+            @Override
+            public void append(StatMessage message) {
+            }
+        };
+    }
+
+    // simulate typical action, debug events with arguments, context and stats, and trace log is not flushed,
+    // use with gc profiler to check allocation per action, refer to gc.alloc.rate.norm
+    @Benchmark
+    public void accumulate() {
+        process(Trace.NONE);
+    }
+
+    @Benchmark
+    public void trace() {
+        process(Trace.CURRENT);
+    }
+
+    private void process(Trace trace) {
+        ActionLog actionLog = logManager.begin("begin", null);
+        actionLog.trace = trace;
+        actionLog.action("api:benchmark");
+        actionLog.context("customer_id", "customer-1");
+        for (int i = 0; i < events; i++) {
+            actionLog.process(LOGGER, null, LogLevel.DEBUG, "process item, id={}, index={}", new Object[]{"item-id", i}, null);
+        }
+        actionLog.stat("items", events);
+        actionLog.track("db", 1_000_000, 1, 0);
+        logManager.end("end");
+    }
+}
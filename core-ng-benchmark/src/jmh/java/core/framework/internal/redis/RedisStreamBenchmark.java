@@ -0,0 +1,76 @@
+package core.framework.internal.redis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static core.framework.internal.redis.Protocol.Command.SET;
+import static core.framework.internal.redis.Protocol.Keyword.PX;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RedisStreamBenchmark {
+    private ByteArrayOutputStream output;
+    private RedisOutputStream redisOutputStream;
+    private ByteArrayInputStream input;
+    private RedisInputStream redisInputStream;
+    private byte[] key;
+    private byte[] value;
+    private byte[] expiration;
+
+    @Setup
+    public void setup() throws IOException {
+        output = new ByteArrayOutputStream(8192);
+        redisOutputStream = new RedisOutputStream(output, 8192);
+        key = RedisEncodings.encode("cache:customer:1234567890");
+        value = RedisEncodings.encode("{\"id\":\"1234567890\",\"name\":\"customer\",\"email\":\"customer@example.com\"}".repeat(10));
+        expiration = RedisEncodings.encode(3600000L);
+
+        // MGET response of 10 keys, with one nil value
+        var response = new StringBuilder("*10\r\n");
+        String json = new String(value, StandardCharsets.UTF_8);
+        for (int i = 0; i < 9; i++) {
+            response.append('$').append(value.length).append("\r\n").append(json).append("\r\n");
+        }
+        response.append("$-1\r\n");
+        input = new ByteArrayInputStream(response.toString().getBytes(StandardCharsets.UTF_8));
+        redisInputStream = new RedisInputStream(input);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        output.reset();
+        Protocol.writeArray(redisOutputStream, 5);
+        Protocol.writeBlobString(redisOutputStream, SET);
+        Protocol.writeBlobString(redisOutputStream, key);
+        Protocol.writeBlobString(redisOutputStream, value);
+        Protocol.writeBlobString(redisOutputStream, PX);
+        Protocol.writeBlobString(redisOutputStream, expiration);
+        redisOutputStream.flush();
+        return output.size();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        input.reset();      // whole response is consumed by previous read, so redisInputStream buffer is empty
+        return Protocol.read(redisInputStream);
+    }
+}
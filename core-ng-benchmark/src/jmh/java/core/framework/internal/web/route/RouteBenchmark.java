@@ -0,0 +1,69 @@
+package core.framework.internal.web.route;
+
+import core.framework.http.HTTPMethod;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.web.controller.ControllerHolder;
+import core.framework.internal.web.request.PathParams;
+import core.framework.web.Controller;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author neo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class RouteBenchmark {
+    private Route route;
+    private ActionLog actionLog;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Controller controller = request -> Response.empty();
+        var holder = new ControllerHolder(controller, Controller.class.getMethod("execute", Request.class), "benchmark", "benchmark", true);
+
+        route = new Route();
+        for (int i = 0; i < 50; i++) {
+            route.add(HTTPMethod.GET, "/static/path" + i, holder);
+            route.add(HTTPMethod.GET, "/dynamic/path" + i + "/:id", holder);
+            route.add(HTTPMethod.PUT, "/dynamic/path" + i + "/:id/item/:itemId", holder);
+        }
+        route.add(HTTPMethod.GET, "/wildcard/:path(*)", holder);
+
+        actionLog = new ActionLog("begin", null);
+    }
+
+    @Benchmark
+    public ControllerHolder staticPath() {
+        return route.get("/static/path25", HTTPMethod.GET, new PathParams(), actionLog);
+    }
+
+    @Benchmark
+    public ControllerHolder dynamicPath() {
+        return route.get("/dynamic/path25/123", HTTPMethod.GET, new PathParams(), actionLog);
+    }
+
+    @Benchmark
+    public ControllerHolder nestedDynamicPath() {
+        return route.get("/dynamic/path25/123/item/456", HTTPMethod.PUT, new PathParams(), actionLog);
+    }
+
+    @Benchmark
+    public ControllerHolder wildcardPath() {
+        return route.get("/wildcard/path1/path2/file.js", HTTPMethod.GET, new PathParams(), actionLog);
+    }
+}
@@ -31,7 +31,8 @@ public class TestModuleContext extends ModuleContext {
 
     @Override
     public void initialize() {
-        beanFactory.bind(Executor.class, null, new MockExecutor());
+        executor = new MockExecutor();
+        beanFactory.bind(Executor.class, null, executor);
     }
 
     public <T> T getConfig(Class<T> configClass, String name) {
@@ -0,0 +1,191 @@
+package core.framework.test.redis;
+
+import core.framework.redis.Redis;
+import core.framework.redis.RedisPipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * @author neo
+ */
+public final class MockRedisPipeline implements RedisPipeline {
+    private final Redis redis;
+    private final List<Command<?>> commands = new ArrayList<>();
+    private final HashCommands hash = new MockHashCommands();
+    private final SetCommands set = new MockSetCommands();
+    private final SortedSetCommands sortedSet = new MockSortedSetCommands();
+
+    MockRedisPipeline(Redis redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Supplier<String> get(String key) {
+        return add(() -> redis.get(key));
+    }
+
+    @Override
+    public Supplier<Boolean> set(String key, String value, Duration expiration, boolean onlyIfAbsent) {
+        return add(() -> redis.set(key, value, expiration, onlyIfAbsent));
+    }
+
+    @Override
+    public void expire(String key, Duration expiration) {
+        add(() -> {
+            redis.expire(key, expiration);
+            return null;
+        });
+    }
+
+    @Override
+    public Supplier<Long> del(String... keys) {
+        return add(() -> redis.del(keys));
+    }
+
+    @Override
+    public Supplier<Long> increaseBy(String key, long increment) {
+        return add(() -> redis.increaseBy(key, increment));
+    }
+
+    @Override
+    public HashCommands hash() {
+        return hash;
+    }
+
+    @Override
+    public SetCommands set() {
+        return set;
+    }
+
+    @Override
+    public SortedSetCommands sortedSet() {
+        return sortedSet;
+    }
+
+    @Override
+    public void execute() {
+        for (Command<?> command : commands) {
+            command.execute();
+        }
+        commands.clear();
+    }
+
+    private <T> Command<T> add(Supplier<T> operation) {
+        var command = new Command<>(operation);
+        commands.add(command);
+        return command;
+    }
+
+    private static final class Command<T> implements Supplier<T> {
+        private final Supplier<T> operation;
+        private T result;
+        private boolean completed;
+
+        Command(Supplier<T> operation) {
+            this.operation = operation;
+        }
+
+        void execute() {
+            result = operation.get();
+            completed = true;
+        }
+
+        @Override
+        public T get() {
+            if (!completed) throw new Error("pipeline is not executed");
+            return result;
+        }
+    }
+
+    private final class MockHashCommands implements HashCommands {
+        @Override
+        public Supplier<String> get(String key, String field) {
+            return add(() -> redis.hash().get(key, field));
+        }
+
+        @Override
+        public Supplier<Map<String, String>> getAll(String key) {
+            return add(() -> redis.hash().getAll(key));
+        }
+
+        @Override
+        public void set(String key, String field, String value) {
+            add(() -> {
+                redis.hash().set(key, field, value);
+                return null;
+            });
+        }
+
+        @Override
+        public void multiSet(String key, Map<String, String> values) {
+            add(() -> {
+                redis.hash().multiSet(key, values);
+                return null;
+            });
+        }
+
+        @Override
+        public Supplier<Long> increaseBy(String key, String field, long increment) {
+            return add(() -> redis.hash().increaseBy(key, field, increment));
+        }
+
+        @Override
+        public Supplier<Long> del(String key, String... fields) {
+            return add(() -> redis.hash().del(key, fields));
+        }
+    }
+
+    private final class MockSetCommands implements SetCommands {
+        @Override
+        public Supplier<Long> add(String key, String... values) {
+            return MockRedisPipeline.this.add(() -> redis.set().add(key, values));
+        }
+
+        @Override
+        public Supplier<Set<String>> members(String key) {
+            return MockRedisPipeline.this.add(() -> redis.set().members(key));
+        }
+
+        @Override
+        public Supplier<Boolean> isMember(String key, String value) {
+            return MockRedisPipeline.this.add(() -> redis.set().isMember(key, value));
+        }
+
+        @Override
+        public Supplier<Long> remove(String key, String... values) {
+            return MockRedisPipeline.this.add(() -> redis.set().remove(key, values));
+        }
+
+        @Override
+        public Supplier<Long> size(String key) {
+            return MockRedisPipeline.this.add(() -> redis.set().size(key));
+        }
+    }
+
+    private final class MockSortedSetCommands implements SortedSetCommands {
+        @Override
+        public Supplier<Integer> add(String key, Map<String, Long> values, boolean onlyIfAbsent) {
+            return MockRedisPipeline.this.add(() -> redis.sortedSet().add(key, values, onlyIfAbsent));
+        }
+
+        @Override
+        public Supplier<Long> increaseScoreBy(String key, String value, long increment) {
+            return MockRedisPipeline.this.add(() -> redis.sortedSet().increaseScoreBy(key, value, increment));
+        }
+
+        @Override
+        public Supplier<Map<String, Long>> range(String key, long start, long stop) {
+            return MockRedisPipeline.this.add(() -> redis.sortedSet().range(key, start, stop));
+        }
+
+        @Override
+        public Supplier<Long> remove(String key, String... values) {
+            return MockRedisPipeline.this.add(() -> redis.sortedSet().remove(key, values));
+        }
+    }
+}
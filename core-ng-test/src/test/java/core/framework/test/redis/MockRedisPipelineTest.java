@@ -0,0 +1,39 @@
+package core.framework.test.redis;
+
+import core.framework.redis.RedisPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class MockRedisPipelineTest {
+    private MockRedis redis;
+
+    @BeforeEach
+    void createMockRedis() {
+        redis = new MockRedis();
+    }
+
+    @Test
+    void execute() {
+        RedisPipeline pipeline = redis.pipeline();
+        pipeline.set("key1", "value1");
+        Supplier<String> value = pipeline.get("key1");
+        Supplier<Long> hashValue = pipeline.hash().increaseBy("key2", "field1", 2);
+        Supplier<Long> added = pipeline.set().add("key3", "value1", "value2");
+        Supplier<Integer> sortedSetAdded = pipeline.sortedSet().add("key4", Map.of("value1", 1L), false);
+        pipeline.execute();
+
+        assertThat(value.get()).isEqualTo("value1");
+        assertThat(hashValue.get()).isEqualTo(2);
+        assertThat(added.get()).isEqualTo(2);
+        assertThat(sortedSetAdded.get()).isEqualTo(1);
+        assertThat(redis.hash().get("key2", "field1")).isEqualTo("2");
+    }
+}
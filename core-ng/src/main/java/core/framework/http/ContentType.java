@@ -27,6 +27,8 @@ public final class ContentType {
     // https://chromium-review.googlesource.com/c/chromium/src/+/587829
     public static final ContentType APPLICATION_JSON = create("application/json", null);
     public static final ContentType APPLICATION_JAVASCRIPT = create("application/javascript", UTF_8);
+    // newline delimited json, refer to https://github.com/ndjson/ndjson-spec
+    public static final ContentType APPLICATION_NDJSON = create("application/x-ndjson", null);
     // form body content type doesn't use charset normally, refer to https://www.w3.org/TR/html5/sec-forms.html#urlencoded-form-data
     public static final ContentType APPLICATION_FORM_URLENCODED = create("application/x-www-form-urlencoded", null);
     public static final ContentType APPLICATION_OCTET_STREAM = create("application/octet-stream", null);
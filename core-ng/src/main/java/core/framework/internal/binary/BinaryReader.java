@@ -0,0 +1,134 @@
+package core.framework.internal.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * read values written by {@link BinaryWriter}, throws runtime exception on corrupted data, which is translated to IOException by codec
+ *
+ * @author neo
+ */
+public final class BinaryReader {
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        position = offset;
+    }
+
+    public boolean readPresence() {
+        return readByte() != 0;
+    }
+
+    public int readSize() {
+        return (int) readVarLong();
+    }
+
+    public String readString() {
+        if (!readPresence()) return null;
+        int length = (int) readVarLong();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public Boolean readBoolean() {
+        byte value = readByte();
+        if (value == 0) return null;
+        return value == 2 ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    public Integer readInteger() {
+        if (!readPresence()) return null;
+        return (int) readSignedVarLong();
+    }
+
+    public Long readLong() {
+        if (!readPresence()) return null;
+        return readSignedVarLong();
+    }
+
+    public Double readDouble() {
+        if (!readPresence()) return null;
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (buffer[position++] & 0xFFL) << (i << 3);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public BigDecimal readBigDecimal() {
+        if (!readPresence()) return null;
+        int scale = (int) readSignedVarLong();
+        int length = (int) readVarLong();
+        var unscaledValue = new BigInteger(Arrays.copyOfRange(buffer, position, position + length));
+        position += length;
+        return new BigDecimal(unscaledValue, scale);
+    }
+
+    public LocalDate readLocalDate() {
+        if (!readPresence()) return null;
+        return LocalDate.ofEpochDay(readSignedVarLong());
+    }
+
+    public LocalTime readLocalTime() {
+        if (!readPresence()) return null;
+        return LocalTime.ofNanoOfDay(readVarLong());
+    }
+
+    public LocalDateTime readLocalDateTime() {
+        if (!readPresence()) return null;
+        LocalDate date = LocalDate.ofEpochDay(readSignedVarLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong()));
+    }
+
+    public Instant readInstant() {
+        if (!readPresence()) return null;
+        long epochSecond = readSignedVarLong();
+        return Instant.ofEpochSecond(epochSecond, readVarLong());
+    }
+
+    public ZonedDateTime readZonedDateTime() {
+        if (!readPresence()) return null;
+        long epochSecond = readSignedVarLong();
+        Instant instant = Instant.ofEpochSecond(epochSecond, readVarLong());
+        return ZonedDateTime.ofInstant(instant, ZoneId.of(readString()));
+    }
+
+    public Object readEnum(Object[] constants) {
+        if (!readPresence()) return null;
+        return constants[(int) readVarLong()];
+    }
+
+    byte readByte() {
+        return buffer[position++];
+    }
+
+    private long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = buffer[position++];
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new IllegalStateException("malformed varint");
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+}
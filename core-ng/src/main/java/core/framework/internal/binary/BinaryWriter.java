@@ -0,0 +1,148 @@
+package core.framework.internal.binary;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * used by generated binary mapper of cache, action log writer and group bus, every nullable value starts with presence byte,
+ * integers are written as varint, refer to https://protobuf.dev/programming-guides/encoding/#varints
+ *
+ * @author neo
+ */
+public final class BinaryWriter {
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter(int offset) {
+        buffer = new byte[Math.max(256, offset)];
+        position = offset;  // reserve space for header
+    }
+
+    // write 0 if value is null, 1 otherwise, return whether value is present
+    public boolean writePresence(@Nullable Object value) {
+        writeByte(value == null ? 0 : 1);
+        return value != null;
+    }
+
+    public void writeSize(int size) {
+        writeVarLong(size);
+    }
+
+    public void writeString(@Nullable String value) {
+        if (!writePresence(value)) return;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        writeBytes(bytes);
+    }
+
+    public void writeBoolean(@Nullable Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    public void writeInteger(@Nullable Integer value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value);
+    }
+
+    public void writeLong(@Nullable Long value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value);
+    }
+
+    public void writeDouble(@Nullable Double value) {
+        if (!writePresence(value)) return;
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (i << 3));
+        }
+    }
+
+    public void writeBigDecimal(@Nullable BigDecimal value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value.scale());
+        byte[] unscaledValue = value.unscaledValue().toByteArray();
+        writeVarLong(unscaledValue.length);
+        writeBytes(unscaledValue);
+    }
+
+    public void writeLocalDate(@Nullable LocalDate value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value.toEpochDay());
+    }
+
+    public void writeLocalTime(@Nullable LocalTime value) {
+        if (!writePresence(value)) return;
+        writeVarLong(value.toNanoOfDay());
+    }
+
+    public void writeLocalDateTime(@Nullable LocalDateTime value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value.toLocalDate().toEpochDay());
+        writeVarLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    public void writeInstant(@Nullable Instant value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value.getEpochSecond());
+        writeVarLong(value.getNano());
+    }
+
+    public void writeZonedDateTime(@Nullable ZonedDateTime value) {
+        if (!writePresence(value)) return;
+        writeSignedVarLong(value.toEpochSecond());
+        writeVarLong(value.getNano());
+        writeString(value.getZone().getId());
+    }
+
+    public void writeEnum(@Nullable Enum<?> value) {
+        if (!writePresence(value)) return;
+        writeVarLong(value.ordinal());  // enum constants are part of schema hash, so ordinal is stable within same schema
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));     // zigzag, to keep small negative numbers short
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+        }
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return position;
+    }
+}
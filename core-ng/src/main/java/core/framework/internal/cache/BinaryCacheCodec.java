@@ -0,0 +1,112 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.binary.BinaryReader;
+import core.framework.internal.binary.BinaryWriter;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * compact binary format generated from cache class, data is [format(1), schemaHash(4), (originalLength(4) if compressed), payload],
+ * data written by different version of cache class or json codec doesn't match header, and will be reloaded
+ *
+ * @author neo
+ */
+public final class BinaryCacheCodec<T> implements CacheCodec<T> {
+    static final byte FORMAT_BINARY = 1;
+    static final byte FORMAT_LZ4 = 2;
+    private static final int HEADER_LENGTH = 5;
+    private static final int COMPRESSED_HEADER_LENGTH = 9;
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    final LongAdder encodedBytes = new LongAdder();
+    final LongAdder savedBytes = new LongAdder();      // bytes saved by compression
+    private final Class<T> cacheClass;
+    private final BinaryMapper mapper;
+    private final int schemaHash;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    // compress payload larger than or equal to compressionThreshold, disable compression if compressionThreshold <= 0
+    public BinaryCacheCodec(Class<T> cacheClass, int compressionThreshold) {
+        this.cacheClass = cacheClass;
+        this.compressionThreshold = compressionThreshold;
+        var builder = new BinaryMapperBuilder<>(cacheClass);
+        mapper = builder.build();
+        schemaHash = builder.schemaHash();
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        var writer = new BinaryWriter(HEADER_LENGTH);
+        mapper.write(value, writer);
+        byte[] buffer = writer.buffer();
+        int length = writer.position() - HEADER_LENGTH;
+        byte[] result = null;
+        if (compressionThreshold > 0 && length >= compressionThreshold) result = compress(buffer, length);
+        if (result == null) {
+            writeHeader(buffer, FORMAT_BINARY);
+            result = Arrays.copyOf(buffer, writer.position());
+        }
+        encodedBytes.add(result.length);
+        return result;
+    }
+
+    // return null if data is not compressible
+    private byte[] compress(byte[] buffer, int length) {
+        int maxLength = compressor.maxCompressedLength(length);
+        byte[] result = new byte[COMPRESSED_HEADER_LENGTH + maxLength];
+        writeHeader(result, FORMAT_LZ4);
+        writeInt(result, HEADER_LENGTH, length);
+        int compressedLength = compressor.compress(buffer, HEADER_LENGTH, length, result, COMPRESSED_HEADER_LENGTH, maxLength);
+        int saved = length + HEADER_LENGTH - compressedLength - COMPRESSED_HEADER_LENGTH;
+        if (saved <= 0) return null;
+        savedBytes.add(saved);
+        return Arrays.copyOf(result, COMPRESSED_HEADER_LENGTH + compressedLength);
+    }
+
+    @Override
+    public T decode(byte[] data) throws IOException {
+        if (data.length < HEADER_LENGTH || readInt(data, 1) != schemaHash)
+            throw new IOException("cache data does not match schema, cacheClass=" + cacheClass.getCanonicalName());
+        try {
+            BinaryReader reader;
+            if (data[0] == FORMAT_BINARY) {
+                reader = new BinaryReader(data, HEADER_LENGTH);
+            } else if (data[0] == FORMAT_LZ4) {
+                byte[] buffer = new byte[readInt(data, HEADER_LENGTH)];
+                decompressor.decompress(data, COMPRESSED_HEADER_LENGTH, buffer, 0, buffer.length);
+                reader = new BinaryReader(buffer, 0);
+            } else {
+                throw new IOException("unknown cache data format, format=" + data[0]);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) mapper.read(reader);
+            if (reader.hasRemaining()) throw new IOException("unexpected trailing cache data, cacheClass=" + cacheClass.getCanonicalName());
+            return value;
+        } catch (RuntimeException e) {    // corrupted data, e.g. ArrayIndexOutOfBoundsException or LZ4Exception
+            throw new IOException("failed to decode cache data, cacheClass=" + cacheClass.getCanonicalName(), e);
+        }
+    }
+
+    private void writeHeader(byte[] buffer, byte format) {
+        buffer[0] = format;
+        writeInt(buffer, 1, schemaHash);
+    }
+
+    private void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private int readInt(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 | (buffer[offset + 2] & 0xFF) << 8 | buffer[offset + 3] & 0xFF;
+    }
+}
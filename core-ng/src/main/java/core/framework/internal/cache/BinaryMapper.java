@@ -0,0 +1,13 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.binary.BinaryReader;
+import core.framework.internal.binary.BinaryWriter;
+
+/**
+ * @author neo
+ */
+public interface BinaryMapper {
+    void write(Object value, BinaryWriter writer);
+
+    Object read(BinaryReader reader);
+}
@@ -0,0 +1,224 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.asm.CodeBuilder;
+import core.framework.internal.asm.DynamicInstanceBuilder;
+import core.framework.internal.binary.BinaryReader;
+import core.framework.internal.binary.BinaryWriter;
+import core.framework.internal.reflect.Classes;
+import core.framework.internal.reflect.GenericTypes;
+import core.framework.util.Maps;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static core.framework.internal.asm.Literal.type;
+import static core.framework.util.Strings.format;
+
+/**
+ * generate mapper to write/read cache class in field order without field names, the class structure must be validated by {@link CacheClassValidator}
+ *
+ * @author neo
+ */
+public class BinaryMapperBuilder<T> {
+    private static final Set<Class<?>> VALUE_CLASSES = Set.of(String.class, Boolean.class,
+        Integer.class, Long.class, Double.class, BigDecimal.class,
+        LocalDate.class, LocalDateTime.class, ZonedDateTime.class, Instant.class, LocalTime.class);
+
+    private final Class<T> beanClass;
+    private final Map<String, String> writeMethods = new HashMap<>();  // key is type name, to generate one method per type
+    private final Map<String, String> readMethods = new HashMap<>();
+    private final Map<Class<?>, String> enumFields = new HashMap<>();
+    DynamicInstanceBuilder<BinaryMapper> builder;
+    private int index = 0;
+
+    public BinaryMapperBuilder(Class<T> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    public BinaryMapper build() {
+        builder = new DynamicInstanceBuilder<>(BinaryMapper.class, beanClass.getSimpleName());
+
+        String writeMethod = writeMethod(beanClass);
+        var code = new CodeBuilder().append("public void write(Object value, {} writer) {\n", type(BinaryWriter.class));
+        code.indent(1).append("{}(({}) value, writer);\n", writeMethod, type(beanClass));
+        code.append('}');
+        builder.addMethod(code.build());
+
+        String readMethod = readMethod(beanClass);
+        code = new CodeBuilder().append("public Object read({} reader) {\n", type(BinaryReader.class));
+        code.indent(1).append("return {}(reader);\n", readMethod);
+        code.append('}');
+        builder.addMethod(code.build());
+
+        return builder.build();
+    }
+
+    // hash of class structure, includes field names, field types and enum constants, to detect data written by different version of cache class
+    public int schemaHash() {
+        return schema(beanClass).hashCode();
+    }
+
+    String schema(Type type) {
+        Class<?> valueClass = GenericTypes.rawClass(type);
+        if (GenericTypes.isList(type)) return "List<" + schema(GenericTypes.listValueClass(type)) + ">";
+        if (GenericTypes.isMap(type)) return "Map<" + schema(GenericTypes.mapKeyClass(type)) + "," + schema(GenericTypes.mapValueType(type)) + ">";
+        if (VALUE_CLASSES.contains(valueClass)) return valueClass.getSimpleName();
+        var builder = new StringBuilder();
+        if (valueClass.isEnum()) {
+            builder.append("Enum[");
+            for (Object constant : valueClass.getEnumConstants()) {
+                builder.append(((Enum<?>) constant).name()).append(',');
+            }
+            return builder.append(']').toString();
+        }
+        builder.append('{');
+        for (Field field : Classes.instanceFields(valueClass)) {
+            builder.append(field.getName()).append(':').append(schema(field.getGenericType())).append(';');
+        }
+        return builder.append('}').toString();
+    }
+
+    private String writeStatement(Type type, String value) {
+        Class<?> valueClass = GenericTypes.rawClass(type);
+        if (VALUE_CLASSES.contains(valueClass)) return format("writer.write{}({});", valueClass.getSimpleName(), value);
+        if (valueClass.isEnum()) return format("writer.writeEnum({});", value);
+        return format("{}({}, writer);", writeMethod(type), value);
+    }
+
+    private String readExpression(Type type) {
+        Class<?> valueClass = GenericTypes.rawClass(type);
+        if (VALUE_CLASSES.contains(valueClass)) return format("reader.read{}()", valueClass.getSimpleName());
+        if (valueClass.isEnum()) return format("({}) reader.readEnum(this.{})", type(valueClass), enumField(valueClass));
+        return format("{}(reader)", readMethod(type));
+    }
+
+    private String writeMethod(Type type) {
+        String method = writeMethods.get(type.getTypeName());
+        if (method != null) return method;
+
+        if (GenericTypes.isList(type)) method = writeListMethod(type);
+        else if (GenericTypes.isMap(type)) method = writeMapMethod(type);
+        else method = writeBeanMethod(GenericTypes.rawClass(type));
+        writeMethods.put(type.getTypeName(), method);
+        return method;
+    }
+
+    private String writeBeanMethod(Class<?> beanClass) {
+        String methodName = "write" + beanClass.getSimpleName() + (index++);
+        var code = new CodeBuilder().append("private void {}({} bean, {} writer) {\n", methodName, type(beanClass), type(BinaryWriter.class));
+        code.indent(1).append("if (!writer.writePresence(bean)) return;\n");
+        for (Field field : Classes.instanceFields(beanClass)) {
+            code.indent(1).append(writeStatement(field.getGenericType(), "bean." + field.getName())).append('\n');
+        }
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String writeListMethod(Type listType) {
+        Class<?> valueClass = GenericTypes.listValueClass(listType);
+        String methodName = "writeList" + (index++);
+        var code = new CodeBuilder().append("private void {}(java.util.List list, {} writer) {\n", methodName, type(BinaryWriter.class));
+        code.indent(1).append("if (!writer.writePresence(list)) return;\n");
+        code.indent(1).append("writer.writeSize(list.size());\n");
+        code.indent(1).append("for (java.util.Iterator iterator = list.iterator(); iterator.hasNext(); ) {\n");
+        code.indent(2).append(writeStatement(valueClass, format("({}) iterator.next()", type(valueClass)))).append('\n');
+        code.indent(1).append("}\n");
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String writeMapMethod(Type mapType) {
+        Class<?> keyClass = GenericTypes.mapKeyClass(mapType);
+        Type valueType = GenericTypes.mapValueType(mapType);
+        String methodName = "writeMap" + (index++);
+        var code = new CodeBuilder().append("private void {}(java.util.Map map, {} writer) {\n", methodName, type(BinaryWriter.class));
+        code.indent(1).append("if (!writer.writePresence(map)) return;\n");
+        code.indent(1).append("writer.writeSize(map.size());\n");
+        code.indent(1).append("for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {\n");
+        code.indent(2).append("java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();\n");
+        code.indent(2).append(writeStatement(keyClass, format("({}) entry.getKey()", type(keyClass)))).append('\n');
+        code.indent(2).append(writeStatement(valueType, format("({}) entry.getValue()", type(GenericTypes.rawClass(valueType))))).append('\n');
+        code.indent(1).append("}\n");
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String readMethod(Type type) {
+        String method = readMethods.get(type.getTypeName());
+        if (method != null) return method;
+
+        if (GenericTypes.isList(type)) method = readListMethod(type);
+        else if (GenericTypes.isMap(type)) method = readMapMethod(type);
+        else method = readBeanMethod(GenericTypes.rawClass(type));
+        readMethods.put(type.getTypeName(), method);
+        return method;
+    }
+
+    private String readBeanMethod(Class<?> beanClass) {
+        String methodName = "read" + beanClass.getSimpleName() + (index++);
+        var code = new CodeBuilder().append("private {} {}({} reader) {\n", type(beanClass), methodName, type(BinaryReader.class));
+        code.indent(1).append("if (!reader.readPresence()) return null;\n");
+        code.indent(1).append("{} bean = new {}();\n", type(beanClass), type(beanClass));
+        for (Field field : Classes.instanceFields(beanClass)) {
+            code.indent(1).append("bean.{} = {};\n", field.getName(), readExpression(field.getGenericType()));
+        }
+        code.indent(1).append("return bean;\n");
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String readListMethod(Type listType) {
+        Class<?> valueClass = GenericTypes.listValueClass(listType);
+        String methodName = "readList" + (index++);
+        var code = new CodeBuilder().append("private java.util.List {}({} reader) {\n", methodName, type(BinaryReader.class));
+        code.indent(1).append("if (!reader.readPresence()) return null;\n");
+        code.indent(1).append("int size = reader.readSize();\n");
+        code.indent(1).append("java.util.List list = new java.util.ArrayList(size);\n");
+        code.indent(1).append("for (int i = 0; i < size; i++) {\n");
+        code.indent(2).append("list.add({});\n", readExpression(valueClass));
+        code.indent(1).append("}\n");
+        code.indent(1).append("return list;\n");
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String readMapMethod(Type mapType) {
+        Class<?> keyClass = GenericTypes.mapKeyClass(mapType);
+        Type valueType = GenericTypes.mapValueType(mapType);
+        String methodName = "readMap" + (index++);
+        var code = new CodeBuilder().append("private java.util.Map {}({} reader) {\n", methodName, type(BinaryReader.class));
+        code.indent(1).append("if (!reader.readPresence()) return null;\n");
+        code.indent(1).append("int size = reader.readSize();\n");
+        code.indent(1).append("java.util.Map map = {}.newLinkedHashMapWithExpectedSize(size);\n", type(Maps.class));
+        code.indent(1).append("for (int i = 0; i < size; i++) {\n");
+        code.indent(2).append("Object key = {};\n", readExpression(keyClass));
+        code.indent(2).append("map.put(key, {});\n", readExpression(valueType));
+        code.indent(1).append("}\n");
+        code.indent(1).append("return map;\n");
+        code.append('}');
+        builder.addMethod(code.build());
+        return methodName;
+    }
+
+    private String enumField(Class<?> enumClass) {
+        return enumFields.computeIfAbsent(enumClass, key -> {
+            String fieldName = "enumConstants" + (index++);
+            builder.addField("private final {}[] {} = {}.values();", type(enumClass), fieldName, type(enumClass));
+            return fieldName;
+        });
+    }
+}
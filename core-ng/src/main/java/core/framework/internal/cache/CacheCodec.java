@@ -0,0 +1,14 @@
+package core.framework.internal.cache;
+
+import java.io.IOException;
+
+/**
+ * serialize cache value for remote cache store, decode throws IOException if data is invalid or in different format, then cache will reload value
+ *
+ * @author neo
+ */
+public interface CacheCodec<T> {
+    byte[] encode(T value);
+
+    T decode(byte[] data) throws IOException;
+}
@@ -0,0 +1,27 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author neo
+ */
+public class CacheCodecMetrics implements Metrics {
+    public final List<BinaryCacheCodec<?>> codecs = new ArrayList<>();
+
+    // bytes of binary encoded values and bytes saved by compression since last collection
+    @Override
+    public void collect(Stats stats) {
+        long encodedBytes = 0;
+        long savedBytes = 0;
+        for (BinaryCacheCodec<?> codec : codecs) {
+            encodedBytes += codec.encodedBytes.sumThenReset();
+            savedBytes += codec.savedBytes.sumThenReset();
+        }
+        stats.put("cache_encoded_bytes", encodedBytes);
+        stats.put("cache_compression_saved_bytes", savedBytes);
+    }
+}
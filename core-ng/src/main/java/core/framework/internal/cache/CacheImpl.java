@@ -1,5 +1,6 @@
 package core.framework.internal.cache;
 
+import core.framework.async.Executor;
 import core.framework.cache.Cache;
 import core.framework.internal.log.ActionLog;
 import core.framework.internal.log.LogManager;
@@ -10,9 +11,16 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 /**
@@ -24,9 +32,14 @@ public class CacheImpl<T> implements Cache<T> {
     public final Duration duration;
 
     final CacheContext<T> context;
+    // single flight, only one caller loads value of key, others wait for its result, to prevent thundering herd when hot key expires
+    final Map<String, CompletableFuture<T>> loadings = new ConcurrentHashMap<>();
     private final Logger logger = LoggerFactory.getLogger(CacheImpl.class);
 
     public CacheStore cacheStore;
+    public long loadTimeoutInMs = 10_000;   // if loading by other caller takes longer, load by self
+    public Duration refreshAfter;   // if not null, value older than refreshAfter is returned as is and reloaded in background, value older than duration is loaded synchronously
+    public Executor executor;
 
     public CacheImpl(String name, Class<T> cacheClass, Duration duration) {
         this.name = name;
@@ -35,22 +48,80 @@ public class CacheImpl<T> implements Cache<T> {
         context = new CacheContext<>(cacheClass);
     }
 
+    // replace default json codec, codec is only used by redis cache store
+    public BinaryCacheCodec<T> binaryCodec(int compressionThreshold) {
+        var codec = new BinaryCacheCodec<>(cacheClass, compressionThreshold);
+        context.codec = codec;
+        return codec;
+    }
+
     @Override
     public T get(String key, Function<String, T> loader) {
         String cacheKey = cacheKey(key);
-        T cacheValue = cacheStore.get(cacheKey, context);
+        T cacheValue = refreshAfter == null ? cacheStore.get(cacheKey, context) : getAndRefresh(key, cacheKey, loader);
         if (cacheValue != null) {
             stat("cache_hits", 1);
             return cacheValue;
         }
 
+        var loading = new CompletableFuture<T>();
+        CompletableFuture<T> inflight = loadings.putIfAbsent(cacheKey, loading);
+        if (inflight != null) {
+            T value = await(inflight, key);
+            if (value != null) return value;
+            loading = null;     // inflight loading failed or timed out, load by self without coalescing
+        }
+
         logger.debug("load value, key={}", key);
-        T value = load(loader, key);
-        cacheStore.put(cacheKey, value, duration, context);
+        T value;
+        try {
+            value = load(loader, key);
+        } catch (Throwable e) {
+            if (loading != null) fail(cacheKey, loading, e);
+            throw e;
+        }
+        try {
+            cacheStore.put(cacheKey, value, duration, context);
+        } finally {
+            if (loading != null) release(cacheKey, loading, value);
+        }
         stat("cache_misses", 1);
         return value;
     }
 
+    // stale while revalidate
+    private T getAndRefresh(String key, String cacheKey, Function<String, T> loader) {
+        CacheStore.Value<T> value = cacheStore.getWithExpirationTime(cacheKey, context);
+        if (value == null) return null;
+        long age = duration.toMillis() - (value.expirationTime() - System.currentTimeMillis());
+        if (age >= refreshAfter.toMillis()) {
+            refresh(key, cacheKey, loader);
+        }
+        return value.value();
+    }
+
+    private void refresh(String key, String cacheKey, Function<String, T> loader) {
+        var loading = new CompletableFuture<T>();
+        if (loadings.putIfAbsent(cacheKey, loading) != null) return;    // already being loaded or refreshed
+        logger.debug("refresh stale value, key={}", key);
+        stat("cache_refreshes", 1);
+        Future<Void> future = executor.submit("cache:" + name + ":refresh", () -> {
+            T value;
+            try {
+                value = load(loader, key);
+            } catch (Throwable e) {
+                fail(cacheKey, loading, e);
+                throw e;
+            }
+            try {
+                cacheStore.put(cacheKey, value, duration, context);
+            } finally {
+                release(cacheKey, loading, value);
+            }
+        });
+        if (future.isCancelled()) release(cacheKey, loading, null);   // rejected during shutdown
+    }
+
     public Optional<T> get(String key) {
         T result = cacheStore.get(cacheKey(key), context);
         if (result == null) return Optional.empty();
@@ -63,25 +134,94 @@ public class CacheImpl<T> implements Cache<T> {
         int index = 0;
         String[] cacheKeys = cacheKeys(keys);
         Map<String, T> values = Maps.newHashMapWithExpectedSize(size);
-        List<CacheStore.Entry<T>> newValues = new ArrayList<>(size);
+        Map<String, CompletableFuture<T>> loadingKeys = new LinkedHashMap<>();     // keys loaded by current caller
+        Map<String, CompletableFuture<T>> inflightKeys = new LinkedHashMap<>();    // keys being loaded by other callers
         Map<String, T> cacheValues = cacheStore.getAll(cacheKeys, context);
         stat("cache_hits", cacheValues.size());
         for (String key : keys) {
             String cacheKey = cacheKeys[index];
             T result = cacheValues.get(cacheKey);
-            if (result == null) {
-                logger.debug("load value, key={}", key);
-                result = load(loader, key);
-                newValues.add(new CacheStore.Entry<>(cacheKey, result));
+            if (result != null) {
+                values.put(key, result);
+            } else {
+                var loading = new CompletableFuture<T>();
+                CompletableFuture<T> inflight = loadings.putIfAbsent(cacheKey, loading);
+                if (inflight == null) loadingKeys.put(key, loading);
+                else inflightKeys.put(key, inflight);
             }
-            values.put(key, result);
             index++;
         }
-        if (!newValues.isEmpty()) {
+        // load own keys first and release them before waiting others, so two callers with overlapped keys won't wait for each other
+        if (!loadingKeys.isEmpty()) loadAll(loadingKeys, loader, values);
+        if (!inflightKeys.isEmpty()) {
+            Map<String, CompletableFuture<T>> failedKeys = new LinkedHashMap<>();
+            for (Map.Entry<String, CompletableFuture<T>> entry : inflightKeys.entrySet()) {
+                String key = entry.getKey();
+                T value = await(entry.getValue(), key);
+                if (value != null) values.put(key, value);
+                else failedKeys.put(key, null);
+            }
+            if (!failedKeys.isEmpty()) loadAll(failedKeys, loader, values);
+        }
+        return values;
+    }
+
+    // loading of key is null if it's not owned by current caller
+    private void loadAll(Map<String, CompletableFuture<T>> keys, Function<String, T> loader, Map<String, T> values) {
+        List<CacheStore.Entry<T>> newValues = new ArrayList<>(keys.size());
+        Throwable error = null;
+        try {
+            for (String key : keys.keySet()) {
+                logger.debug("load value, key={}", key);
+                T value = load(loader, key);
+                newValues.add(new CacheStore.Entry<>(cacheKey(key), value));
+                values.put(key, value);
+            }
             cacheStore.putAll(newValues, duration, context);
             stat("cache_misses", newValues.size());
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            for (Map.Entry<String, CompletableFuture<T>> entry : keys.entrySet()) {
+                CompletableFuture<T> loading = entry.getValue();
+                if (loading == null) continue;
+                T value = values.get(entry.getKey());
+                if (value == null && error != null) fail(cacheKey(entry.getKey()), loading, error);
+                else release(cacheKey(entry.getKey()), loading, value);
+            }
         }
-        return values;
+    }
+
+    // return null if loading was abandoned or timed out, rethrow error if loader of other caller failed
+    private T await(CompletableFuture<T> loading, String key) {
+        try {
+            T value = loading.get(loadTimeoutInMs, TimeUnit.MILLISECONDS);
+            if (value != null) stat("cache_coalesced", 1);
+            return value;
+        } catch (TimeoutException e) {
+            logger.warn("timeout to wait for value loaded by other caller, load by self, key={}", key);
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new Error(cause);
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for value loaded by other caller", e);
+        }
+    }
+
+    // complete with null if loading is abandoned (e.g. refresh is rejected during shutdown), waiting callers will load by themselves
+    private void release(String cacheKey, CompletableFuture<T> loading, T value) {
+        loadings.remove(cacheKey, loading);
+        loading.complete(value);
+    }
+
+    // waiting callers get same error instead of all calling loader again, e.g. when db is down
+    private void fail(String cacheKey, CompletableFuture<T> loading, Throwable error) {
+        loadings.remove(cacheKey, loading);
+        loading.completeExceptionally(error);
     }
 
     @Override
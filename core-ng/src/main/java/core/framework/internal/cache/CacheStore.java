@@ -18,6 +18,12 @@ public interface CacheStore {   // all keys here are direct cacheKey, not the ke
 
     boolean delete(String... keys);
 
+    // return value with expiration time, to determine whether value is stale for refresh ahead, return null if not found
+    <T> Value<T> getWithExpirationTime(String key, CacheContext<T> context);
+
     record Entry<T>(String key, T value) {
     }
+
+    record Value<T>(T value, long expirationTime) {
+    }
 }
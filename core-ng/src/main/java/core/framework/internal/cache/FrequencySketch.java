@@ -0,0 +1,89 @@
+package core.framework.internal.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * count-min sketch with 4 bits counters to estimate access frequency of keys, refer to TinyLFU paper, https://arxiv.org/pdf/1512.00727
+ * and caffeine impl, https://github.com/ben-manes/caffeine/blob/master/caffeine/src/main/java/com/github/benmanes/caffeine/cache/FrequencySketch.java
+ * counters are halved after sample size of increments, to keep frequency fresh
+ *
+ * @author neo
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;    // each long holds 16 counters
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    FrequencySketch(int maxSize) {
+        int length = tableLength(maxSize);
+        table = new AtomicLongArray(length);
+        tableMask = length - 1;
+        sampleSize = 10 * Math.max(maxSize, 1);
+    }
+
+    private int tableLength(int maxSize) {
+        int size = Math.max(maxSize, 16);
+        return Integer.highestOneBit(size - 1) << 1;    // ceiling power of two
+    }
+
+    int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int depth = 0; depth < 4; depth++) {
+            long value = table.get(index(hash, depth));
+            int count = (int) ((value >>> offset(hash, depth)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    // lock free, called on every access
+    void increment(String key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int depth = 0; depth < 4; depth++) {
+            added |= increment(index(hash, depth), offset(hash, depth));
+        }
+        if (added && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean increment(int index, int offset) {
+        long mask = 0xFL << offset;
+        while (true) {
+            long value = table.get(index);
+            if ((value & mask) == mask) return false;   // counter reaches max value
+            if (table.compareAndSet(index, value, value + (1L << offset))) return true;
+        }
+    }
+
+    // halve all counters, only one thread reaches sample size and resets
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            table.getAndUpdate(i, value -> (value >>> 1) & RESET_MASK);
+        }
+        additions.addAndGet(-sampleSize / 2);
+    }
+
+    private int index(int hash, int depth) {
+        long value = (hash + SEEDS[depth]) * SEEDS[depth];
+        value += value >>> 32;
+        return (int) value & tableMask;
+    }
+
+    private int offset(int hash, int depth) {
+        return ((hash >>> (depth << 3)) & 0xF) << 2;     // use different byte of hash to select one of 16 counters within long
+    }
+
+    private int spread(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,30 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.json.JSONMapper;
+import core.framework.internal.json.JSONReader;
+import core.framework.internal.json.JSONWriter;
+
+import java.io.IOException;
+
+/**
+ * @author neo
+ */
+public final class JSONCacheCodec<T> implements CacheCodec<T> {
+    private final JSONReader<T> reader;
+    private final JSONWriter<T> writer;
+
+    public JSONCacheCodec(Class<T> cacheClass) {
+        reader = JSONMapper.reader(cacheClass);
+        writer = JSONMapper.writer(cacheClass);
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        return writer.toJSON(value);
+    }
+
+    @Override
+    public T decode(byte[] data) throws IOException {
+        return reader.fromJSON(data);
+    }
+}
@@ -3,10 +3,14 @@ package core.framework.internal.cache;
 import core.framework.internal.stat.Metrics;
 import core.framework.internal.stat.Stats;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author neo
  */
 public class LocalCacheMetrics implements Metrics {
+    public final List<TieredCacheStore> tieredCacheStores = new ArrayList<>();
     private final LocalCacheStore cacheStore;
 
     public LocalCacheMetrics(LocalCacheStore cacheStore) {
@@ -16,5 +20,25 @@ public class LocalCacheMetrics implements Metrics {
     @Override
     public void collect(Stats stats) {
         stats.put("cache_size", cacheStore.caches.size());
+        stats.put("cache_evictions", cacheStore.evictions.sumThenReset());   // evicted items since last collection
+        if (!tieredCacheStores.isEmpty()) collectTierStats(stats);
+    }
+
+    // hits and misses of each tier of near caches since last collection
+    private void collectTierStats(Stats stats) {
+        long localHits = 0;
+        long localMisses = 0;
+        long remoteHits = 0;
+        long remoteMisses = 0;
+        for (TieredCacheStore store : tieredCacheStores) {
+            localHits += store.localHits.sumThenReset();
+            localMisses += store.localMisses.sumThenReset();
+            remoteHits += store.remoteHits.sumThenReset();
+            remoteMisses += store.remoteMisses.sumThenReset();
+        }
+        stats.put("cache_local_hits", localHits);
+        stats.put("cache_local_misses", localMisses);
+        stats.put("cache_remote_hits", remoteHits);
+        stats.put("cache_remote_misses", remoteMisses);
     }
 }
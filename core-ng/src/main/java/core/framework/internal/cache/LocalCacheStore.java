@@ -6,17 +6,44 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * bounded store with W-TinyLFU policy, refer to https://arxiv.org/pdf/1512.00727
+ * new items enter small window LRU, window victim is only admitted into main SLRU (probation + protected) if it is accessed more frequently than main victim,
+ * so burst of one-time keys won't flush frequently used items, and size never exceeds maxSize
+ *
  * @author neo
  */
 public class LocalCacheStore implements CacheStore {
     final Map<String, CacheItem<?>> caches = Maps.newConcurrentHashMap();
+    final LongAdder evictions = new LongAdder();
     private final Logger logger = LoggerFactory.getLogger(LocalCacheStore.class);
-    public int maxSize = 10000;  // 10000 simple objects roughly takes 1M-10M heap + hashmap overhead
+    private final ReentrantLock lock = new ReentrantLock();     // guard policy queues, get() only reorders if lock is available, dropping reorder under contention is acceptable
+    private final CacheQueue window = new CacheQueue();
+    private final CacheQueue probation = new CacheQueue();
+    private final CacheQueue protect = new CacheQueue();
+    int maxSize;
+    private int maxWindowSize;
+    private int maxProtectSize;
+    private FrequencySketch sketch;
+
+    public LocalCacheStore() {
+        maxSize(10000);     // 10000 simple objects roughly takes 1M-10M heap + hashmap overhead
+    }
+
+    // must be called during config, before store is used
+    public void maxSize(int maxSize) {
+        if (maxSize <= 0) throw new Error("maxSize must be greater than 0, maxSize=" + maxSize);
+        this.maxSize = maxSize;
+        maxWindowSize = Math.max(1, maxSize / 100);     // 1% window, 99% main, 80% of main is protected, as recommended by paper
+        maxProtectSize = (int) ((maxSize - maxWindowSize) * 0.8);
+        sketch = new FrequencySketch(maxSize);
+    }
 
     @Override
     public <T> T get(String key, CacheContext<T> context) {
@@ -24,16 +51,37 @@ public class LocalCacheStore implements CacheStore {
         return get(key, System.currentTimeMillis());
     }
 
+    @Override
+    public <T> Value<T> getWithExpirationTime(String key, CacheContext<T> context) {
+        logger.debug("getWithExpirationTime, key={}", key);
+        CacheItem<T> item = item(key, System.currentTimeMillis());
+        if (item == null) return null;
+        return new Value<>(item.value, item.sourceExpirationTime);
+    }
+
     private <T> T get(String key, long now) {
+        CacheItem<T> item = item(key, now);
+        if (item == null) return null;
+        return item.value;
+    }
+
+    private <T> CacheItem<T> item(String key, long now) {
         @SuppressWarnings("unchecked")
         CacheItem<T> item = (CacheItem<T>) caches.get(key);
         if (item == null) return null;
         if (item.expired(now)) {
-            caches.remove(key);
+            remove(item);
             return null;
         }
-        item.hits++;
-        return item.value;
+        sketch.increment(key);
+        if (lock.tryLock()) {
+            try {
+                onAccess(item);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return item;
     }
 
     @Override
@@ -50,20 +98,49 @@ public class LocalCacheStore implements CacheStore {
 
     @Override
     public <T> void put(String key, T value, Duration expiration, CacheContext<T> context) {
+        put(key, value, expiration, -1);
+    }
+
+    // sourceExpirationTime is expiration time of value in remote store for near cache, returned by getWithExpirationTime to determine staleness, -1 means same as expiration of local copy
+    <T> void put(String key, T value, Duration expiration, long sourceExpirationTime) {
         logger.debug("put, key={}, expiration={}", key, expiration);
         long expirationTime = System.currentTimeMillis() + expiration.toMillis();
-        caches.put(key, new CacheItem<>(value, expirationTime));
+        lock.lock();
+        try {
+            put(new CacheItem<>(key, value, expirationTime, sourceExpirationTime == -1 ? expirationTime : sourceExpirationTime));
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public <T> void putAll(List<Entry<T>> values, Duration expiration, CacheContext<T> context) {
+        putAll(values, expiration, -1);
+    }
+
+    <T> void putAll(List<Entry<T>> values, Duration expiration, long sourceExpirationTime) {
         logger.debug("putAll, keys={}, expiration={}", new ArrayLogParam(keys(values)), expiration);
         long expirationTime = System.currentTimeMillis() + expiration.toMillis();
-        for (Entry<T> value : values) {
-            caches.put(value.key(), new CacheItem<>(value.value(), expirationTime));
+        lock.lock();
+        try {
+            for (Entry<T> value : values) {
+                put(new CacheItem<>(value.key(), value.value(), expirationTime, sourceExpirationTime == -1 ? expirationTime : sourceExpirationTime));
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
+    // must be called within lock
+    private void put(CacheItem<?> item) {
+        CacheItem<?> previous = caches.put(item.key, item);
+        if (previous != null) unlink(previous);
+        sketch.increment(item.key);
+        item.queue = window;
+        window.add(item);
+        evict();
+    }
+
     private <T> String[] keys(List<Entry<T>> values) {
         String[] keys = new String[values.size()];
         int index = 0;
@@ -78,64 +155,174 @@ public class LocalCacheStore implements CacheStore {
     public boolean delete(String... keys) {
         logger.debug("delete, keys={}", new ArrayLogParam(keys));
         boolean deleted = false;
-        for (String key : keys) {
-            CacheItem<?> previous = caches.remove(key);
-            if (!deleted && previous != null) deleted = true;
+        lock.lock();
+        try {
+            for (String key : keys) {
+                CacheItem<?> previous = caches.remove(key);
+                if (previous != null) {
+                    unlink(previous);
+                    deleted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
         }
         return deleted;
     }
 
-    public void cleanup() {    // cleanup is only called by background thread with fixed delay, not need to synchronize
+    // size is bounded on write, cleanup only releases expired items which are not accessed anymore
+    public void cleanup() {
         logger.info("clean up local cache store");
         long now = System.currentTimeMillis();
-        caches.values().removeIf(item -> item.expired(now));
-        int size = caches.size();
-        if (size > maxSize) {
-            logger.info("evict least frequently used cache items, currentSize={}, maxSize={}", size, maxSize);
-            int evictSize = size - maxSize;
-            evictLeastFrequentlyUsedItems(evictSize);
-        }
-    }
-
-    // use LFU to trade off between simplicity and access efficiency,
-    // assume local cache is only used for rarely changed items, and tolerate stale data, or use message to notify updates
-    // cleanup is running in background thread, it maintains approximate maxSize loosely
-    private void evictLeastFrequentlyUsedItems(int evictSize) {
-        Map<Integer, Integer> sizes = new TreeMap<>();
-        for (CacheItem<?> item : caches.values()) {
-            int hits = item.hits;
-            int size = sizes.getOrDefault(hits, 0);
-            sizes.put(hits, size + 1);
-        }
-        int minHits = 0;
-        int currentEvictSize = 0;
-        for (Map.Entry<Integer, Integer> entry : sizes.entrySet()) {
-            currentEvictSize += entry.getValue();
-            if (currentEvictSize >= evictSize) {
-                minHits = entry.getKey();
-                break;
+        lock.lock();
+        try {
+            Iterator<CacheItem<?>> iterator = caches.values().iterator();
+            while (iterator.hasNext()) {
+                CacheItem<?> item = iterator.next();
+                if (item.expired(now)) {
+                    iterator.remove();
+                    unlink(item);
+                }
             }
+        } finally {
+            lock.unlock();
         }
-        int targetHits = minHits;
-        caches.values().removeIf(item -> item.hits <= targetHits);
     }
 
     public void clear() {
-        caches.clear();
+        lock.lock();
+        try {
+            caches.clear();
+            window.clear();
+            probation.clear();
+            protect.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(CacheItem<?> item) {
+        lock.lock();
+        try {
+            if (caches.remove(item.key, item)) unlink(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // must be called within lock
+    private void onAccess(CacheItem<?> item) {
+        CacheQueue queue = item.queue;
+        if (queue == null) return;  // removed by other thread
+        if (queue == probation) {
+            probation.remove(item);
+            item.queue = protect;
+            protect.add(item);
+            if (protect.size > maxProtectSize) {    // demote least recently used protected item
+                CacheItem<?> demoted = protect.poll();
+                demoted.queue = probation;
+                probation.add(demoted);
+            }
+        } else {
+            queue.moveToTail(item);
+        }
+    }
+
+    // must be called within lock, each put evicts at most few items, so it's amortized O(1)
+    private void evict() {
+        while (window.size > maxWindowSize) {   // window victim becomes candidate at tail of probation
+            CacheItem<?> candidate = window.poll();
+            candidate.queue = probation;
+            probation.add(candidate);
+        }
+        while (window.size + probation.size + protect.size > maxSize) {
+            CacheItem<?> victim = probation.head;
+            CacheItem<?> candidate = probation.tail;
+            CacheItem<?> evicted;
+            if (victim == null) {   // all main items are protected, e.g. maxSize is small
+                evicted = protect.size > 0 ? protect.head : window.head;
+            } else if (victim == candidate) {
+                evicted = victim;
+            } else {
+                evicted = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+            }
+            caches.remove(evicted.key, evicted);
+            unlink(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void unlink(CacheItem<?> item) {
+        if (item.queue != null) {
+            item.queue.remove(item);
+            item.queue = null;
+        }
     }
 
     static class CacheItem<T> {
+        final String key;
         final T value;
         final long expirationTime;
-        int hits;
+        final long sourceExpirationTime;
+        CacheQueue queue;   // only accessed within lock
+        CacheItem<?> previous;
+        CacheItem<?> next;
 
-        CacheItem(T value, long expirationTime) {
+        CacheItem(String key, T value, long expirationTime, long sourceExpirationTime) {
+            this.key = key;
             this.value = value;
             this.expirationTime = expirationTime;
+            this.sourceExpirationTime = sourceExpirationTime;
         }
 
         boolean expired(long now) {
             return now >= expirationTime;
         }
     }
+
+    // intrusive doubly linked list in access order, head is least recently used
+    static class CacheQueue {
+        CacheItem<?> head;
+        CacheItem<?> tail;
+        int size;
+
+        void add(CacheItem<?> item) {
+            item.previous = tail;
+            item.next = null;
+            if (tail == null) head = item;
+            else tail.next = item;
+            tail = item;
+            size++;
+        }
+
+        CacheItem<?> poll() {
+            CacheItem<?> item = head;
+            if (item != null) remove(item);
+            return item;
+        }
+
+        void remove(CacheItem<?> item) {
+            if (item.previous == null) head = item.next;
+            else item.previous.next = item.next;
+            if (item.next == null) tail = item.previous;
+            else item.next.previous = item.previous;
+            item.previous = null;
+            item.next = null;
+            size--;
+        }
+
+        void moveToTail(CacheItem<?> item) {
+            if (item == tail) return;
+            remove(item);
+            add(item);
+        }
+
+        void clear() {
+            while (true) {  // detach all items, in case other thread is accessing item got before clear
+                CacheItem<?> item = poll();
+                if (item == null) break;
+                item.queue = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.json.JSONReader;
+import core.framework.internal.json.JSONWriter;
+import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * broadcast changed keys via redis pub/sub, so all nodes evict local copy of near caches
+ *
+ * @author neo
+ */
+public final class NearCacheInvalidator {
+    static final String CHANNEL = "cache-invalidation";
+
+    final String id = UUID.randomUUID().toString();    // to skip messages sent by self
+    private final Logger logger = LoggerFactory.getLogger(NearCacheInvalidator.class);
+    private final JSONWriter<InvalidateCacheMessage> writer = new JSONWriter<>(InvalidateCacheMessage.class);
+    private final JSONReader<InvalidateCacheMessage> reader = new JSONReader<>(InvalidateCacheMessage.class);
+    private final RedisImpl redis;
+    private final LocalCacheStore localCacheStore;
+    private final RedisSubscriber subscriber;
+
+    public NearCacheInvalidator(RedisImpl redis, LocalCacheStore localCacheStore) {
+        this.redis = redis;
+        this.localCacheStore = localCacheStore;
+        subscriber = new RedisSubscriber(redis, CHANNEL, this::onMessage);
+    }
+
+    public void start() {
+        subscriber.start();
+    }
+
+    public void close() {
+        subscriber.close();
+    }
+
+    void publish(String... keys) {
+        var message = new InvalidateCacheMessage();
+        message.sender = id;
+        message.keys = List.of(keys);
+        try {
+            redis.publish(CHANNEL, writer.toJSON(message));
+        } catch (UncheckedIOException | RedisException e) {
+            logger.warn(errorCode("CACHE_STORE_FAILED"), "failed to publish cache invalidation, error={}", e.getMessage(), e);
+        }
+    }
+
+    void onMessage(byte[] body) {
+        try {
+            InvalidateCacheMessage message = reader.fromJSON(body);
+            if (id.equals(message.sender)) return;
+            logger.debug("invalidate local cache, keys={}", message.keys);
+            localCacheStore.delete(message.keys.toArray(String[]::new));
+        } catch (IOException e) {
+            logger.warn(errorCode("INVALID_CACHE_DATA"), "failed to deserialize cache invalidation message, error={}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package core.framework.internal.cache;
 
-import core.framework.internal.json.JSONReader;
 import core.framework.internal.redis.RedisException;
 import core.framework.internal.redis.RedisImpl;
-import core.framework.internal.validate.Validator;
 import core.framework.util.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +31,23 @@ public class RedisCacheStore implements CacheStore {
         try {
             byte[] value = redis.getBytes(key);
             if (value == null) return null;
-            return deserialize(value, context.reader, context.validator);
+            return deserialize(value, context);
+        } catch (UncheckedIOException | RedisException e) {
+            logger.warn(errorCode("CACHE_STORE_FAILED"), "failed to connect to redis, error={}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> Value<T> getWithExpirationTime(String key, CacheContext<T> context) {
+        try {
+            long now = System.currentTimeMillis();
+            RedisImpl.ValueWithTTL result = redis.getBytesWithTTL(key);
+            if (result.value() == null) return null;
+            T value = deserialize(result.value(), context);
+            if (value == null) return null;
+            long expirationTime = result.ttlInMs() >= 0 ? now + result.ttlInMs() : Long.MAX_VALUE;     // -1 means no expiration
+            return new Value<>(value, expirationTime);
         } catch (UncheckedIOException | RedisException e) {
             logger.warn(errorCode("CACHE_STORE_FAILED"), "failed to connect to redis, error={}", e.getMessage(), e);
             return null;
@@ -46,7 +60,7 @@ public class RedisCacheStore implements CacheStore {
             Map<String, byte[]> redisValues = redis.multiGetBytes(keys);
             Map<String, T> values = Maps.newHashMapWithExpectedSize(redisValues.size());
             for (Map.Entry<String, byte[]> entry : redisValues.entrySet()) {
-                T value = deserialize(entry.getValue(), context.reader, context.validator);
+                T value = deserialize(entry.getValue(), context);
                 if (value != null) {
                     values.put(entry.getKey(), value);
                 }
@@ -58,12 +72,12 @@ public class RedisCacheStore implements CacheStore {
         }
     }
 
-    private <T> T deserialize(byte[] value, JSONReader<T> reader, Validator<T> validator) {
+    private <T> T deserialize(byte[] value, CacheContext<T> context) {
         try {
-            T result = reader.fromJSON(value);
+            T result = context.codec.decode(value);
             if (result == null) return null;
 
-            Map<String, String> errors = validator.errors(result, false);
+            Map<String, String> errors = context.validator.errors(result, false);
             if (errors != null) {
                 logger.warn(errorCode("INVALID_CACHE_DATA"), "failed to validate value from cache, will reload, errors={}", errors);
                 return null;
@@ -79,7 +93,7 @@ public class RedisCacheStore implements CacheStore {
     @Override
     public <T> void put(String key, T value, Duration expiration, CacheContext<T> context) {
         try {
-            redis.set(key, context.writer.toJSON(value), expiration, false);
+            redis.set(key, context.codec.encode(value), expiration, false);
         } catch (UncheckedIOException | RedisException e) {
             logger.warn(errorCode("CACHE_STORE_FAILED"), "failed to connect to redis, error={}", e.getMessage(), e);
         }
@@ -89,7 +103,7 @@ public class RedisCacheStore implements CacheStore {
     public <T> void putAll(List<Entry<T>> values, Duration expiration, CacheContext<T> context) {
         Map<String, byte[]> cacheValues = Maps.newHashMapWithExpectedSize(values.size());
         for (Entry<T> value : values) {
-            cacheValues.put(value.key(), context.writer.toJSON(value.value()));
+            cacheValues.put(value.key(), context.codec.encode(value.value()));
         }
         try {
             redis.multiSet(cacheValues, expiration);
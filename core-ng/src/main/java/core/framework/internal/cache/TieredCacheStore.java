@@ -0,0 +1,126 @@
+package core.framework.internal.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * near cache, keep local copy in front of redis to save round trip and deserialization for hot caches,
+ * local copy is evicted on all nodes via invalidation broadcast when value is put or deleted,
+ * localDuration limits staleness in case invalidation message is lost
+ *
+ * @author neo
+ */
+public class TieredCacheStore implements CacheStore {
+    final LongAdder localHits = new LongAdder();
+    final LongAdder localMisses = new LongAdder();
+    final LongAdder remoteHits = new LongAdder();
+    final LongAdder remoteMisses = new LongAdder();
+
+    private final LocalCacheStore local;
+    private final CacheStore remote;
+    private final NearCacheInvalidator invalidator;
+    private final Duration localDuration;
+
+    public TieredCacheStore(LocalCacheStore local, CacheStore remote, NearCacheInvalidator invalidator, Duration localDuration) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidator = invalidator;
+        this.localDuration = localDuration;
+    }
+
+    @Override
+    public <T> T get(String key, CacheContext<T> context) {
+        T value = local.get(key, context);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+        value = remote.get(key, context);
+        if (value == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(key, value, localDuration, Long.MAX_VALUE);   // remote expiration is unknown, it's only used by refresh ahead which calls getWithExpirationTime
+        return value;
+    }
+
+    // local copy keeps expiration time of remote value, so refresh ahead sees real age of value on local hit
+    @Override
+    public <T> Value<T> getWithExpirationTime(String key, CacheContext<T> context) {
+        Value<T> localValue = local.getWithExpirationTime(key, context);
+        if (localValue != null) {
+            localHits.increment();
+            return localValue;
+        }
+        localMisses.increment();
+        Value<T> value = remote.getWithExpirationTime(key, context);
+        if (value == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        long ttl = value.expirationTime() - System.currentTimeMillis();
+        if (ttl > 0) local.put(key, value.value(), localExpiration(Duration.ofMillis(ttl)), value.expirationTime());
+        return value;
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(String[] keys, CacheContext<T> context) {
+        Map<String, T> values = local.getAll(keys, context);
+        localHits.add(values.size());
+        if (values.size() == keys.length) return values;
+
+        List<String> remoteKeys = new ArrayList<>(keys.length - values.size());
+        for (String key : keys) {
+            if (!values.containsKey(key)) remoteKeys.add(key);
+        }
+        localMisses.add(remoteKeys.size());
+        Map<String, T> remoteValues = remote.getAll(remoteKeys.toArray(String[]::new), context);
+        remoteHits.add(remoteValues.size());
+        remoteMisses.add(remoteKeys.size() - remoteValues.size());
+        if (!remoteValues.isEmpty()) {
+            List<Entry<T>> localValues = new ArrayList<>(remoteValues.size());
+            for (Map.Entry<String, T> entry : remoteValues.entrySet()) {
+                localValues.add(new Entry<>(entry.getKey(), entry.getValue()));
+            }
+            local.putAll(localValues, localDuration, Long.MAX_VALUE);
+            values.putAll(remoteValues);
+        }
+        return values;
+    }
+
+    @Override
+    public <T> void put(String key, T value, Duration expiration, CacheContext<T> context) {
+        remote.put(key, value, expiration, context);
+        local.put(key, value, localExpiration(expiration), System.currentTimeMillis() + expiration.toMillis());
+        invalidator.publish(key);
+    }
+
+    @Override
+    public <T> void putAll(List<Entry<T>> values, Duration expiration, CacheContext<T> context) {
+        remote.putAll(values, expiration, context);
+        local.putAll(values, localExpiration(expiration), System.currentTimeMillis() + expiration.toMillis());
+        String[] keys = new String[values.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = values.get(i).key();
+        }
+        invalidator.publish(keys);
+    }
+
+    @Override
+    public boolean delete(String... keys) {
+        local.delete(keys);
+        boolean deleted = remote.delete(keys);
+        invalidator.publish(keys);
+        return deleted;
+    }
+
+    private Duration localExpiration(Duration expiration) {
+        return expiration.compareTo(localDuration) < 0 ? expiration : localDuration;
+    }
+}
@@ -1,5 +1,6 @@
 package core.framework.internal.json;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.IOException;
@@ -21,7 +22,16 @@ public final class JSONReader<T> {
         return reader.readValue(json);
     }
 
+    public T fromJSON(byte[] json, int offset, int length) throws IOException {
+        return reader.readValue(json, offset, length);
+    }
+
     public T fromJSON(String json) throws IOException {
         return reader.readValue(json);
     }
+
+    // read current value of parser, used to read array item by item
+    public T fromJSON(JsonParser parser) throws IOException {
+        return reader.readValue(parser);
+    }
 }
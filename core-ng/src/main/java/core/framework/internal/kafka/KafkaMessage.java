@@ -4,7 +4,9 @@ import core.framework.internal.log.Trace;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.Utils;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,19 +19,36 @@ public class KafkaMessage {
     public static final String HEADER_REF_ID = "refId";
 
     final String key;
-    final byte[] value;
+    final byte[] value;         // with zero copy consumer, value is backing array of fetched records, only [valueOffset, valueOffset + valueLength) belongs to this message
+    final int valueOffset;
+    final int valueLength;
     final Trace trace;
     final String correlationId;
     final String refId;
     final String client;
     final long timestamp;
+    final long offset;
 
     // one poll batch is small (~500) and short (~500ms), it doesn't expect many messages with same key (less than 3?)
     List<KafkaMessage> subsequent;
 
-    KafkaMessage(ConsumerRecord<String, byte[]> record) {
+    KafkaMessage(ConsumerRecord<String, ?> record) {
         key = record.key();
-        value = record.value();
+        Object value = record.value();
+        if (value instanceof ByteBuffer buffer) {    // refer to MessageListener.zeroCopy
+            valueLength = buffer.remaining();
+            if (buffer.hasArray()) {
+                this.value = buffer.array();
+                valueOffset = buffer.arrayOffset() + buffer.position();
+            } else {
+                this.value = Utils.toArray(buffer);
+                valueOffset = 0;
+            }
+        } else {
+            this.value = (byte[]) value;
+            valueOffset = 0;
+            valueLength = this.value == null ? 0 : this.value.length;
+        }
 
         Headers headers = record.headers();
         refId = header(headers, HEADER_REF_ID);
@@ -39,6 +58,7 @@ public class KafkaMessage {
         this.trace = trace == null ? null : Trace.parse(trace);
 
         timestamp = record.timestamp();
+        offset = record.offset();
     }
 
     final String header(Headers headers, String key) {
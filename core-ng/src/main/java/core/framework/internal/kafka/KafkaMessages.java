@@ -20,7 +20,7 @@ class KafkaMessages {
         this.topic = topic;
     }
 
-    void addOrdered(ConsumerRecord<String, byte[]> record) {
+    void addOrdered(ConsumerRecord<String, ?> record) {
         var message = new KafkaMessage(record);
         if (message.key != null) {
             KafkaMessage root = ordered.get(message.key);
@@ -30,13 +30,13 @@ class KafkaMessages {
             unordered.add(message);
         }
         count++;
-        size += message.value.length;
+        size += message.valueLength;
     }
 
-    void addUnordered(ConsumerRecord<String, byte[]> record) {
+    void addUnordered(ConsumerRecord<String, ?> record) {
         var message = new KafkaMessage(record);
         unordered.add(message);
         count++;
-        size += message.value.length;
+        size += message.valueLength;
     }
 }
@@ -10,6 +10,7 @@ import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteBufferDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +43,8 @@ public class MessageListener {
     public int minPollBytes = 1;                // default kafka setting
     public Duration maxWaitTime = Duration.ofMillis(500);
     public String groupId = LogManager.APP_NAME;
+    public boolean parallel;
+    public boolean zeroCopy;
 
     long maxProcessTimeInNano;
     private MessageListenerThread thread;
@@ -65,10 +68,10 @@ public class MessageListener {
     }
 
     public void start() {
-        Consumer<String, byte[]> consumer = createConsumer();
+        Consumer<String, ?> consumer = createConsumer();
         thread = new MessageListenerThread(threadName(name), consumer, this);
         thread.start();
-        logger.info("kafka listener started, uri={}, topics={}, name={}, groupId={}", uri, topics, name, groupId);
+        logger.info("kafka listener started, uri={}, topics={}, name={}, groupId={}, parallel={}", uri, topics, name, groupId, parallel);
     }
 
     public void shutdown() {
@@ -98,7 +101,7 @@ public class MessageListener {
     }
 
     @SuppressWarnings("deprecation")
-    Consumer<String, byte[]> createConsumer() {
+    Consumer<String, ?> createConsumer() {
         var watch = new StopWatch();
         try {
             Map<String, Object> config = Maps.newHashMapWithExpectedSize(13);
@@ -116,10 +119,16 @@ public class MessageListener {
             config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) maxWaitTime.toMillis());
             config.put(ConsumerConfig.AUTO_INCLUDE_JMX_REPORTER_CONFIG, Boolean.FALSE);
             config.put(ConsumerConfig.ENABLE_METRICS_PUSH_CONFIG, Boolean.FALSE);
-            Consumer<String, byte[]> consumer = new KafkaConsumer<>(config, new KeyDeserializer(), new ByteArrayDeserializer());
+            Consumer<String, ?> consumer;
+            if (zeroCopy) {
+                // value is ByteBuffer slice of fetched records, refer to KIP-863, it holds whole fetch buffer until all messages of poll are handled
+                consumer = new KafkaConsumer<>(config, new KeyDeserializer(), new ByteBufferDeserializer());
+            } else {
+                consumer = new KafkaConsumer<>(config, new KeyDeserializer(), new ByteArrayDeserializer());
+            }
             consumerMetrics.add(consumer.metrics());
 
-            consumer.subscribe(topics);
+            if (!parallel) consumer.subscribe(topics);     // parallel consumer subscribes with rebalance listener, refer to MessageListenerThread
             return consumer;
         } finally {
             logger.info("create kafka consumer, topics={}, name={}, elapsed={}", topics, name, watch.elapsed());
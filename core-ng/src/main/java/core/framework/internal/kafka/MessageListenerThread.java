@@ -2,10 +2,10 @@ package core.framework.internal.kafka;
 
 import core.framework.internal.async.ThreadPools;
 import core.framework.internal.async.VirtualThread;
-import core.framework.internal.json.JSONReader;
 import core.framework.internal.log.ActionLog;
 import core.framework.internal.log.LogManager;
 import core.framework.internal.log.PerformanceWarning;
+import core.framework.internal.log.Trace;
 import core.framework.internal.log.filter.BytesLogParam;
 import core.framework.kafka.Message;
 import core.framework.util.Sets;
@@ -13,7 +13,11 @@ import core.framework.util.StopWatch;
 import core.framework.util.Threads;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +27,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,28 +39,37 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static core.framework.log.Markers.errorCode;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author neo
  */
 class MessageListenerThread extends Thread {
+    private static final Duration PARALLEL_POLL_TIMEOUT = Duration.ofSeconds(1);     // poll frequently to commit completed offsets
+    private static final Duration PAUSED_POLL_TIMEOUT = Duration.ofMillis(100);      // to resume paused partitions soon after in flight messages completed
+    private static final long COMPLETE_TIMEOUT_IN_MS = Duration.ofSeconds(30).toMillis();
+
     private final Logger logger = LoggerFactory.getLogger(MessageListenerThread.class);
     private final MessageListener listener;
     private final LogManager logManager;
 
-    private final Consumer<String, byte[]> consumer;
+    private final Consumer<String, ?> consumer;
     private final Builder.OfVirtual thread;
 
     private final Semaphore semaphore;
     private final int concurrency;
 
+    private final boolean parallel;
+    private final boolean zeroCopy;
+    final Map<TopicPartition, PartitionState> partitions = new HashMap<>();     // for parallel mode, only accessed by poll thread
+
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition notProcessing = lock.newCondition();
     private boolean processing;
 
     private volatile boolean shutdown;
 
-    MessageListenerThread(String name, Consumer<String, byte[]> consumer, MessageListener listener) {
+    MessageListenerThread(String name, Consumer<String, ?> consumer, MessageListener listener) {
         super(name);
         this.consumer = consumer;
         this.listener = listener;
@@ -63,6 +77,9 @@ class MessageListenerThread extends Thread {
         concurrency = listener.concurrency;
         semaphore = new Semaphore(concurrency);
         thread = ThreadPools.virtualThreadBuilder(name + "-");   // used in single thread, no need to use factory()
+        parallel = listener.parallel;
+        zeroCopy = listener.zeroCopy;
+        if (parallel) consumer.subscribe(listener.topics, new RebalanceListener());
     }
 
     @Override
@@ -88,6 +105,11 @@ class MessageListenerThread extends Thread {
     private void process() {
         while (!shutdown) {
             try {
+                if (parallel) {
+                    processParallel();
+                    continue;
+                }
+
                 Collection<KafkaMessages> allMessages = poll();   // consumer should call poll at least once every MAX_POLL_INTERVAL_MS
                 if (allMessages == null) continue;
 
@@ -100,17 +122,18 @@ class MessageListenerThread extends Thread {
             }
         }
 
+        if (parallel) completeParallel();
         logger.info("close kafka consumer, name={}", getName());
         consumer.close();
     }
 
     @Nullable
     Collection<KafkaMessages> poll() {
-        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(30));
+        ConsumerRecords<String, ?> records = consumer.poll(Duration.ofSeconds(30));
         if (records.isEmpty()) return null;
 
         Map<String, KafkaMessages> messageMappings = new LinkedHashMap<>();
-        for (ConsumerRecord<String, byte[]> record : records) {
+        for (ConsumerRecord<String, ?> record : records) {
             String topic = record.topic();
             KafkaMessages messages = messageMappings.computeIfAbsent(topic, KafkaMessages::new);
             if (listener.bulkProcesses.containsKey(topic)) {
@@ -175,6 +198,152 @@ class MessageListenerThread extends Thread {
         logger.info("process kafka messages, count={}, size={}, elapsed={}", count, size, watch.elapsed());
     }
 
+    // records are dispatched without waiting for whole batch, records with same key are handled in order within partition, bulks of partition are handled one by one,
+    // only contiguous completed offsets are committed, so records after slow one may be redelivered after restart or rebalance,
+    // poll thread never blocks on handlers, partition is paused once in flight messages reach concurrency, so commit and rebalance are not delayed
+    void processParallel() {
+        boolean resumed = resumePartitions();
+        ConsumerRecords<String, ?> records = consumer.poll(resumed ? PARALLEL_POLL_TIMEOUT : PAUSED_POLL_TIMEOUT);
+        if (!records.isEmpty()) dispatchAll(records);
+        Map<TopicPartition, OffsetAndMetadata> offsets = committableOffsets(partitions.values());
+        if (!offsets.isEmpty()) consumer.commitAsync(offsets, null);
+    }
+
+    // return true if no partition is paused
+    boolean resumePartitions() {
+        List<TopicPartition> resumed = null;
+        boolean allResumed = true;
+        for (PartitionState state : partitions.values()) {
+            if (!state.paused) continue;
+            if (state.inFlight() < concurrency) {
+                state.paused = false;
+                if (resumed == null) resumed = new ArrayList<>();
+                resumed.add(state.partition);
+            } else {
+                allResumed = false;
+            }
+        }
+        if (resumed != null) consumer.resume(resumed);
+        return allResumed;
+    }
+
+    void dispatchAll(ConsumerRecords<String, ?> records) {
+        var watch = new StopWatch();
+        int count = 0;
+        int size = 0;
+
+        for (TopicPartition partition : records.partitions()) {
+            PartitionState state = partitions.computeIfAbsent(partition, PartitionState::new);
+            String topic = partition.topic();
+            List<? extends ConsumerRecord<String, ?>> partitionRecords = records.records(partition);
+            List<KafkaMessage> messages = new ArrayList<>(partitionRecords.size());
+            for (ConsumerRecord<String, ?> record : partitionRecords) {
+                var message = new KafkaMessage(record);
+                messages.add(message);
+                size += message.valueLength;
+            }
+            count += messages.size();
+
+            MessageProcess<?> bulkProcess = listener.bulkProcesses.get(topic);
+            if (bulkProcess != null) {
+                dispatchBulk(state, bulkProcess, messages);
+            } else {
+                MessageProcess<?> process = listener.processes.get(topic);
+                for (KafkaMessage message : messages) {
+                    dispatch(state, process, message);
+                }
+            }
+            if (state.inFlight() >= concurrency) pause(state);
+        }
+
+        logger.info("dispatch kafka messages, count={}, size={}, elapsed={}", count, size, watch.elapsed());
+    }
+
+    private void pause(PartitionState state) {
+        if (state.paused) return;
+        state.paused = true;
+        consumer.pause(List.of(state.partition));
+        logger.debug("pause partition, partition={}, inFlight={}", state.partition, state.inFlight());
+    }
+
+    private void dispatch(PartitionState state, MessageProcess<?> process, KafkaMessage message) {
+        if (!state.dispatch(message)) return;   // will be handled by thread of previous message with same key
+        String topic = state.partition.topic();
+        thread.start(() -> {
+            VirtualThread.COUNT.increase();
+            try {
+                KafkaMessage current = message;
+                while (current != null) {
+                    handleSingle(topic, process, current);
+                    current = state.complete(current);
+                }
+            } finally {
+                VirtualThread.COUNT.decrease();
+            }
+        });
+    }
+
+    private void dispatchBulk(PartitionState state, MessageProcess<?> bulkProcess, List<KafkaMessage> messages) {
+        if (!state.dispatchAll(messages)) return;   // will be handled by thread of previous bulk of same partition
+        String topic = state.partition.topic();
+        thread.start(() -> {
+            VirtualThread.COUNT.increase();
+            try {
+                List<KafkaMessage> current = messages;
+                while (current != null) {
+                    handleBulk(topic, bulkProcess, current);
+                    current = state.completeAll(current);
+                }
+            } finally {
+                VirtualThread.COUNT.decrease();
+            }
+        });
+    }
+
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets(Collection<PartitionState> states) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (PartitionState state : states) {
+            long watermark = state.watermark();
+            if (watermark > state.committedOffset) {
+                offsets.put(state.partition, new OffsetAndMetadata(watermark));
+                state.committedOffset = watermark;
+            }
+        }
+        return offsets;
+    }
+
+    private void completeParallel() {
+        try {
+            awaitCompletion(partitions.values());
+            commitSync(committableOffsets(partitions.values()));
+        } catch (Throwable e) {
+            logger.warn("failed to commit offsets, name={}", getName(), e);
+        }
+    }
+
+    // wait in flight messages of all partitions with one deadline
+    private void awaitCompletion(Collection<PartitionState> states) {
+        long end = System.currentTimeMillis() + COMPLETE_TIMEOUT_IN_MS;
+        try {
+            for (PartitionState state : states) {
+                if (!state.awaitCompletion(Math.max(0, end - System.currentTimeMillis()))) {
+                    logger.warn(errorCode("FAILED_TO_COMPLETE"), "in flight messages are not completed, partition={}", state.partition);
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.warn(e.getMessage(), e);
+        }
+    }
+
+    private void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (offsets.isEmpty()) return;
+        try {
+            consumer.commitSync(offsets);
+        } catch (WakeupException e) {     // wakeup by shutdown() before commit, retry once as wakeup is cleared
+            consumer.commitSync(offsets);
+        }
+    }
+
     private void processSingle(MessageProcess<?> process, KafkaMessages messages) throws InterruptedException {
         for (KafkaMessage message : messages.unordered) {
             semaphore.acquire();
@@ -224,9 +393,13 @@ class MessageListenerThread extends Thread {
 
             checkConsumerDelay(actionLog, message.timestamp, listener.longConsumerDelayThresholdInNano);
 
-            logger.debug("[message] key={}, value={}, timestamp={}", message.key, new BytesLogParam(message.value), message.timestamp);
+            if (logValue(actionLog)) {
+                logger.debug("[message] key={}, value={}, timestamp={}", message.key, new BytesLogParam(message.value, message.valueOffset, message.valueLength, UTF_8), message.timestamp);
+            } else {
+                logger.debug("[message] key={}, valueLength={}, timestamp={}", message.key, message.valueLength, message.timestamp);
+            }
 
-            T messageObject = process.reader.fromJSON(message.value);
+            T messageObject = process.read(message.value, message.valueOffset, message.valueLength);
             process.validator.validate(messageObject, false);
             process.handler().handle(message.key, messageObject);
         } catch (Throwable e) {
@@ -254,7 +427,7 @@ class MessageListenerThread extends Thread {
         try {
             initAction(actionLog, topic, process.handler.getClass().getCanonicalName(), process.warnings);
 
-            List<Message<T>> messageObjects = messages(messages, actionLog, process.reader);
+            List<Message<T>> messageObjects = messages(messages, actionLog, process);
             for (Message<T> message : messageObjects) {   // validate after fromJSON, so it can track refId/correlationId
                 process.validator.validate(message.value, false);
             }
@@ -276,7 +449,7 @@ class MessageListenerThread extends Thread {
         if (warnings != null) actionLog.initializeWarnings(warnings);
     }
 
-    <T> List<Message<T>> messages(List<KafkaMessage> messages, ActionLog actionLog, JSONReader<T> reader) throws IOException {
+    <T> List<Message<T>> messages(List<KafkaMessage> messages, ActionLog actionLog, MessageProcess<T> process) throws IOException {
         int size = messages.size();
         actionLog.track("kafka", 0, size, 0);
         List<Message<T>> messageObjects = new ArrayList<>(size);
@@ -293,12 +466,17 @@ class MessageListenerThread extends Thread {
             if (message.refId != null) refIds.add(message.refId);
             keys.add(message.key);
 
-            logger.debug("[message] key={}, value={}, timestamp={}, refId={}, client={}, correlationId={}, trace={}",
-                message.key, new BytesLogParam(message.value), message.timestamp, message.refId, message.client, message.correlationId, message.trace);
+            if (logValue(actionLog)) {
+                logger.debug("[message] key={}, value={}, timestamp={}, refId={}, client={}, correlationId={}, trace={}",
+                    message.key, new BytesLogParam(message.value, message.valueOffset, message.valueLength, UTF_8), message.timestamp, message.refId, message.client, message.correlationId, message.trace);
+            } else {
+                logger.debug("[message] key={}, valueLength={}, timestamp={}, refId={}, client={}, correlationId={}, trace={}",
+                    message.key, message.valueLength, message.timestamp, message.refId, message.client, message.correlationId, message.trace);
+            }
 
             if (minTimestamp > message.timestamp) minTimestamp = message.timestamp;
 
-            T messageObject = reader.fromJSON(message.value);
+            T messageObject = process.read(message.value, message.valueOffset, message.valueLength);
             messageObjects.add(new Message<>(message.key, messageObject));
         }
         actionLog.context.put("key", new ArrayList<>(keys));    // keys could contain null
@@ -310,6 +488,12 @@ class MessageListenerThread extends Thread {
         return messageObjects;
     }
 
+    // with zero copy, message value is only logged if trace, debug logs are kept in memory and converted to string if action has warning,
+    // which is expensive for large payloads of high volume topics
+    private boolean logValue(ActionLog actionLog) {
+        return !zeroCopy || actionLog.trace != Trace.NONE;
+    }
+
     void checkConsumerDelay(ActionLog actionLog, long timestamp, long longConsumerDelayThresholdInNano) {
         long delay = (actionLog.date.toEpochMilli() - timestamp) * 1_000_000;     // convert to nanoseconds
         logger.debug("consumerDelay={}", Duration.ofNanos(delay));
@@ -322,4 +506,31 @@ class MessageListenerThread extends Thread {
             logger.warn(errorCode("LONG_CONSUMER_DELAY"), "consumer delay is too long, delay={}", Duration.ofNanos(delay));
         }
     }
+
+    private final class RebalanceListener implements ConsumerRebalanceListener {
+        // called within poll(), wait in flight messages of revoked partitions and commit, to minimize redelivery to new owner
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+            List<PartitionState> states = new ArrayList<>(revoked.size());
+            for (TopicPartition partition : revoked) {
+                PartitionState state = partitions.remove(partition);
+                if (state != null) states.add(state);
+            }
+            if (states.isEmpty()) return;
+            awaitCompletion(states);
+            commitSync(committableOffsets(states));
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+        }
+
+        // partitions are already owned by other consumer, offsets can't be committed
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> lost) {
+            for (TopicPartition partition : lost) {
+                partitions.remove(partition);
+            }
+        }
+    }
 }
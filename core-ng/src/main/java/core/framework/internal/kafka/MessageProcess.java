@@ -2,15 +2,19 @@ package core.framework.internal.kafka;
 
 import core.framework.internal.json.JSONMapper;
 import core.framework.internal.json.JSONReader;
+import core.framework.internal.log.ActionLogReader;
 import core.framework.internal.log.PerformanceWarning;
 import core.framework.internal.log.WarningContext;
 import core.framework.internal.validate.Validator;
 import core.framework.kafka.BulkMessageHandler;
 import core.framework.kafka.MessageHandler;
 import core.framework.log.IOWarning;
+import core.framework.log.message.ActionLogMessage;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -22,12 +26,29 @@ public class MessageProcess<T> {
     public final Validator<T> validator;
     @Nullable
     public final PerformanceWarning[] warnings;
+    private final boolean actionLog;
 
     MessageProcess(Object handler, Class<T> messageClass) {
         this.handler = handler;
         reader = JSONMapper.reader(messageClass);
         validator = Validator.of(messageClass);
         this.warnings = warnings(handler);
+        actionLog = messageClass == ActionLogMessage.class;
+    }
+
+    // action log can be sent in binary format by log appender, refer to core.framework.internal.log.ActionLogWriter
+    @SuppressWarnings("unchecked")
+    T read(byte[] value) throws IOException {
+        if (actionLog && ActionLogReader.isBinary(value)) return (T) ActionLogReader.read(value);
+        return reader.fromJSON(value);
+    }
+
+    // parse from range of array without copying, e.g. value of zero copy consumer, value is null for tombstone record, which fails validation
+    @Nullable
+    T read(@Nullable byte[] value, int offset, int length) throws IOException {
+        if (value == null) return null;
+        if (actionLog) return read(offset == 0 && length == value.length ? value : Arrays.copyOfRange(value, offset, offset + length));
+        return reader.fromJSON(value, offset, length);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,153 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * in flight offsets and per key queues of one partition for parallel consumer,
+ * records are dispatched in offset order, so first pending offset is the watermark, all offsets before it are completed and can be committed
+ *
+ * @author neo
+ */
+final class PartitionState {
+    final TopicPartition partition;
+    long committedOffset = -1;      // only accessed by poll thread
+    boolean paused;                 // only accessed by poll thread
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition completed = lock.newCondition();
+    private final SequencedSet<Long> pendingOffsets = new LinkedHashSet<>();    // in dispatch order, which is ascending
+    private final Map<String, Deque<KafkaMessage>> keyQueues = new HashMap<>();     // messages waiting for in flight message with same key
+    private Deque<List<KafkaMessage>> bulkQueue;    // bulks waiting for in flight bulk, null if no bulk is in flight
+    private long nextOffset = -1;
+
+    PartitionState(TopicPartition partition) {
+        this.partition = partition;
+    }
+
+    // return true if message can be handled now, otherwise it's queued after in flight message with same key
+    boolean dispatch(KafkaMessage message) {
+        lock.lock();
+        try {
+            add(message);
+            if (message.key == null) return true;
+            Deque<KafkaMessage> queue = keyQueues.get(message.key);
+            if (queue != null) {
+                queue.add(message);
+                return false;
+            }
+            keyQueues.put(message.key, new ArrayDeque<>());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // return next message with same key to handle, or null if there is no more
+    @Nullable
+    KafkaMessage complete(KafkaMessage message) {
+        lock.lock();
+        try {
+            remove(message);
+            if (message.key == null) return null;
+            Deque<KafkaMessage> queue = keyQueues.get(message.key);
+            KafkaMessage next = queue.poll();
+            if (next == null) keyQueues.remove(message.key);
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // bulks of partition are handled one by one in poll order, so records with same key are handled in order across polls,
+    // return true if bulk can be handled now, otherwise it's queued after in flight bulk
+    boolean dispatchAll(List<KafkaMessage> messages) {
+        lock.lock();
+        try {
+            for (KafkaMessage message : messages) {
+                add(message);
+            }
+            if (bulkQueue != null) {
+                bulkQueue.add(messages);
+                return false;
+            }
+            bulkQueue = new ArrayDeque<>();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // return next bulk to handle, or null if there is no more
+    @Nullable
+    List<KafkaMessage> completeAll(List<KafkaMessage> messages) {
+        lock.lock();
+        try {
+            for (KafkaMessage message : messages) {
+                remove(message);
+            }
+            List<KafkaMessage> next = bulkQueue.poll();
+            if (next == null) bulkQueue = null;
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // include messages queued by key
+    int inFlight() {
+        lock.lock();
+        try {
+            return pendingOffsets.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // offset to commit, which is next offset to consume, return -1 if nothing dispatched
+    long watermark() {
+        lock.lock();
+        try {
+            if (pendingOffsets.isEmpty()) return nextOffset;
+            return pendingOffsets.getFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean awaitCompletion(long timeoutInMs) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeoutInMs;
+        lock.lock();
+        try {
+            while (!pendingOffsets.isEmpty()) {
+                long left = end - System.currentTimeMillis();
+                if (left <= 0) return false;
+                completed.await(left, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(KafkaMessage message) {
+        pendingOffsets.add(message.offset);
+        nextOffset = message.offset + 1;
+    }
+
+    private void remove(KafkaMessage message) {
+        pendingOffsets.remove(message.offset);
+        if (pendingOffsets.isEmpty()) completed.signalAll();
+    }
+}
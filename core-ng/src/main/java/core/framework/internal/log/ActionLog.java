@@ -2,6 +2,7 @@ package core.framework.internal.log;
 
 import core.framework.log.Markers;
 import core.framework.util.Strings;
+import org.slf4j.Marker;
 
 import javax.annotation.Nullable;
 import java.text.DecimalFormat;
@@ -24,6 +25,7 @@ public final class ActionLog {
 
     private static final String LOGGER = LoggerImpl.abbreviateLoggerName(ActionLog.class.getCanonicalName());
     private static final int SOFT_EVENTS_LIMIT = 3000;    // normally 3000 lines trace is about 350k, and limit memory usage for each action
+    private static final int INITIAL_EVENTS_CAPACITY = 64;     // most actions have less than 100 events
 
     public final String id;
     public final Instant date;
@@ -32,8 +34,8 @@ public final class ActionLog {
     public final WarningContext warningContext;
 
     final Map<String, PerformanceStat> performanceStats;
-    private final List<LogEvent> events;
     private final long startTime;
+    private final LogEventBuffer events = new LogEventBuffer(INITIAL_EVENTS_CAPACITY);
     public LogLevel result = LogLevel.INFO;
     public Trace trace = Trace.NONE;        // whether flush trace log for all subsequent actions
     public String action = "unassigned";
@@ -42,6 +44,7 @@ public final class ActionLog {
     public List<String> refIds;
     public String errorMessage;
     long elapsed;
+    boolean sampled;        // trace is kept by TraceSampler
     private String errorCode;
 
     public ActionLog(String message, String id) {
@@ -52,26 +55,26 @@ public final class ActionLog {
         } else {
             this.id = id;   // in executor, id is generated in advance to link parent and task
         }
-        events = new ArrayList<>(32);   // according to benchmark, ArrayList is as fast as LinkedList with max 3000 items, and has smaller memory footprint
         context = new HashMap<>();  // default capacity is 16, no need to keep insertion order, kibana will sort all keys on display
         stats = new HashMap<>();
         performanceStats = new HashMap<>();
         warningContext = new WarningContext();
 
-        add(event(message));
-        add(event("id={}", this.id));
-        add(event("date={}", DateTimeFormatter.ISO_INSTANT.format(date)));
-        add(event("thread={}", Thread.currentThread().getName()));
+        add(message);
+        add("id={}", this.id);
+        add("date={}", DateTimeFormatter.ISO_INSTANT.format(date));
+        add("thread={}", Thread.currentThread().getName());
     }
 
-    void process(LogEvent event) {
-        if (event.level.value > result.value) {
-            result = event.level;
+    void process(String logger, Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
+        if (level.value > result.value) {
+            var event = new LogEvent(logger, marker, level, message, arguments, exception);
+            result = level;
             errorCode = event.errorCode();      // only update errorCode/message if level raised, so errorCode will be first WARN or ERROR
             errorMessage = Strings.truncate(event.message(), MAX_CONTEXT_VALUE_LENGTH);     // limit error message length in action log
         }
-        if (event.level.value >= WARN.value || events.size() < SOFT_EVENTS_LIMIT) {       // after reach max holding lines, only add warning/error events
-            add(event);
+        if (level.value >= WARN.value || events.size < SOFT_EVENTS_LIMIT) {       // after reach max holding lines, only add warning/error events
+            addEvent(logger, marker, level, message, arguments, exception);
         }
     }
 
@@ -81,25 +84,25 @@ public final class ActionLog {
         }
 
         elapsed = elapsed();
-        add(event("elapsed={}", elapsed));
+        add("elapsed={}", elapsed);
         warningContext.checkMaxProcessTime(elapsed);
 
-        add(event(message));
+        add(message);
     }
 
     public long elapsed() {
         return System.nanoTime() - startTime;
     }
 
-    private void add(LogEvent event) {  // log inside action log will call this to add log event directly, so internal message won't be suspended
-        events.add(event);
-        if (events.size() == SOFT_EVENTS_LIMIT) {
-            events.add(event("...(soft trace limit reached)"));
-        }
+    private void add(String message, Object... arguments) {  // log inside action log will call this to add log event directly, so internal message won't be suspended
+        addEvent(LOGGER, null, DEBUG, message, arguments, null);
     }
 
-    private LogEvent event(String message, Object... arguments) {
-        return new LogEvent(LOGGER, null, DEBUG, message, arguments, null);
+    private void addEvent(String logger, Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
+        events.add(logger, marker, level, message, arguments, exception);
+        if (events.size == SOFT_EVENTS_LIMIT) {
+            events.add(LOGGER, null, DEBUG, "...(soft trace limit reached)", null, null);
+        }
     }
 
     String result() {
@@ -108,7 +111,7 @@ public final class ActionLog {
     }
 
     boolean flushTraceLog() {
-        return trace != Trace.NONE || result.value >= WARN.value;
+        return trace != Trace.NONE || sampled || result.value >= WARN.value;
     }
 
     public String errorCode() {
@@ -123,22 +126,22 @@ public final class ActionLog {
             String contextValue = String.valueOf(value);
             if (contextValue.length() > MAX_CONTEXT_VALUE_LENGTH) { // prevent application code from putting large blob as context, e.g. xml or json response
                 // use new Error() to print calling stack
-                process(new LogEvent(LOGGER, Markers.errorCode("CONTEXT_TOO_LARGE"), WARN, "context value is too long, key={}, value={}", new Object[]{key, contextValue}, new Error("context value is too long")));
+                process(LOGGER, Markers.errorCode("CONTEXT_TOO_LARGE"), WARN, "context value is too long, key={}, value={}", new Object[]{key, contextValue}, new Error("context value is too long"));
             } else if (contextValues.size() >= MAX_CONTEXT_VALUES_SIZE) {
                 // try to warn once only, generally if hits here, the app likely will add much more within loop
                 if (!"CONTEXT_TOO_LARGE".equals(errorCode))
-                    process(new LogEvent(LOGGER, Markers.errorCode("CONTEXT_TOO_LARGE"), WARN, "too many context values, key={}, size={}", new Object[]{key, contextValues.size()}, new Error("too many context values")));
+                    process(LOGGER, Markers.errorCode("CONTEXT_TOO_LARGE"), WARN, "too many context values, key={}, size={}", new Object[]{key, contextValues.size()}, new Error("too many context values"));
             } else {
                 contextValues.add(contextValue);
             }
         }
-        add(event("[context] {}={}", key, values.length == 1 ? values[0] : values));
+        add("[context] {}={}", key, values.length == 1 ? values[0] : values);
     }
 
     public void stat(String key, double value) {
         stats.compute(key, (k, oldValue) -> (oldValue == null) ? value : oldValue + value);
         var format = new DecimalFormat();
-        add(event("[stat] {}={}", key, format.format(value)));
+        add("[stat] {}={}", key, format.format(value));
     }
 
     public void initializeWarnings(PerformanceWarning[] warnings) {
@@ -164,7 +167,7 @@ public final class ActionLog {
     }
 
     public void action(String action) {
-        add(event("action={}", action));
+        add("action={}", action);
         this.action = action;
     }
 
@@ -175,10 +178,8 @@ public final class ActionLog {
     }
 
     public String trace() {
-        var builder = new StringBuilder(events.size() << 7);  // length * 128 as rough initial capacity
-        for (LogEvent event : events) {
-            event.appendTrace(builder, startTime);
-        }
+        var builder = new StringBuilder(events.size << 7);  // length * 128 as rough initial capacity
+        events.appendTrace(builder, startTime);
         return builder.toString();
     }
 
@@ -0,0 +1,10 @@
+package core.framework.internal.log;
+
+/**
+ * appender which serializes action log directly, LogManager skips creating ActionLogMessage for it
+ *
+ * @author neo
+ */
+public interface ActionLogAppender {
+    void append(ActionLog log);
+}
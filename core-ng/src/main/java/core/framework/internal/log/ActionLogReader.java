@@ -0,0 +1,86 @@
+package core.framework.internal.log;
+
+import core.framework.internal.binary.BinaryReader;
+import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.PerformanceStatMessage;
+import core.framework.util.Maps;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * read binary action log written by {@link ActionLogWriter}, used by kafka consumers of action log topic, e.g. log-processor, log-exporter and monitor
+ *
+ * @author neo
+ */
+public final class ActionLogReader {
+    public static boolean isBinary(byte[] value) {
+        return value.length >= ActionLogWriter.HEADER_LENGTH && value[0] == ActionLogWriter.FORMAT_BINARY;
+    }
+
+    public static ActionLogMessage read(byte[] value) throws IOException {
+        if (!isBinary(value)) throw new IOException("invalid binary action log");
+        if (value[1] != ActionLogWriter.SCHEMA_ID) throw new IOException("unsupported action log schema, schemaId=" + value[1]);
+        try {
+            return read(new BinaryReader(value, ActionLogWriter.HEADER_LENGTH));
+        } catch (RuntimeException e) {
+            throw new IOException("failed to read binary action log, error=" + e.getMessage(), e);
+        }
+    }
+
+    private static ActionLogMessage read(BinaryReader reader) {
+        var message = new ActionLogMessage();
+        message.id = reader.readString();
+        message.date = reader.readInstant();
+        message.app = reader.readString();
+        message.host = reader.readString();
+        message.result = reader.readString();
+        message.action = reader.readString();
+        message.correlationIds = readList(reader);
+        message.clients = readList(reader);
+        message.refIds = readList(reader);
+        message.errorCode = reader.readString();
+        message.errorMessage = reader.readString();
+        message.elapsed = reader.readLong();
+
+        int size = reader.readSize();
+        message.context = Maps.newHashMapWithExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            message.context.put(reader.readString(), readList(reader));
+        }
+
+        size = reader.readSize();
+        message.stats = Maps.newHashMapWithExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            message.stats.put(reader.readString(), reader.readDouble());
+        }
+
+        size = reader.readSize();
+        Map<String, PerformanceStatMessage> performanceStats = Maps.newHashMapWithExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            String operation = reader.readString();
+            var stat = new PerformanceStatMessage();
+            stat.totalElapsed = reader.readLong();
+            stat.count = reader.readInteger();
+            stat.readEntries = reader.readInteger();
+            stat.writeEntries = reader.readInteger();
+            performanceStats.put(operation, stat);
+        }
+        message.performanceStats = performanceStats;
+
+        message.traceLog = reader.readString();
+        return message;
+    }
+
+    private static List<String> readList(BinaryReader reader) {
+        if (!reader.readPresence()) return null;
+        int size = reader.readSize();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(reader.readString());
+        }
+        return values;
+    }
+}
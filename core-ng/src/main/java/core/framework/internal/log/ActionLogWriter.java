@@ -0,0 +1,152 @@
+package core.framework.internal.log;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import core.framework.internal.binary.BinaryWriter;
+import core.framework.internal.json.JSONMapper;
+import core.framework.util.Network;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * serialize action log directly without creating ActionLogMessage, output is read as ActionLogMessage by consumers,
+ * json is streamed into byte array with generator, null fields are omitted,
+ * binary is compact format with header [FORMAT_BINARY(1), schemaId(1)], decoded by {@link ActionLogReader}
+ *
+ * @author neo
+ */
+public final class ActionLogWriter {
+    static final byte FORMAT_BINARY = 0;       // json always starts with '{', so first byte tells format
+    static final byte SCHEMA_ID = 1;           // increase when binary layout changes, reader rejects unknown schema
+    static final int HEADER_LENGTH = 2;
+    private static final JsonFactory JSON_FACTORY = JSONMapper.OBJECT_MAPPER.getFactory();
+
+    public byte[] toJSON(ActionLog log) {
+        var builder = new ByteArrayBuilder(1024);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(builder)) {
+            writeJSON(generator, log);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toByteArray();
+    }
+
+    // refer to core.framework.log.message.ActionLogMessage for field names
+    private void writeJSON(JsonGenerator generator, ActionLog log) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", log.id);
+        generator.writeStringField("date", DateTimeFormatter.ISO_INSTANT.format(log.date));
+        generator.writeStringField("app", LogManager.APP_NAME);
+        generator.writeStringField("host", Network.LOCAL_HOST_NAME);
+        generator.writeStringField("result", log.result());
+        generator.writeStringField("action", log.action);
+        writeJSON(generator, "correlation_ids", log.correlationIds());
+        writeJSON(generator, "clients", log.clients);
+        writeJSON(generator, "ref_ids", log.refIds);
+        String errorCode = log.errorCode();
+        if (errorCode != null) generator.writeStringField("error_code", errorCode);
+        if (log.errorMessage != null) generator.writeStringField("error_message", log.errorMessage);
+        generator.writeNumberField("elapsed", log.elapsed);
+
+        generator.writeObjectFieldStart("context");
+        for (Map.Entry<String, List<String>> entry : log.context.entrySet()) {
+            writeJSON(generator, entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("stats");
+        for (Map.Entry<String, Double> entry : log.stats.entrySet()) {
+            generator.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("perf_stats");
+        for (Map.Entry<String, PerformanceStat> entry : log.performanceStats.entrySet()) {
+            PerformanceStat stat = entry.getValue();
+            if (stat.count == 0) continue;  // refer to ActionLogMessageFactory.performanceStats
+            generator.writeObjectFieldStart(entry.getKey());
+            generator.writeNumberField("total_elapsed", stat.totalElapsed);
+            generator.writeNumberField("count", stat.count);
+            if (stat.readEntries != 0) generator.writeNumberField("read_entries", stat.readEntries);
+            if (stat.writeEntries != 0) generator.writeNumberField("write_entries", stat.writeEntries);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        if (log.flushTraceLog()) generator.writeStringField("trace_log", log.trace());
+        generator.writeEndObject();
+    }
+
+    private void writeJSON(JsonGenerator generator, String field, List<String> values) throws IOException {
+        if (values == null) return;
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    public byte[] toBinary(ActionLog log) {
+        var writer = new BinaryWriter(HEADER_LENGTH);
+        writer.writeString(log.id);
+        writer.writeInstant(log.date);
+        writer.writeString(LogManager.APP_NAME);
+        writer.writeString(Network.LOCAL_HOST_NAME);
+        writer.writeString(log.result());
+        writer.writeString(log.action);
+        writeBinary(writer, log.correlationIds());
+        writeBinary(writer, log.clients);
+        writeBinary(writer, log.refIds);
+        writer.writeString(log.errorCode());
+        writer.writeString(log.errorMessage);
+        writer.writeLong(log.elapsed);
+
+        writer.writeSize(log.context.size());
+        for (Map.Entry<String, List<String>> entry : log.context.entrySet()) {
+            writer.writeString(entry.getKey());
+            writeBinary(writer, entry.getValue());
+        }
+
+        writer.writeSize(log.stats.size());
+        for (Map.Entry<String, Double> entry : log.stats.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeDouble(entry.getValue());
+        }
+
+        int size = 0;
+        for (PerformanceStat stat : log.performanceStats.values()) {
+            if (stat.count != 0) size++;
+        }
+        writer.writeSize(size);
+        for (Map.Entry<String, PerformanceStat> entry : log.performanceStats.entrySet()) {
+            PerformanceStat stat = entry.getValue();
+            if (stat.count == 0) continue;
+            writer.writeString(entry.getKey());
+            writer.writeLong(stat.totalElapsed);
+            writer.writeInteger(stat.count);
+            writer.writeInteger(stat.readEntries == 0 ? null : stat.readEntries);
+            writer.writeInteger(stat.writeEntries == 0 ? null : stat.writeEntries);
+        }
+
+        writer.writeString(log.flushTraceLog() ? log.trace() : null);
+
+        byte[] buffer = writer.buffer();
+        buffer[0] = FORMAT_BINARY;
+        buffer[1] = SCHEMA_ID;
+        return Arrays.copyOf(buffer, writer.position());
+    }
+
+    private void writeBinary(BinaryWriter writer, List<String> values) {
+        if (!writer.writePresence(values)) return;
+        writer.writeSize(values.size());
+        for (String value : values) {
+            writer.writeString(value);
+        }
+    }
+}
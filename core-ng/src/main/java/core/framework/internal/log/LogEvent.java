@@ -15,7 +15,6 @@ import java.time.format.DateTimeFormatter;
 final class LogEvent {
     final LogLevel level;
 
-    private final long time = System.nanoTime();
     private final String logger;
     private final Marker marker;
     private final String message;
@@ -60,34 +59,4 @@ final class LogEvent {
         if (exception != null) builder.append(Exceptions.stackTrace(exception));
         return builder.toString();
     }
-
-    void appendTrace(StringBuilder builder, long startTime) {
-        appendDuration(builder, time - startTime);
-        builder.append(' ');
-        if (level != LogLevel.DEBUG) builder.append(level.name()).append(' ');
-        builder.append(logger).append(" - ");
-        if (marker != null) builder.append('[').append(marker.getName()).append("] ");
-        LogManager.FILTER.append(builder, message, arguments);
-        builder.append(System.lineSeparator());
-        if (exception != null) builder.append(Exceptions.stackTrace(exception));
-    }
-
-    void appendDuration(StringBuilder builder, long durationInNanos) {
-        long seconds = durationInNanos / 1000000000;
-
-        String minutePart = String.valueOf(seconds / 60);
-        if (minutePart.length() < 2) builder.append('0');
-        builder.append(minutePart).append(':');
-
-        String secondPart = String.valueOf(seconds % 60);
-        if (secondPart.length() < 2) builder.append('0');
-        builder.append(secondPart).append('.');
-
-        String nanoPart = String.valueOf(durationInNanos % 1000000000);
-        int padding = 9 - nanoPart.length();
-        for (int i = 0; i < padding; i++) {
-            builder.append('0');
-        }
-        builder.append(nanoPart);
-    }
 }
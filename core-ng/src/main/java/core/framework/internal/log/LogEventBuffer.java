@@ -0,0 +1,92 @@
+package core.framework.internal.log;
+
+import core.framework.util.Exceptions;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+
+/**
+ * trace events of action log kept in parallel arrays, to not allocate LogEvent for each log,
+ * message and arguments are only formatted when trace is rendered, i.e. action log result is WARN/ERROR or trace is on,
+ * buffer is owned by one action log and never shared, as app may hold action log reference and log after action ended
+ *
+ * @author neo
+ */
+final class LogEventBuffer {
+    int size;
+    private long[] times;
+    private String[] loggers;
+    private Marker[] markers;
+    private LogLevel[] levels;
+    private String[] messages;
+    private Object[][] arguments;
+    private Throwable[] exceptions;
+
+    LogEventBuffer(int capacity) {
+        times = new long[capacity];
+        loggers = new String[capacity];
+        markers = new Marker[capacity];
+        levels = new LogLevel[capacity];
+        messages = new String[capacity];
+        arguments = new Object[capacity][];
+        exceptions = new Throwable[capacity];
+    }
+
+    void add(String logger, Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
+        if (size == times.length) grow();
+        times[size] = System.nanoTime();
+        loggers[size] = logger;
+        markers[size] = marker;
+        levels[size] = level;
+        messages[size] = message;
+        this.arguments[size] = arguments;
+        exceptions[size] = exception;
+        size++;
+    }
+
+    void appendTrace(StringBuilder builder, long startTime) {
+        for (int i = 0; i < size; i++) {
+            appendDuration(builder, times[i] - startTime);
+            builder.append(' ');
+            LogLevel level = levels[i];
+            if (level != LogLevel.DEBUG) builder.append(level.name()).append(' ');
+            builder.append(loggers[i]).append(" - ");
+            Marker marker = markers[i];
+            if (marker != null) builder.append('[').append(marker.getName()).append("] ");
+            LogManager.FILTER.append(builder, messages[i], arguments[i]);
+            builder.append(System.lineSeparator());
+            Throwable exception = exceptions[i];
+            if (exception != null) builder.append(Exceptions.stackTrace(exception));
+        }
+    }
+
+    void appendDuration(StringBuilder builder, long durationInNanos) {
+        long seconds = durationInNanos / 1000000000;
+
+        String minutePart = String.valueOf(seconds / 60);
+        if (minutePart.length() < 2) builder.append('0');
+        builder.append(minutePart).append(':');
+
+        String secondPart = String.valueOf(seconds % 60);
+        if (secondPart.length() < 2) builder.append('0');
+        builder.append(secondPart).append('.');
+
+        String nanoPart = String.valueOf(durationInNanos % 1000000000);
+        int padding = 9 - nanoPart.length();
+        for (int i = 0; i < padding; i++) {
+            builder.append('0');
+        }
+        builder.append(nanoPart);
+    }
+
+    private void grow() {
+        int capacity = times.length << 1;
+        times = Arrays.copyOf(times, capacity);
+        loggers = Arrays.copyOf(loggers, capacity);
+        markers = Arrays.copyOf(markers, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        messages = Arrays.copyOf(messages, capacity);
+        arguments = Arrays.copyOf(arguments, capacity);
+        exceptions = Arrays.copyOf(exceptions, capacity);
+    }
+}
@@ -45,6 +45,7 @@ public class LogManager {
 
     private final ActionLogMessageFactory actionLogMessageFactory = new ActionLogMessageFactory();
     public LogAppender appender;
+    public TraceSampler traceSampler;
 
     public ActionLog begin(String message, String id) {
         var actionLog = new ActionLog(message, id);
@@ -56,10 +57,15 @@ public class LogManager {
         ActionLog actionLog = CURRENT_ACTION_LOG.get();
         actionLog.end(message);
         CURRENT_ACTION_LOG.remove();    // actionLog.end(message) may produce more logs
+        if (traceSampler != null) actionLog.sampled = traceSampler.sample(actionLog);
 
         if (appender != null) {
             try {
-                appender.append(actionLogMessageFactory.create(actionLog));
+                if (appender instanceof ActionLogAppender actionLogAppender) {
+                    actionLogAppender.append(actionLog);
+                } else {
+                    appender.append(actionLogMessageFactory.create(actionLog));
+                }
             } catch (Throwable e) {
                 LOGGER.warn("failed to append action log, error={}", e.getMessage(), e);
             }
@@ -0,0 +1,136 @@
+package core.framework.internal.log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * tail based trace sampling, decides at end of action whether to flush trace of OK action,
+ * keeps trace if elapsed or total elapsed of IO (db/http/redis/etc) falls into slowest ratio of same action, or by random sample rate,
+ * latency distribution of each action is tracked by lock free log scale histogram, and decays over time to follow recent traffic
+ *
+ * @author neo
+ */
+public final class TraceSampler {
+    static final int MIN_SAMPLES = 100;     // not to judge slowness until enough samples collected
+    private static final int MAX_ACTIONS = 1000;    // actions are bounded by routes/handlers/jobs, this is to protect from unexpected dynamic action names
+
+    private final Map<String, ActionSamples> actions = new ConcurrentHashMap<>();
+    private final double slowRatio;
+    private final double sampleRate;
+
+    public TraceSampler(double slowestPercent, double sampleRate) {
+        this.slowRatio = slowestPercent / 100;
+        this.sampleRate = sampleRate;
+    }
+
+    // must be called after actionLog.end(), as it reads elapsed and performance stats
+    boolean sample(ActionLog log) {
+        boolean slow = false;
+        ActionSamples samples = slowRatio > 0 ? samples(log.action) : null;
+        if (samples != null) {
+            slow = samples.elapsed.record(log.elapsed) | samples.ioElapsed.record(ioElapsed(log));     // always record both, not to skew distribution
+        }
+        return slow || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private ActionSamples samples(String action) {
+        ActionSamples samples = actions.get(action);
+        if (samples != null) return samples;
+        if (actions.size() >= MAX_ACTIONS) return null;
+        return actions.computeIfAbsent(action, key -> new ActionSamples(slowRatio));
+    }
+
+    private long ioElapsed(ActionLog log) {
+        long elapsed = 0;
+        for (PerformanceStat stat : log.performanceStats.values()) {
+            elapsed += stat.totalElapsed;
+        }
+        return elapsed;
+    }
+
+    private static final class ActionSamples {
+        final Histogram elapsed;
+        final Histogram ioElapsed;
+
+        ActionSamples(double slowRatio) {
+            elapsed = new Histogram(slowRatio);
+            ioElapsed = new Histogram(slowRatio);
+        }
+    }
+
+    // buckets are power of two with 4 sub buckets each, about 19% resolution, which is enough to tell slow tail
+    static final class Histogram {
+        private static final int BUCKETS = 256;
+        private static final int UPDATE_INTERVAL = 100;
+        private static final long DECAY_THRESHOLD = 10_000;
+
+        static int bucket(long value) {
+            if (value < 4) return (int) Math.max(value, 0);
+            int bits = 64 - Long.numberOfLeadingZeros(value);
+            return (bits - 2) * 4 + (int) ((value >>> (bits - 3)) & 3);
+        }
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicBoolean decaying = new AtomicBoolean();
+        private final double slowRatio;
+        private volatile int threshold = BUCKETS;
+        private volatile double thresholdRatio;
+
+        Histogram(double slowRatio) {
+            this.slowRatio = slowRatio;
+        }
+
+        // return true if value is within slowest ratio
+        boolean record(long value) {
+            int bucket = bucket(value);
+            counts.incrementAndGet(bucket);
+            long count = total.incrementAndGet();
+            if (count % UPDATE_INTERVAL == 0) updateThreshold(count);
+            if (count < MIN_SAMPLES) return false;
+            int threshold = this.threshold;
+            if (bucket > threshold) return true;
+            return bucket == threshold && ThreadLocalRandom.current().nextDouble() < thresholdRatio;
+        }
+
+        // find bucket where slow ratio falls into, values above it are slow, values in it are sampled proportionally to make up slow ratio
+        private void updateThreshold(long count) {
+            if (count >= DECAY_THRESHOLD && decaying.compareAndSet(false, true)) {
+                try {
+                    count = decay();
+                } finally {
+                    decaying.set(false);
+                }
+            }
+            double limit = count * slowRatio;
+            long accumulated = 0;
+            for (int bucket = BUCKETS - 1; bucket >= 0; bucket--) {
+                long bucketCount = counts.get(bucket);
+                if (accumulated + bucketCount > limit) {
+                    thresholdRatio = (limit - accumulated) / bucketCount;
+                    threshold = bucket;
+                    return;
+                }
+                accumulated += bucketCount;
+            }
+            threshold = -1;     // all values are within slow ratio
+            thresholdRatio = 1;
+        }
+
+        // halve all counts, so old samples weigh less than recent ones
+        private long decay() {
+            long sum = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long value = counts.get(i);
+                if (value == 0) continue;
+                sum += counts.addAndGet(i, -(value >> 1));
+            }
+            total.set(sum);
+            return sum;
+        }
+    }
+}
@@ -3,6 +3,11 @@ package core.framework.internal.log.appender;
 import core.framework.internal.json.JSONWriter;
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.kafka.ProducerMetrics;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.ActionLogAppender;
+import core.framework.internal.log.ActionLogMessageFactory;
+import core.framework.internal.log.ActionLogWriter;
+import core.framework.internal.log.LogLevel;
 import core.framework.log.LogAppender;
 import core.framework.log.message.ActionLogMessage;
 import core.framework.log.message.LogTopics;
@@ -22,32 +27,46 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static core.framework.log.Markers.errorCode;
 
 /**
  * @author neo
  */
-public final class KafkaAppender implements LogAppender {
+public final class KafkaAppender implements LogAppender, ActionLogAppender {
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int SAMPLE_RATE = 10;     // keep 1 of every 10 ok action logs when sampling
+    private static final int MAX_VALUE_SIZE = 2_000_000;
+
     public final ProducerMetrics producerMetrics = new ProducerMetrics("log-forwarder");
+    public final LogForwarderMetrics forwarderMetrics = new LogForwarderMetrics(this);
 
-    final BlockingQueue<ProducerRecord<byte[], byte[]>> records = new LinkedBlockingQueue<>();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder sampled = new LongAdder();
+    private final AtomicInteger sampleCounter = new AtomicInteger();
     private final Logger logger = LoggerFactory.getLogger(KafkaAppender.class);
     private final Thread logForwarderThread;
-    private final JSONWriter<ActionLogMessage> actionLogWriter = new JSONWriter<>(ActionLogMessage.class);
+    private final JSONWriter<ActionLogMessage> actionLogMessageWriter = new JSONWriter<>(ActionLogMessage.class);
+    private final ActionLogWriter actionLogWriter = new ActionLogWriter();
     private final JSONWriter<StatMessage> statWriter = new JSONWriter<>(StatMessage.class);
     private final Callback callback = new KafkaCallback();
     private final KafkaURI uri;
 
+    LogRingBuffer records;
+    private boolean binary;
+    private boolean sampling;
     private Producer<byte[], byte[]> producer;
     private volatile boolean stop;
 
     public KafkaAppender(KafkaURI uri) {
         this.uri = uri;
+        buffer(10_000, false);
         logForwarderThread = Thread.ofPlatform().name("log-forwarder").unstarted(() -> {
             logger.info("log forwarder thread started, uri={}", this.uri);
             initialize();
@@ -62,22 +81,40 @@ public final class KafkaAppender implements LogAppender {
                 break;
             }
             logger.warn("failed to resolve log kafka uri, retry in 10 seconds, uri={}", this.uri);
-            records.clear();    // throw away records, to prevent from high heap usage
-            Threads.sleepRoughly(Duration.ofSeconds(10));
+            Threads.sleepRoughly(Duration.ofSeconds(10));   // buffer is bounded, new records are dropped once it's full
         }
     }
 
+    // must be called before start, buffer holds at most capacity (rounded up to power of 2) records and 64M bytes,
+    // with sampling, once buffer is half full, only keep 1 of every 10 action logs with OK result, to leave room for warning/error action logs and stats
+    public void buffer(int capacity, boolean sampling) {
+        records = new LogRingBuffer(capacity, 64 * 1024 * 1024);
+        this.sampling = sampling;
+    }
+
+    // send action log in compact binary format, refer to ActionLogReader, consumers (e.g. log-processor) must be upgraded first
+    public void binary() {
+        binary = true;
+    }
+
     private void process() {
+        List<ProducerRecord<byte[], byte[]>> batch = new ArrayList<>(MAX_BATCH_SIZE);
         while (!stop) {
+            int sent = 0;
             try {
-                ProducerRecord<byte[], byte[]> record = records.take();
-                producer.send(record, callback);
+                records.drainTo(batch, MAX_BATCH_SIZE, 1000);
+                for (ProducerRecord<byte[], byte[]> record : batch) {
+                    producer.send(record, callback);
+                    sent++;
+                }
             } catch (Throwable e) {
-                if (!stop) {    // if during stop and records.take() is interrupted, not clear records and sleep
+                dropped.add(batch.size() - sent);   // only count records not handed to producer, async send failures are counted by callback
+                if (!stop) {    // if during stop and producer.send() is interrupted, not sleep
                     logger.warn("failed to send log message, retry in 30 seconds", e);
-                    records.clear();
                     Threads.sleepRoughly(Duration.ofSeconds(30));
                 }
+            } finally {
+                batch.clear();
             }
         }
     }
@@ -106,28 +143,58 @@ public final class KafkaAppender implements LogAppender {
         }
     }
 
+    // serialize action log directly, only create ActionLogMessage if it's too large and needs to be truncated
+    @Override
+    public void append(ActionLog log) {
+        if (sample(log.result == LogLevel.INFO)) return;
+
+        byte[] value = binary ? actionLogWriter.toBinary(log) : actionLogWriter.toJSON(log);
+        if (value.length > MAX_VALUE_SIZE) {
+            value = truncatedJSON(new ActionLogMessageFactory().create(log), value.length);
+        }
+        // not specify message key for sticky partition, StickyPartitionCache will be used if key is null
+        // refer to org.apache.kafka.clients.producer.internals.DefaultPartitioner.partition
+        add(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, value));
+    }
+
     @Override
     public void append(ActionLogMessage message) {
-        byte[] value = actionLogWriter.toJSON(message);
+        if (sample("OK".equals(message.result))) return;
 
-        // refer to org.apache.kafka.common.record.DefaultRecordBatch.estimateBatchSizeUpperBound
-        // overhead is 88 + valueSize
-        if (value.length > 2_000_000) {
-            logger.warn(errorCode("LOG_TOO_LARGE"), "action log message is too large, size={}, id={}, action={}", value.length, message.id, message.action);
-            new ConsoleAppender().append(message);  // fall back to console appender to print
+        byte[] value = actionLogMessageWriter.toJSON(message);
+        if (value.length > MAX_VALUE_SIZE) {
+            value = truncatedJSON(message, value.length);
+        }
+        add(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, value));
+    }
 
-            truncate(message, value.length - 2_000_000, 10_000);
-            value = actionLogWriter.toJSON(message);    // the value length is supposed to be less than 2_000_000, since json escapes '\n' as 2 chars, but in trace string it's one char
+    private boolean sample(boolean ok) {
+        if (sampling && ok && records.size() > records.capacity() / 2
+            && (sampleCounter.getAndIncrement() & Integer.MAX_VALUE) % SAMPLE_RATE != 0) {
+            sampled.increment();
+            return true;
         }
+        return false;
+    }
 
-        // not specify message key for sticky partition, StickyPartitionCache will be used if key is null
-        // refer to org.apache.kafka.clients.producer.internals.DefaultPartitioner.partition
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, value));
+    // refer to org.apache.kafka.common.record.DefaultRecordBatch.estimateBatchSizeUpperBound
+    // overhead is 88 + valueSize
+    private byte[] truncatedJSON(ActionLogMessage message, int size) {
+        logger.warn(errorCode("LOG_TOO_LARGE"), "action log message is too large, size={}, id={}, action={}", size, message.id, message.action);
+        new ConsoleAppender().append(message);  // fall back to console appender to print
+
+        truncate(message, size - MAX_VALUE_SIZE, 10_000);
+        return actionLogMessageWriter.toJSON(message);    // the value length is supposed to be less than 2_000_000, since json escapes '\n' as 2 chars, but in trace string it's one char
     }
 
     @Override
     public void append(StatMessage message) {
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON(message)));    // not specify message key for sticky partition
+        add(new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON(message)));    // not specify message key for sticky partition
+    }
+
+    // drop new record if buffer is full, e.g. kafka is not available, to keep memory bounded and not block application threads
+    private void add(ProducerRecord<byte[], byte[]> record) {
+        if (!records.offer(record)) dropped.increment();
     }
 
     // during startup, if it encounters configuration runtime error, logForwarderThread won't start as all startup tasks will be skipped,
@@ -140,10 +207,21 @@ public final class KafkaAppender implements LogAppender {
         logger.info("stop log forwarder");
         stop = true;
         logForwarderThread.interrupt();
+        try {
+            logForwarderThread.join(1000);
+            if (logForwarderThread.isAlive()) {     // records buffer only supports single consumer, must not drain until forwarder thread exits
+                logForwarderThread.interrupt();     // e.g. blocked by producer.send() or sleeping after failure
+                logForwarderThread.join();
+            }
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for log forwarder thread", e);
+        }
 
         if (producer == null && resolveURI(uri)) producer = createProducer(uri);           // producer can be null if app failed to start (exception thrown by configure(), startup hook will not run)
         if (producer != null) {                                         // producer can be null if uri is not resolved
-            for (ProducerRecord<byte[], byte[]> record : records) {     // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
+            List<ProducerRecord<byte[], byte[]>> batch = new ArrayList<>(records.size());
+            records.drainTo(batch, Integer.MAX_VALUE, 0);
+            for (ProducerRecord<byte[], byte[]> record : batch) {       // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
                 producer.send(record);
             }
             producer.close(Duration.ofMillis(timeoutInMs));
@@ -188,7 +266,7 @@ public final class KafkaAppender implements LogAppender {
         public void onCompletion(RecordMetadata metadata, Exception exception) {
             if (exception != null) {
                 logger.warn("failed to send log message", exception);
-                records.clear();
+                dropped.increment();
             }
         }
     }
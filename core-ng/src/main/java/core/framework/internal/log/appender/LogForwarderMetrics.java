@@ -0,0 +1,23 @@
+package core.framework.internal.log.appender;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+/**
+ * @author neo
+ */
+public class LogForwarderMetrics implements Metrics {
+    private final KafkaAppender appender;
+
+    LogForwarderMetrics(KafkaAppender appender) {
+        this.appender = appender;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        stats.put("log_forwarder_queue_size", appender.records.size());
+        stats.put("log_forwarder_queue_bytes", appender.records.bytes.get());
+        stats.put("log_forwarder_dropped", appender.dropped.sumThenReset());    // dropped records since last collection
+        stats.put("log_forwarder_sampled", appender.sampled.sumThenReset());    // action logs skipped by sampling since last collection
+    }
+}
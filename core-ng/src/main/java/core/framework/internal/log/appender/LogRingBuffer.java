@@ -0,0 +1,94 @@
+package core.framework.internal.log.appender;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * bounded lock free ring buffer, multiple producers (threads writing logs) and single consumer (log forwarder thread),
+ * slots are allocated on creation, and total size of values is bounded by maxBytes, so buffered logs take fixed amount of memory,
+ * offer() returns false if buffer is full, caller decides how to handle
+ *
+ * @author neo
+ */
+final class LogRingBuffer {
+    final AtomicLong bytes = new AtomicLong();
+    private final AtomicReferenceArray<ProducerRecord<byte[], byte[]>> slots;
+    private final int mask;
+    private final long maxBytes;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;    // only written by consumer thread
+    private volatile Thread waitingConsumer;
+
+    LogRingBuffer(int capacity, long maxBytes) {
+        int length = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);    // ceiling power of two
+        slots = new AtomicReferenceArray<>(length);
+        mask = length - 1;
+        this.maxBytes = maxBytes;
+    }
+
+    boolean offer(ProducerRecord<byte[], byte[]> record) {
+        int size = record.value().length;
+        if (bytes.addAndGet(size) > maxBytes) {
+            bytes.addAndGet(-size);
+            return false;
+        }
+        while (true) {
+            long index = producerIndex.get();
+            if (index - consumerIndex > mask) {
+                bytes.addAndGet(-size);
+                return false;
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                slots.set((int) index & mask, record);
+                Thread consumer = waitingConsumer;
+                if (consumer != null) LockSupport.unpark(consumer);
+                return true;
+            }
+        }
+    }
+
+    // must be called by single consumer thread, return number of drained records, wait up to timeout if buffer is empty
+    int drainTo(List<ProducerRecord<byte[], byte[]>> records, int maxRecords, long timeoutInMs) {
+        int count = drainTo(records, maxRecords);
+        if (count > 0 || timeoutInMs <= 0) return count;
+        waitingConsumer = Thread.currentThread();
+        try {
+            count = drainTo(records, maxRecords);   // producer may offer before consumer is registered
+            if (count > 0) return count;
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(timeoutInMs));
+        } finally {
+            waitingConsumer = null;
+        }
+        return drainTo(records, maxRecords);
+    }
+
+    private int drainTo(List<ProducerRecord<byte[], byte[]>> records, int maxRecords) {
+        long index = consumerIndex;
+        int count = 0;
+        while (count < maxRecords) {
+            int slot = (int) index & mask;
+            ProducerRecord<byte[], byte[]> record = slots.get(slot);
+            if (record == null) break;      // empty, or producer claimed slot but not set record yet
+            slots.set(slot, null);
+            index++;
+            bytes.addAndGet(-record.value().length);
+            records.add(record);
+            count++;
+        }
+        consumerIndex = index;
+        return count;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return (int) Math.max(producerIndex.get() - consumerIndex, 0);
+    }
+}
@@ -12,6 +12,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class BytesLogParam implements LogParam {    // for text based value, detect if in json format, and mask if needed
     private final byte[] bytes;
+    private final int offset;
+    private final int length;
     private final Charset charset;
 
     public BytesLogParam(byte[] bytes) {
@@ -19,7 +21,13 @@ public class BytesLogParam implements LogParam {    // for text based value, det
     }
 
     public BytesLogParam(byte[] bytes, Charset charset) {
+        this(bytes, 0, bytes == null ? 0 : bytes.length, charset);
+    }
+
+    public BytesLogParam(byte[] bytes, int offset, int length, Charset charset) {
         this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
         this.charset = charset;
     }
 
@@ -32,11 +40,11 @@ public class BytesLogParam implements LogParam {    // for text based value, det
 
         boolean truncate = false;
         String value;
-        if (bytes.length > maxParamLength) {
-            value = new String(bytes, 0, maxParamLength, charset);
+        if (length > maxParamLength) {
+            value = new String(bytes, offset, maxParamLength, charset);
             truncate = true;
         } else {
-            value = new String(bytes, charset);
+            value = new String(bytes, offset, length, charset);
         }
         if (shouldMask(value, maskedFields)) {
             builder.append(filter(value, maskedFields));
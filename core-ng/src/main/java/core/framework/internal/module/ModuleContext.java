@@ -48,6 +48,7 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
     public final HTTPServerConfig httpServerConfig = new HTTPServerConfig();
     public final APIController apiController = new APIController();
     public final BeanClassValidator beanClassValidator = new BeanClassValidator();
+    public Executor executor;   // builtin executor, set by initialize()
     protected final Map<String, Config> configs = Maps.newHashMap();
     final PropertyValidator propertyValidator = new PropertyValidator();
     private BackgroundTaskExecutor backgroundTask;
@@ -62,6 +63,7 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
     public void initialize() {
         var executor = new ExecutorImpl(ThreadPools.virtualThreadExecutor("executor-"), logManager, shutdownHook.shutdownTimeoutInNano);
         beanFactory.bind(Executor.class, null, executor);
+        this.executor = executor;
         shutdownHook.add(ShutdownHook.STAGE_2, timeout -> executor.shutdown());
         shutdownHook.add(ShutdownHook.STAGE_3, executor::awaitTermination);
 
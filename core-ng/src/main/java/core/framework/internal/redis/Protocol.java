@@ -103,6 +103,13 @@ final class Protocol {
         static final byte[] ZRANGE = Strings.bytes("ZRANGE");
         static final byte[] ZREM = Strings.bytes("ZREM");
         static final byte[] ZPOPMIN = Strings.bytes("ZPOPMIN");
+
+        static final byte[] PUBLISH = Strings.bytes("PUBLISH");
+        static final byte[] SUBSCRIBE = Strings.bytes("SUBSCRIBE");
+        static final byte[] UNSUBSCRIBE = Strings.bytes("UNSUBSCRIBE");
+
+        static final byte[] EVAL = Strings.bytes("EVAL");
+        static final byte[] EVALSHA = Strings.bytes("EVALSHA");
     }
 
     static class Keyword {
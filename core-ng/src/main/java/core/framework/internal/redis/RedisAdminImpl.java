@@ -32,7 +32,7 @@ public class RedisAdminImpl implements RedisAdmin {
     public Map<String, String> info() {
         var watch = new StopWatch();
         String value = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeCommand(INFO);
@@ -42,7 +42,7 @@ public class RedisAdminImpl implements RedisAdmin {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("info, returnedValue={}, elapsed={}", value, elapsed);
             ActionLogContext.track("redis", elapsed, 1, 0);
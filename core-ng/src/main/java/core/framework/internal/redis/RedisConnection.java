@@ -26,6 +26,10 @@ class RedisConnection implements AutoCloseable {
         inputStream = new RedisInputStream(socket.getInputStream());
     }
 
+    void readTimeout(int timeoutInMs) throws IOException {
+        socket.setSoTimeout(timeoutInMs);
+    }
+
     void writeCommand(byte[] command) throws IOException {
         writeArray(1);
         writeBlobString(command);
@@ -93,19 +97,23 @@ class RedisConnection implements AutoCloseable {
     }
 
     String readSimpleString() throws IOException {
-        return (String) Protocol.read(inputStream);
+        return (String) read();
     }
 
     byte[] readBlobString() throws IOException {
-        return (byte[]) Protocol.read(inputStream);
+        return (byte[]) read();
     }
 
     long readLong() throws IOException {
-        return (long) Protocol.read(inputStream);
+        return (long) read();
     }
 
     Object[] readArray() throws IOException {
-        return (Object[]) Protocol.read(inputStream);
+        return (Object[]) read();
+    }
+
+    Object read() throws IOException {
+        return Protocol.read(inputStream);
     }
 
     Object[] readAll(int size) throws IOException {
@@ -113,7 +121,7 @@ class RedisConnection implements AutoCloseable {
         Object[] results = new Object[size];
         for (int i = 0; i < size; i++) {
             try {
-                results[i] = Protocol.read(inputStream);
+                results[i] = read();
             } catch (RedisException e) {
                 exception = e;
             }
@@ -41,7 +41,7 @@ public final class RedisHashImpl implements RedisHash {
         validate("key", key);
         validate("field", field);
         String value = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(HGET, key, encode(field));
@@ -51,7 +51,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("hget, key={}, field={}, returnedValue={}, elapsed={}", key, field, value, elapsed);
             ActionLogContext.track("redis", elapsed, 1, 0);
@@ -63,7 +63,7 @@ public final class RedisHashImpl implements RedisHash {
     public Map<String, String> getAll(String key) {
         var watch = new StopWatch();
         validate("key", key);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         Map<String, String> values = null;
         try {
             RedisConnection connection = item.resource;
@@ -79,7 +79,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("hgetAll, key={}, returnedValues={}, elapsed={}", key, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -93,7 +93,7 @@ public final class RedisHashImpl implements RedisHash {
         validate("key", key);
         validate("field", field);
         validate("value", value);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeArray(4);
@@ -107,7 +107,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("hset, key={}, field={}, value={}, elapsed={}", key, field, value, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
@@ -119,7 +119,7 @@ public final class RedisHashImpl implements RedisHash {
         var watch = new StopWatch();
         validate("key", key);
         validate("values", values);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeArray(2 + values.size() * 2);
@@ -135,7 +135,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             int size = values.size();
             logger.debug("hmset, key={}, values={}, size={}, elapsed={}", key, new FieldMapLogParam(values), size, elapsed);
@@ -149,7 +149,7 @@ public final class RedisHashImpl implements RedisHash {
         validate("key", key);
         validate("field", field);
         long value = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(HINCRBY, key, field, String.valueOf(increment));
@@ -159,7 +159,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("hincrby, key={}, field={}, increment={}, returnedValue={}, elapsed={}", key, field, increment, value, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
@@ -172,7 +172,7 @@ public final class RedisHashImpl implements RedisHash {
         validate("key", key);
         validate("fields", fields);
         long deletedFields = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(HDEL, key, fields);
@@ -182,7 +182,7 @@ public final class RedisHashImpl implements RedisHash {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("hdel, key={}, fields={}, size={}, deletedFields={}, elapsed={}", key, new ArrayLogParam(fields), fields.length, deletedFields, elapsed);
             ActionLogContext.track("redis", elapsed, 0, (int) deletedFields);
@@ -12,6 +12,7 @@ import core.framework.redis.RedisAdmin;
 import core.framework.redis.RedisHash;
 import core.framework.redis.RedisHyperLogLog;
 import core.framework.redis.RedisList;
+import core.framework.redis.RedisPipeline;
 import core.framework.redis.RedisSet;
 import core.framework.redis.RedisSortedSet;
 import core.framework.util.Maps;
@@ -26,12 +27,15 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 import static core.framework.internal.redis.Protocol.Command.DEL;
+import static core.framework.internal.redis.Protocol.Command.EVAL;
+import static core.framework.internal.redis.Protocol.Command.EVALSHA;
 import static core.framework.internal.redis.Protocol.Command.GET;
 import static core.framework.internal.redis.Protocol.Command.INCRBY;
 import static core.framework.internal.redis.Protocol.Command.MGET;
 import static core.framework.internal.redis.Protocol.Command.MSET;
 import static core.framework.internal.redis.Protocol.Command.PEXPIRE;
 import static core.framework.internal.redis.Protocol.Command.PTTL;
+import static core.framework.internal.redis.Protocol.Command.PUBLISH;
 import static core.framework.internal.redis.Protocol.Command.SCAN;
 import static core.framework.internal.redis.Protocol.Command.SET;
 import static core.framework.internal.redis.Protocol.Keyword.COUNT;
@@ -57,6 +61,7 @@ public final class RedisImpl implements Redis {
     private final RedisAdmin redisAdmin = new RedisAdminImpl(this);
     private final String name;
     public Pool<RedisConnection> pool;
+    RedisMultiplexer multiplexer;     // if not null, share multiplexed connections instead of borrowing from pool
 
     public RedisImpl(String name) {
         this.name = name;
@@ -79,9 +84,28 @@ public final class RedisImpl implements Redis {
         pool.checkoutTimeout(timeout);
     }
 
+    public void multiplex(int connections) {
+        if (multiplexer != null) throw new Error("multiplex is already configured, name=" + name);
+        multiplexer = new RedisMultiplexer(connectionFactory, name, connections);
+        pool.size(0, connections);      // pool is not used with multiplexer, not to create idle connections on refresh
+    }
+
     public void close() {
         logger.info("close redis client, name={}, host={}", name, connectionFactory.host);
         pool.close();
+        if (multiplexer != null) multiplexer.close();
+    }
+
+    public record ValueWithTTL(byte[] value, long ttlInMs) {
+    }
+
+    PoolItem<RedisConnection> borrowItem() {
+        if (multiplexer != null) return new PoolItem<>(multiplexer.connection());
+        return pool.borrowItem();
+    }
+
+    void returnItem(PoolItem<RedisConnection> item) {
+        if (multiplexer == null) pool.returnItem(item);     // multiplexed connection is disconnected on error and reconnected by next request
     }
 
     @Override
@@ -93,7 +117,7 @@ public final class RedisImpl implements Redis {
     public byte[] getBytes(String key) {
         var watch = new StopWatch();
         byte[] value = null;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyCommand(GET, key);
@@ -103,13 +127,44 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("get, key={}, returnedValue={}, elapsed={}", key, new BytesLogParam(value), elapsed);
             ActionLogContext.track("redis", elapsed, 1, 0);
         }
     }
 
+    // get value and remaining time to live with one round trip, ttl is -2 if key does not exist, -1 if key has no expiration
+    public ValueWithTTL getBytesWithTTL(String key) {
+        var watch = new StopWatch();
+        byte[] value = null;
+        long ttl = -2;
+        PoolItem<RedisConnection> item = borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            byte[] encodedKey = encode(key);
+            connection.writeArray(2);
+            connection.writeBlobString(GET);
+            connection.writeBlobString(encodedKey);
+            connection.writeArray(2);
+            connection.writeBlobString(PTTL);
+            connection.writeBlobString(encodedKey);
+            connection.flush();
+            Object[] results = connection.readAll(2);
+            value = (byte[]) results[0];
+            ttl = (Long) results[1];
+            return new ValueWithTTL(value, ttl);
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            returnItem(item);
+            long elapsed = watch.elapsed();
+            logger.debug("get, key={}, returnedValue={}, ttl={}, elapsed={}", key, new BytesLogParam(value), ttl, elapsed);
+            ActionLogContext.track("redis", elapsed, 1, 0);
+        }
+    }
+
     @Override
     public RedisSet set() {
         return redisSet;
@@ -126,7 +181,7 @@ public final class RedisImpl implements Redis {
         var watch = new StopWatch();
         byte[] expirationValue = expiration == null ? null : expirationValue(expiration);
         boolean updated = false;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             int length = 3 + (onlyIfAbsent ? 1 : 0) + (expiration != null ? 2 : 0);
@@ -147,7 +202,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("set, key={}, value={}, expiration={}, onlyIfAbsent={}, updated={}, elapsed={}", key, new BytesLogParam(value), expiration, onlyIfAbsent, updated, elapsed);
             int writeEntries = updated ? 1 : 0;
@@ -159,7 +214,7 @@ public final class RedisImpl implements Redis {
     public void expire(String key, Duration expiration) {
         var watch = new StopWatch();
         validate("key", key);
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(PEXPIRE, key, encode(expiration.toMillis()));    // PEXPIRE accepts zero and negative ttl
@@ -168,7 +223,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("pexpire, key={}, expiration={}, elapsed={}", key, expiration, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
@@ -180,7 +235,7 @@ public final class RedisImpl implements Redis {
         var watch = new StopWatch();
         validate("keys", keys);
         long deletedKeys = 0;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeysCommand(DEL, keys);
@@ -190,7 +245,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("del, keys={}, size={}, deletedKeys={}, elapsed={}", new ArrayLogParam(keys), keys.length, deletedKeys, elapsed);
             ActionLogContext.track("redis", elapsed, 0, (int) deletedKeys);
@@ -202,7 +257,7 @@ public final class RedisImpl implements Redis {
         var watch = new StopWatch();
         validate("key", key);
         long value = 0;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(INCRBY, key, encode(increment));
@@ -212,7 +267,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("incrby, key={}, increment={}, returnedValue={}, elapsed={}", key, increment, value, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
@@ -233,7 +288,7 @@ public final class RedisImpl implements Redis {
         var watch = new StopWatch();
         validate("keys", keys);
         Map<String, byte[]> values = Maps.newLinkedHashMapWithExpectedSize(keys.length);
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeysCommand(MGET, keys);
@@ -247,7 +302,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("mget, keys={}, size={}, returnedValues={}, elapsed={}", new ArrayLogParam(keys), keys.length, new BytesMapLogParam(values), elapsed);
             ActionLogContext.track("redis", elapsed, values.size(), 0);
@@ -258,7 +313,7 @@ public final class RedisImpl implements Redis {
     public void multiSet(Map<String, String> values) {
         var watch = new StopWatch();
         validate("values", values);
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeArray(1 + values.size() * 2);
@@ -273,7 +328,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             int size = values.size();
             logger.debug("mset, values={}, size={}, elapsed={}", new FieldMapLogParam(values), size, elapsed);
@@ -286,7 +341,7 @@ public final class RedisImpl implements Redis {
         validate("values", values);
         byte[] expirationValue = expirationValue(expiration);
         int size = values.size();
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             for (Map.Entry<String, byte[]> entry : values.entrySet()) { // redis doesn't support mset with expiration, here to use pipeline
@@ -303,13 +358,71 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("set, values={}, size={}, expiration={}, elapsed={}", new BytesMapLogParam(values), size, expiration, elapsed);
             ActionLogContext.track("redis", elapsed, 0, size);
         }
     }
 
+    // return number of subscribers received the message
+    public long publish(String channel, byte[] message) {
+        var watch = new StopWatch();
+        long receivers = 0;
+        PoolItem<RedisConnection> item = borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            connection.writeKeyArgumentCommand(PUBLISH, channel, message);
+            receivers = connection.readLong();
+            return receivers;
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            returnItem(item);
+            long elapsed = watch.elapsed();
+            logger.debug("publish, channel={}, message={}, receivers={}, elapsed={}", channel, new BytesLogParam(message), receivers, elapsed);
+            ActionLogContext.track("redis", elapsed, 0, 1);
+        }
+    }
+
+    // run lua script atomically with single key, only sha1 is sent, script body is sent if redis doesn't have it (e.g. after restart or failover)
+    public Object eval(RedisScript script, String key, String... arguments) {
+        var watch = new StopWatch();
+        PoolItem<RedisConnection> item = borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            try {
+                writeEval(connection, EVALSHA, script.sha1, key, arguments);
+                return connection.read();
+            } catch (RedisException e) {
+                if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) throw e;
+                writeEval(connection, EVAL, script.body, key, arguments);
+                return connection.read();
+            }
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            returnItem(item);
+            long elapsed = watch.elapsed();
+            logger.debug("eval, key={}, arguments={}, elapsed={}", key, new ArrayLogParam(arguments), elapsed);
+            ActionLogContext.track("redis", elapsed, 1, 1);
+        }
+    }
+
+    private void writeEval(RedisConnection connection, byte[] command, byte[] script, String key, String... arguments) throws IOException {
+        connection.writeArray(4 + arguments.length);
+        connection.writeBlobString(command);
+        connection.writeBlobString(script);
+        connection.writeBlobString(encode(1));
+        connection.writeBlobString(encode(key));
+        for (String argument : arguments) {
+            connection.writeBlobString(encode(argument));
+        }
+        connection.flush();
+    }
+
     @Override
     public RedisHash hash() {
         return redisHash;
@@ -331,7 +444,7 @@ public final class RedisImpl implements Redis {
         if (pattern == null) throw new Error("pattern must not be null");
         long start = System.nanoTime();
         long redisTook = 0;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         int returnedKeys = 0;
         try {
             RedisConnection connection = item.resource;
@@ -360,7 +473,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("scan, pattern={}, returnedKeys={}, redisTook={}, elapsed={}", pattern, returnedKeys, redisTook, elapsed);
             ActionLogContext.track("redis", redisTook, returnedKeys, 0);
@@ -377,11 +490,16 @@ public final class RedisImpl implements Redis {
         return redisHyperLogLog;
     }
 
+    @Override
+    public RedisPipeline pipeline() {
+        return new RedisPipelineImpl(this);
+    }
+
     public long[] expirationTime(String... keys) {
         var watch = new StopWatch();
         int size = keys.length;
         long[] expirationTimes = null;
-        PoolItem<RedisConnection> item = pool.borrowItem();
+        PoolItem<RedisConnection> item = borrowItem();
         try {
             RedisConnection connection = item.resource;
             for (String key : keys) {
@@ -401,7 +519,7 @@ public final class RedisImpl implements Redis {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            pool.returnItem(item);
+            returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("pttl,  keys={}, size={}, returnedValues={}, elapsed={}", new ArrayLogParam(keys), size, expirationTimes, elapsed);
             ActionLogContext.track("redis", elapsed, size, 0);
@@ -38,7 +38,7 @@ public final class RedisListImpl implements RedisList {
         validate("key", key);
         if (size <= 0) throw new Error("size must be greater than 0");
         List<String> values = new ArrayList<>(size);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(LPOP, key, encode(size));
@@ -53,7 +53,7 @@ public final class RedisListImpl implements RedisList {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("lpop, key={}, size={}, returnedValues={}, elapsed={}", key, size, values, elapsed);
             ActionLogContext.track("redis", elapsed, values.size(), 0);
@@ -65,7 +65,7 @@ public final class RedisListImpl implements RedisList {
         var watch = new StopWatch();
         validate("key", key);
         validate("values", values);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(RPUSH, key, values);
@@ -74,7 +74,7 @@ public final class RedisListImpl implements RedisList {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("rpush, key={}, values={}, size={}, elapsed={}", key, new ArrayLogParam(values), values.length, elapsed);
             ActionLogContext.track("redis", elapsed, 0, values.length);
@@ -86,7 +86,7 @@ public final class RedisListImpl implements RedisList {
         var watch = new StopWatch();
         validate("key", key);
         List<String> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeArray(4);
@@ -105,7 +105,7 @@ public final class RedisListImpl implements RedisList {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("lrange, key={}, start={}, stop={}, returnedValues={}, elapsed={}", key, start, stop, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -118,7 +118,7 @@ public final class RedisListImpl implements RedisList {
         var watch = new StopWatch();
         validate("key", key);
         if (maxSize <= 0) throw new Error("maxSize must be greater than 0");
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(LTRIM, key, encode(-maxSize), encode(-1));
@@ -127,7 +127,7 @@ public final class RedisListImpl implements RedisList {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("ltrim, key={}, maxSize={}, elapsed={}", key, maxSize, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
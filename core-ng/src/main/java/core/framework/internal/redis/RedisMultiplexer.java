@@ -0,0 +1,288 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.resource.Pool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static core.framework.internal.redis.Protocol.Command.AUTH;
+import static core.framework.internal.redis.RedisEncodings.encode;
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * share few connections with many concurrent callers, redis replies in same order of requests,
+ * so each caller writes whole commands under lock then waits its replies in FIFO order, one reader thread per connection dispatches replies,
+ * with virtual threads, waiting callers don't hold carrier threads or sockets,
+ * if caller times out while other replies still arrive, only that caller fails and its late replies are discarded by reader,
+ * connection is considered broken and all pending callers fail only if no reply is received within timeout since request was sent
+ *
+ * @author neo
+ */
+final class RedisMultiplexer {
+    private final Logger logger = LoggerFactory.getLogger(RedisMultiplexer.class);
+    final String name;
+    private final RedisConnectionFactory factory;
+    private final Channel[] channels;
+    private final AtomicInteger index = new AtomicInteger();
+
+    RedisMultiplexer(RedisConnectionFactory factory, String name, int connections) {
+        if (connections <= 0) throw new Error("connections must be greater than 0, connections=" + connections);
+        this.factory = factory;
+        this.name = name;
+        channels = new Channel[connections];
+        for (int i = 0; i < connections; i++) {
+            channels[i] = new Channel(i);
+        }
+    }
+
+    // connection is lightweight, created per operation, it buffers commands until flush, and reads replies of its own commands
+    RedisConnection connection() {
+        Channel channel = channels[Math.floorMod(index.getAndIncrement(), channels.length)];
+        return new MultiplexedConnection(channel);
+    }
+
+    int pendingRequests() {
+        int requests = 0;
+        for (Channel channel : channels) {
+            requests += channel.pendingReplies.size();
+        }
+        return requests;
+    }
+
+    void close() {
+        for (Channel channel : channels) {
+            channel.close();
+        }
+    }
+
+    final class Channel {
+        final Queue<Replies> pendingReplies = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int index;
+        private SocketChannel socket;
+        private boolean closed;
+        private volatile long lastReadTime;     // in nano, updated by reader thread
+
+        Channel(int index) {
+            this.index = index;
+        }
+
+        Replies send(byte[] request, int count) throws IOException {
+            lock.lock();
+            try {
+                if (closed) throw new IOException("redis connection is closed, name=" + name);
+                if (socket == null) connect();
+                return write(socket, request, count);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // must be called within lock, enqueue replies before writing request, so reader thread always finds pending replies
+        private Replies write(SocketChannel socket, byte[] request, int count) throws IOException {
+            var replies = new Replies(socket, count);
+            pendingReplies.add(replies);
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(request);
+                while (buffer.hasRemaining()) {
+                    socket.write(buffer);
+                }
+                return replies;
+            } catch (IOException e) {
+                disconnect(socket, e);     // partially written request breaks protocol, must not reuse socket
+                throw e;
+            }
+        }
+
+        private void connect() throws IOException {
+            RedisHost host = factory.host;
+            if (host == null) throw new Error("redis host must not be null");
+            SocketChannel socket = SocketChannel.open();
+            try {
+                socket.setOption(StandardSocketOptions.SO_KEEPALIVE, Boolean.TRUE);
+                socket.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+                socket.socket().connect(new InetSocketAddress(host.host, host.port), factory.timeoutInMs);
+            } catch (IOException e) {
+                Pool.closeQuietly(socket);
+                throw e;
+            }
+            this.socket = socket;
+            lastReadTime = System.nanoTime();
+            Thread.ofPlatform().name(name + "-reader-" + index).daemon(true).start(() -> read(socket));
+            logger.info("connected to redis, name={}, host={}, channel={}", name, host, index);
+
+            if (factory.password != null) {
+                var buffer = new ByteArrayOutputStream(64);
+                var stream = new RedisOutputStream(buffer, 64);
+                Protocol.writeArray(stream, 2);
+                Protocol.writeBlobString(stream, AUTH);
+                Protocol.writeBlobString(stream, encode(factory.password));
+                stream.flush();
+                try {
+                    write(socket, buffer.toByteArray(), 1).next(factory.timeoutInMs);     // redis throws error (WRONGPASS) if AUTH failed
+                } catch (IOException | RedisException e) {
+                    disconnect(socket, null);
+                    throw e;
+                }
+            }
+        }
+
+        private void read(SocketChannel socket) {
+            var stream = new RedisInputStream(Channels.newInputStream(socket));
+            try {
+                while (true) {
+                    Object reply;
+                    try {
+                        reply = Protocol.read(stream);
+                    } catch (RedisException e) {
+                        reply = e;
+                    }
+                    lastReadTime = System.nanoTime();
+                    Replies replies = pendingReplies.peek();
+                    if (replies == null) throw new IOException("received unexpected reply");
+                    if (replies.add(reply)) pendingReplies.poll();
+                }
+            } catch (IOException e) {
+                disconnect(socket, e);
+            }
+        }
+
+        // timed out caller behind slow requests does not break connection, reader keeps matching replies in order
+        boolean broken(Replies replies) {
+            return replies.sentTime - lastReadTime >= 0;
+        }
+
+        void disconnect(SocketChannel socket, IOException e) {
+            lock.lock();
+            try {
+                if (this.socket != socket) return;  // already disconnected by other thread
+                this.socket = null;
+                if (e != null && !closed) logger.warn(errorCode("BROKEN_POOL_CONNECTION"), "redis connection is broken, name={}, channel={}, error={}", name, index, e.getMessage(), e);
+                Pool.closeQuietly(socket);
+                var error = e != null ? e : new IOException("redis connection is closed, name=" + name);
+                while (true) {      // fail all pending replies of current socket, new requests are only sent after reconnecting
+                    Replies replies = pendingReplies.poll();
+                    if (replies == null) break;
+                    replies.fail(error);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            SocketChannel socket;
+            lock.lock();
+            try {
+                closed = true;
+                socket = this.socket;
+            } finally {
+                lock.unlock();
+            }
+            if (socket != null) disconnect(socket, null);
+        }
+    }
+
+    static final class Replies {
+        final SocketChannel socket;
+        final long sentTime = System.nanoTime();
+        private final Object[] values;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private int received;       // only accessed by reader thread
+        private int index;          // only accessed by caller thread
+        private volatile IOException error;
+
+        Replies(SocketChannel socket, int count) {
+            this.socket = socket;
+            values = new Object[count];
+        }
+
+        // return true if all replies are received
+        boolean add(Object reply) {
+            values[received++] = reply;
+            if (received == values.length) {
+                latch.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        void fail(IOException e) {
+            error = e;
+            latch.countDown();
+        }
+
+        boolean hasNext() {
+            return index < values.length;
+        }
+
+        Object next(long timeoutInMs) throws IOException {
+            try {
+                if (!latch.await(timeoutInMs, TimeUnit.MILLISECONDS)) throw new SocketTimeoutException("read timed out");
+            } catch (InterruptedException e) {
+                throw new Error("interrupted during waiting for redis reply", e);
+            }
+            if (error != null) throw error;
+            Object value = values[index++];
+            if (value instanceof RedisException e) throw e;
+            return value;
+        }
+    }
+
+    final class MultiplexedConnection extends RedisConnection {
+        private final Channel channel;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        private final Deque<Replies> replies = new ArrayDeque<>();
+        private int commands;
+
+        MultiplexedConnection(Channel channel) {
+            this.channel = channel;
+            outputStream = new RedisOutputStream(buffer, 512);
+        }
+
+        @Override
+        void writeArray(int length) throws IOException {
+            commands++;     // all commands start with array
+            super.writeArray(length);
+        }
+
+        @Override
+        void flush() throws IOException {
+            if (commands == 0) return;
+            outputStream.flush();
+            replies.add(channel.send(buffer.toByteArray(), commands));
+            buffer.reset();
+            commands = 0;
+        }
+
+        @Override
+        Object read() throws IOException {
+            Replies current = replies.peek();
+            if (current == null) throw new IOException("no pending reply");
+            try {
+                return current.next(factory.timeoutInMs);
+            } catch (SocketTimeoutException e) {
+                if (channel.broken(current)) channel.disconnect(current.socket, e);     // no reply since request was sent, same as socket read timeout
+                throw e;
+            } finally {
+                if (!current.hasNext()) replies.poll();
+            }
+        }
+    }
+}
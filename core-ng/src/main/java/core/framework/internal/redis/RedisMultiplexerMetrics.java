@@ -0,0 +1,21 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+/**
+ * @author neo
+ */
+public class RedisMultiplexerMetrics implements Metrics {
+    private final RedisMultiplexer multiplexer;
+
+    public RedisMultiplexerMetrics(RedisImpl redis) {
+        if (redis.multiplexer == null) throw new Error("redis multiplexer is not enabled");
+        this.multiplexer = redis.multiplexer;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        stats.put(multiplexer.name + "_pending_requests", multiplexer.pendingRequests());
+    }
+}
@@ -0,0 +1,380 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.log.filter.ArrayLogParam;
+import core.framework.internal.resource.PoolItem;
+import core.framework.log.ActionLogContext;
+import core.framework.redis.RedisPipeline;
+import core.framework.util.Maps;
+import core.framework.util.Sets;
+import core.framework.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static core.framework.internal.redis.Protocol.Command.DEL;
+import static core.framework.internal.redis.Protocol.Command.GET;
+import static core.framework.internal.redis.Protocol.Command.HDEL;
+import static core.framework.internal.redis.Protocol.Command.HGET;
+import static core.framework.internal.redis.Protocol.Command.HGETALL;
+import static core.framework.internal.redis.Protocol.Command.HINCRBY;
+import static core.framework.internal.redis.Protocol.Command.HMSET;
+import static core.framework.internal.redis.Protocol.Command.HSET;
+import static core.framework.internal.redis.Protocol.Command.INCRBY;
+import static core.framework.internal.redis.Protocol.Command.PEXPIRE;
+import static core.framework.internal.redis.Protocol.Command.SADD;
+import static core.framework.internal.redis.Protocol.Command.SCARD;
+import static core.framework.internal.redis.Protocol.Command.SET;
+import static core.framework.internal.redis.Protocol.Command.SISMEMBER;
+import static core.framework.internal.redis.Protocol.Command.SMEMBERS;
+import static core.framework.internal.redis.Protocol.Command.SREM;
+import static core.framework.internal.redis.Protocol.Command.ZADD;
+import static core.framework.internal.redis.Protocol.Command.ZINCRBY;
+import static core.framework.internal.redis.Protocol.Command.ZRANGE;
+import static core.framework.internal.redis.Protocol.Command.ZREM;
+import static core.framework.internal.redis.Protocol.Keyword.NX;
+import static core.framework.internal.redis.Protocol.Keyword.PX;
+import static core.framework.internal.redis.Protocol.Keyword.WITHSCORES;
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static core.framework.internal.redis.RedisEncodings.encode;
+import static core.framework.internal.redis.RedisEncodings.validate;
+
+/**
+ * @author neo
+ */
+public final class RedisPipelineImpl implements RedisPipeline {
+    private final Logger logger = LoggerFactory.getLogger(RedisPipelineImpl.class);
+    private final RedisImpl redis;
+    private final List<Command<?>> commands = new ArrayList<>();
+    private final HashCommands hash = new HashCommandsImpl();
+    private final SetCommands set = new SetCommandsImpl();
+    private final SortedSetCommands sortedSet = new SortedSetCommandsImpl();
+
+    RedisPipelineImpl(RedisImpl redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Supplier<String> get(String key) {
+        validate("key", key);
+        return add("get " + key, false, response -> decode((byte[]) response), GET, encode(key));
+    }
+
+    @Override
+    public Supplier<Boolean> set(String key, String value, Duration expiration, boolean onlyIfAbsent) {
+        validate("key", key);
+        validate("value", value);
+        byte[][] arguments = new byte[3 + (onlyIfAbsent ? 1 : 0) + (expiration != null ? 2 : 0)][];
+        arguments[0] = SET;
+        arguments[1] = encode(key);
+        arguments[2] = encode(value);
+        int index = 3;
+        if (onlyIfAbsent) arguments[index++] = NX;
+        if (expiration != null) {
+            long expirationTime = expiration.toMillis();
+            if (expirationTime <= 0) throw new Error("expiration time must be longer than 0ms");
+            arguments[index++] = PX;
+            arguments[index] = encode(expirationTime);
+        }
+        return add("set " + key, true, "OK"::equals, arguments);
+    }
+
+    @Override
+    public void expire(String key, Duration expiration) {
+        validate("key", key);
+        add("pexpire " + key, true, response -> response, PEXPIRE, encode(key), encode(expiration.toMillis()));
+    }
+
+    @Override
+    public Supplier<Long> del(String... keys) {
+        validate("keys", keys);
+        return add("del " + String.join(",", keys), true, response -> (Long) response, arguments(DEL, keys));
+    }
+
+    @Override
+    public Supplier<Long> increaseBy(String key, long increment) {
+        validate("key", key);
+        return add("incrby " + key, true, response -> (Long) response, INCRBY, encode(key), encode(increment));
+    }
+
+    @Override
+    public HashCommands hash() {
+        return hash;
+    }
+
+    @Override
+    public SetCommands set() {
+        return set;
+    }
+
+    @Override
+    public SortedSetCommands sortedSet() {
+        return sortedSet;
+    }
+
+    @Override
+    public void execute() {
+        int size = commands.size();
+        if (size == 0) return;
+
+        var watch = new StopWatch();
+        int readEntries = 0;
+        int writeEntries = 0;
+        PoolItem<RedisConnection> item = redis.borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            for (Command<?> command : commands) {
+                connection.writeArray(command.arguments.length);
+                for (byte[] argument : command.arguments) {
+                    connection.writeBlobString(argument);
+                }
+            }
+            connection.flush();
+            for (Command<?> command : commands) {   // read all replies, error reply only fails its own command
+                try {
+                    command.complete(connection.read());
+                } catch (RedisException e) {
+                    command.fail(e);
+                }
+                if (command.write) writeEntries++;
+                else readEntries++;
+            }
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            redis.returnItem(item);
+            long elapsed = watch.elapsed();
+            logger.debug("pipeline, commands={}, size={}, elapsed={}", new ArrayLogParam(descriptions()), size, elapsed);
+            ActionLogContext.track("redis", elapsed, readEntries, writeEntries);    // all commands are sent with one round trip
+            commands.clear();
+        }
+    }
+
+    private String[] descriptions() {
+        String[] descriptions = new String[commands.size()];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = commands.get(i).description;
+        }
+        return descriptions;
+    }
+
+    private <T> Command<T> add(String description, boolean write, Decoder<T> decoder, byte[]... arguments) {
+        var command = new Command<>(description, write, decoder, arguments);
+        commands.add(command);
+        return command;
+    }
+
+    private byte[][] arguments(byte[] command, String... keys) {
+        byte[][] arguments = new byte[1 + keys.length][];
+        arguments[0] = command;
+        for (int i = 0; i < keys.length; i++) {
+            arguments[i + 1] = encode(keys[i]);
+        }
+        return arguments;
+    }
+
+    private byte[][] arguments(byte[] command, String key, String... values) {
+        byte[][] arguments = new byte[2 + values.length][];
+        arguments[0] = command;
+        arguments[1] = encode(key);
+        for (int i = 0; i < values.length; i++) {
+            arguments[i + 2] = encode(values[i]);
+        }
+        return arguments;
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(Object response) throws IOException;
+    }
+
+    private static final class Command<T> implements Supplier<T> {
+        final String description;
+        final boolean write;
+        final byte[][] arguments;
+        private final Decoder<T> decoder;
+        private T result;
+        private RedisException error;
+        private boolean completed;
+
+        Command(String description, boolean write, Decoder<T> decoder, byte[][] arguments) {
+            this.description = description;
+            this.write = write;
+            this.decoder = decoder;
+            this.arguments = arguments;
+        }
+
+        void complete(Object response) throws IOException {
+            result = decoder.decode(response);
+            completed = true;
+        }
+
+        void fail(RedisException error) {
+            this.error = error;
+            completed = true;
+        }
+
+        @Override
+        public T get() {
+            if (!completed) throw new Error("pipeline is not executed, command=" + description);
+            if (error != null) throw new RedisException(error.getMessage() + ", command=" + description);
+            return result;
+        }
+    }
+
+    private final class HashCommandsImpl implements HashCommands {
+        @Override
+        public Supplier<String> get(String key, String field) {
+            validate("key", key);
+            validate("field", field);
+            return add("hget " + key, false, response -> decode((byte[]) response), HGET, encode(key), encode(field));
+        }
+
+        @Override
+        public Supplier<Map<String, String>> getAll(String key) {
+            validate("key", key);
+            return add("hgetall " + key, false, response -> {
+                Object[] values = (Object[]) response;
+                if (values.length % 2 != 0) throw new IOException("unexpected length of array, length=" + values.length);
+                Map<String, String> result = Maps.newHashMapWithExpectedSize(values.length / 2);
+                for (int i = 0; i < values.length; i += 2) {
+                    result.put(decode((byte[]) values[i]), decode((byte[]) values[i + 1]));
+                }
+                return result;
+            }, HGETALL, encode(key));
+        }
+
+        @Override
+        public void set(String key, String field, String value) {
+            validate("key", key);
+            validate("field", field);
+            validate("value", value);
+            add("hset " + key, true, response -> response, HSET, encode(key), encode(field), encode(value));
+        }
+
+        @Override
+        public void multiSet(String key, Map<String, String> values) {
+            validate("key", key);
+            validate("values", values);
+            byte[][] arguments = new byte[2 + values.size() * 2][];
+            arguments[0] = HMSET;
+            arguments[1] = encode(key);
+            int index = 2;
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                arguments[index++] = encode(entry.getKey());
+                arguments[index++] = encode(entry.getValue());
+            }
+            add("hmset " + key, true, response -> response, arguments);
+        }
+
+        @Override
+        public Supplier<Long> increaseBy(String key, String field, long increment) {
+            validate("key", key);
+            validate("field", field);
+            return add("hincrby " + key, true, response -> (Long) response, HINCRBY, encode(key), encode(field), encode(increment));
+        }
+
+        @Override
+        public Supplier<Long> del(String key, String... fields) {
+            validate("key", key);
+            validate("fields", fields);
+            return add("hdel " + key, true, response -> (Long) response, arguments(HDEL, key, fields));
+        }
+    }
+
+    private final class SetCommandsImpl implements SetCommands {
+        @Override
+        public Supplier<Long> add(String key, String... values) {
+            validate("key", key);
+            validate("values", values);
+            return RedisPipelineImpl.this.add("sadd " + key, true, response -> (Long) response, arguments(SADD, key, values));
+        }
+
+        @Override
+        public Supplier<Set<String>> members(String key) {
+            validate("key", key);
+            return RedisPipelineImpl.this.add("smembers " + key, false, response -> {
+                Object[] values = (Object[]) response;
+                Set<String> result = Sets.newHashSetWithExpectedSize(values.length);
+                for (Object value : values) {
+                    result.add(decode((byte[]) value));
+                }
+                return result;
+            }, SMEMBERS, encode(key));
+        }
+
+        @Override
+        public Supplier<Boolean> isMember(String key, String value) {
+            validate("key", key);
+            validate("value", value);
+            return RedisPipelineImpl.this.add("sismember " + key, false, response -> (Long) response == 1, SISMEMBER, encode(key), encode(value));
+        }
+
+        @Override
+        public Supplier<Long> remove(String key, String... values) {
+            validate("key", key);
+            validate("values", values);
+            return RedisPipelineImpl.this.add("srem " + key, true, response -> (Long) response, arguments(SREM, key, values));
+        }
+
+        @Override
+        public Supplier<Long> size(String key) {
+            validate("key", key);
+            return RedisPipelineImpl.this.add("scard " + key, false, response -> (Long) response, SCARD, encode(key));
+        }
+    }
+
+    private final class SortedSetCommandsImpl implements SortedSetCommands {
+        @Override
+        public Supplier<Integer> add(String key, Map<String, Long> values, boolean onlyIfAbsent) {
+            validate("key", key);
+            validate("values", values);
+            byte[][] arguments = new byte[2 + (onlyIfAbsent ? 1 : 0) + values.size() * 2][];
+            arguments[0] = ZADD;
+            arguments[1] = encode(key);
+            int index = 2;
+            if (onlyIfAbsent) arguments[index++] = NX;
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                arguments[index++] = encode(entry.getValue());
+                arguments[index++] = encode(entry.getKey());
+            }
+            return RedisPipelineImpl.this.add("zadd " + key, true, response -> ((Long) response).intValue(), arguments);
+        }
+
+        @Override
+        public Supplier<Long> increaseScoreBy(String key, String value, long increment) {
+            validate("key", key);
+            validate("value", value);
+            return RedisPipelineImpl.this.add("zincrby " + key, true, response -> (long) Double.parseDouble(decode((byte[]) response)), ZINCRBY, encode(key), encode(increment), encode(value));
+        }
+
+        @Override
+        public Supplier<Map<String, Long>> range(String key, long start, long stop) {
+            validate("key", key);
+            return RedisPipelineImpl.this.add("zrange " + key, false, response -> {
+                Object[] values = (Object[]) response;
+                if (values.length % 2 != 0) throw new IOException("unexpected length of array, length=" + values.length);
+                Map<String, Long> result = Maps.newLinkedHashMapWithExpectedSize(values.length / 2);
+                for (int i = 0; i < values.length; i += 2) {
+                    result.put(decode((byte[]) values[i]), (long) Double.parseDouble(decode((byte[]) values[i + 1])));
+                }
+                return result;
+            }, ZRANGE, encode(key), encode(start), encode(stop), WITHSCORES);
+        }
+
+        @Override
+        public Supplier<Long> remove(String key, String... values) {
+            validate("key", key);
+            validate("values", values);
+            return RedisPipelineImpl.this.add("zrem " + key, true, response -> (Long) response, arguments(ZREM, key, values));
+        }
+    }
+}
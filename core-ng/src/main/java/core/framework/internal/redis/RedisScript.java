@@ -0,0 +1,27 @@
+package core.framework.internal.redis;
+
+import core.framework.util.Strings;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * lua script with precomputed sha1, redis caches script by sha1, so only sha1 is sent with EVALSHA once script is loaded
+ *
+ * @author neo
+ */
+public final class RedisScript {
+    final byte[] body;
+    final byte[] sha1;
+
+    public RedisScript(String body) {
+        this.body = Strings.bytes(body);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");    // redis identifies script by sha1, lgtm[java/weak-cryptographic-algorithm]
+            sha1 = Strings.bytes(HexFormat.of().formatHex(digest.digest(this.body)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new Error(e);
+        }
+    }
+}
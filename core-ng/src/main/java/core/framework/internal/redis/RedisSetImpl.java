@@ -40,7 +40,7 @@ public final class RedisSetImpl implements RedisSet {
         validate("key", key);
         validate("values", values);
         long addedValues = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(SADD, key, values);
@@ -50,7 +50,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("sadd, key={}, values={}, size={}, elapsed={}", key, new ArrayLogParam(values), values.length, elapsed);
             ActionLogContext.track("redis", elapsed, 0, (int) addedValues);
@@ -62,7 +62,7 @@ public final class RedisSetImpl implements RedisSet {
         var watch = new StopWatch();
         validate("key", key);
         Set<String> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyCommand(SMEMBERS, key);
@@ -76,7 +76,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("smembers, key={}, returnedValues={}, elapsed={}", key, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -90,7 +90,7 @@ public final class RedisSetImpl implements RedisSet {
         validate("key", key);
         validate("value", value);
         boolean isMember = false;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(SISMEMBER, key, encode(value));
@@ -101,7 +101,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("sismember, key={}, value={}, isMember={}, elapsed={}", key, value, isMember, elapsed);
             ActionLogContext.track("redis", elapsed, 1, 0);
@@ -114,7 +114,7 @@ public final class RedisSetImpl implements RedisSet {
         validate("key", key);
         validate("values", values);
         long removedValues = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(SREM, key, values);
@@ -124,7 +124,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             int size = values.length;
             logger.debug("srem, key={}, values={}, size={}, removedValues={}, elapsed={}", key, new ArrayLogParam(values), size, removedValues, elapsed);
@@ -138,7 +138,7 @@ public final class RedisSetImpl implements RedisSet {
         validate("key", key);
         if (count <= 0) throw new Error("count must be greater than 0");
         Set<String> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(SPOP, key, encode(count));
@@ -152,7 +152,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("spop, key={}, count={}, returnedValues={}, elapsed={}", key, count, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -165,7 +165,7 @@ public final class RedisSetImpl implements RedisSet {
         var watch = new StopWatch();
         validate("key", key);
         long size = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyCommand(SCARD, key);
@@ -175,7 +175,7 @@ public final class RedisSetImpl implements RedisSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("scard, key={}, size={}, elapsed={}", key, size, elapsed);
             ActionLogContext.track("redis", elapsed, 1, 0);
@@ -43,7 +43,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         validate("key", key);
         validate("values", values);
         int added = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             int length = 2 + values.size() * 2;
@@ -63,7 +63,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("zadd, key={}, values={}, onlyIfAbsent={}, added={}, elapsed={}", key, values, onlyIfAbsent, added, elapsed);
             ActionLogContext.track("redis", elapsed, 0, added);
@@ -75,7 +75,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         var watch = new StopWatch();
         validate("key", key);
         validate("value", value);
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         long score = 0;
         try {
             RedisConnection connection = item.resource;
@@ -91,7 +91,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("zincrby, key={}, value={}, increment={}, score={}, elapsed={}", key, value, increment, score, elapsed);
             ActionLogContext.track("redis", elapsed, 0, 1);
@@ -103,7 +103,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         var watch = new StopWatch();
         validate("key", key);
         Map<String, Long> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeArray(5);
@@ -120,7 +120,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("zrange, key={}, start={}, stop={}, returnedValues={}, elapsed={}", key, start, stop, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -136,7 +136,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         if (maxScore < minScore) throw new Error("maxScore must be larger than minScore");
 
         Map<String, Long> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             Object[] response = rangeByScore(connection, key, minScore, maxScore, limit);
@@ -146,7 +146,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("zrangeByScore, key={}, minScore={}, maxScore={}, limit={}, returnedValues={}, elapsed={}", key, minScore, maxScore, limit, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -180,7 +180,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         int fetchedEntries = 0;
         Map<String, Long> values = null;
         int size = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             Object[] response = rangeByScore(connection, key, minScore, maxScore, -1);
@@ -202,7 +202,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("popByScore, key={}, minScore={}, maxScore={}, limit={}, returnedValues={}, size={}, elapsed={}", key, minScore, maxScore, limit, values, size, elapsed);
             ActionLogContext.track("redis", elapsed, fetchedEntries, size);
@@ -215,7 +215,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         validate("key", key);
         if (limit <= 0) throw new Error("limit must be greater than 0");
         Map<String, Long> values = null;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentCommand(ZPOPMIN, key, encode(limit));
@@ -226,7 +226,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             logger.debug("zpopmin, key={}, limit={}, returnedValues={}, elapsed={}", key, limit, values, elapsed);
             int readEntries = values == null ? 0 : values.size();
@@ -240,7 +240,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
         validate("key", key);
         validate("values", values);
         long removedValues = 0;
-        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        PoolItem<RedisConnection> item = redis.borrowItem();
         try {
             RedisConnection connection = item.resource;
             connection.writeKeyArgumentsCommand(ZREM, key, values);
@@ -250,7 +250,7 @@ public class RedisSortedSetImpl implements RedisSortedSet {
             item.broken = true;
             throw new UncheckedIOException(e);
         } finally {
-            redis.pool.returnItem(item);
+            redis.returnItem(item);
             long elapsed = watch.elapsed();
             int size = values.length;
             logger.debug("zrem, key={}, values={}, size={}, removedValues={}, elapsed={}", key, new ArrayLogParam(values), size, removedValues, elapsed);
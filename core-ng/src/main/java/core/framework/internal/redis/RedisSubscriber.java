@@ -0,0 +1,127 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.resource.Pool;
+import core.framework.util.Sets;
+import core.framework.util.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static core.framework.internal.redis.Protocol.Command.SUBSCRIBE;
+import static core.framework.internal.redis.Protocol.Command.UNSUBSCRIBE;
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static core.framework.internal.redis.RedisEncodings.encode;
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * subscribe channels with dedicated connection, redis pub/sub is fire and forget, messages published during reconnecting are lost,
+ * channels can be subscribed/unsubscribed at runtime, all channels are subscribed again after reconnecting
+ *
+ * @author neo
+ */
+public final class RedisSubscriber {
+    private final Logger logger = LoggerFactory.getLogger(RedisSubscriber.class);
+    private final RedisConnectionFactory connectionFactory;
+    private final Set<String> channels = Sets.newConcurrentHashSet();
+    private final BiConsumer<String, byte[]> listener;
+    private final Thread subscriberThread;
+    private final ReentrantLock lock = new ReentrantLock();     // subscribe/unsubscribe are written by caller thread while subscriber thread is reading
+    private volatile boolean stop;
+    private volatile RedisConnection connection;
+
+    public RedisSubscriber(RedisImpl redis, String channel, Consumer<byte[]> listener) {
+        this(redis, channel, (subscribedChannel, message) -> listener.accept(message));
+        channels.add(channel);
+    }
+
+    public RedisSubscriber(RedisImpl redis, String name, BiConsumer<String, byte[]> listener) {
+        connectionFactory = redis.connectionFactory;
+        this.listener = listener;
+        subscriberThread = Thread.ofPlatform().name("redis-subscriber-" + name).daemon(true).unstarted(this::process);
+    }
+
+    public void start() {
+        subscriberThread.start();
+    }
+
+    public void close() {
+        logger.info("close redis subscriber, channels={}", channels);
+        stop = true;
+        RedisConnection connection = this.connection;
+        if (connection != null) Pool.closeQuietly(connection);    // interrupt blocking read
+    }
+
+    // subscribed is evaluated with lock, so concurrent calls for same channel converge to latest state of caller,
+    // caller can change its own state with its lock and call this after releasing it
+    public void sync(String channel, BooleanSupplier subscribed) {
+        lock.lock();
+        try {
+            if (subscribed.getAsBoolean()) {
+                if (channels.add(channel)) write(SUBSCRIBE, channel);
+            } else {
+                if (channels.remove(channel)) write(UNSUBSCRIBE, channel);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // if not connected, channel will be subscribed once connected
+    private void write(byte[] command, String channel) {
+        RedisConnection connection = this.connection;
+        if (connection == null) return;
+        try {
+            connection.writeKeyCommand(command, channel);
+        } catch (IOException e) {
+            logger.warn(errorCode("REDIS_SUBSCRIBER_FAILED"), "failed to write to redis subscriber connection, channel={}, error={}", channel, e.getMessage(), e);
+            Pool.closeQuietly(connection);     // reconnect and subscribe all channels
+        }
+    }
+
+    private void process() {
+        while (!stop) {
+            try (RedisConnection connection = connectionFactory.get()) {
+                subscribe(connection);
+                while (!stop) {
+                    Object[] reply = connection.readArray();     // ["message", channel, payload] or ["subscribe"/"unsubscribe", channel, count]
+                    if ("message".equals(decode((byte[]) reply[0]))) {
+                        listener.accept(decode((byte[]) reply[1]), (byte[]) reply[2]);
+                    }
+                }
+            } catch (Throwable e) {
+                if (!stop) {
+                    logger.warn(errorCode("REDIS_SUBSCRIBER_FAILED"), "failed to subscribe redis channels, retry in 5 seconds, channels={}, error={}", channels, e.getMessage(), e);
+                    Threads.sleepRoughly(Duration.ofSeconds(5));
+                }
+            } finally {
+                this.connection = null;
+            }
+        }
+    }
+
+    private void subscribe(RedisConnection connection) throws IOException {
+        connection.readTimeout(0);  // wait for messages without timeout, broken connection is detected by keep alive
+        lock.lock();
+        try {
+            if (!channels.isEmpty()) {
+                connection.writeArray(1 + channels.size());
+                connection.writeBlobString(SUBSCRIBE);
+                for (String channel : channels) {
+                    connection.writeBlobString(encode(channel));
+                }
+                connection.flush();
+            }
+            this.connection = connection;
+        } finally {
+            lock.unlock();
+        }
+        logger.info("subscribed redis channels, channels={}, host={}", channels, connectionFactory.host);
+    }
+}
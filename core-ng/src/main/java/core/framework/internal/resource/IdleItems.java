@@ -0,0 +1,94 @@
+package core.framework.internal.resource;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * idle items are split into stripes to reduce contention, each stripe is lock free LIFO stack,
+ * borrower polls stripe of current thread first then steals from others, so borrow and return don't contend on single lock,
+ * if pool is exhausted, returned item is handed off to waiting borrower directly, similar to HikariCP ConcurrentBag
+ *
+ * @author neo
+ */
+final class IdleItems<T extends AutoCloseable> {
+    private final ConcurrentLinkedDeque<PoolItem<T>>[] stripes;
+    private final int mask;
+    private final SynchronousQueue<PoolItem<T>> handoffQueue = new SynchronousQueue<>(true);     // fair, longest waiter gets item first
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    IdleItems(int concurrency) {
+        int length = Integer.highestOneBit(Math.max(concurrency, 1) * 2 - 1);     // floor power of two of (2 * concurrency - 1) is ceiling power of two
+        stripes = (ConcurrentLinkedDeque<PoolItem<T>>[]) new ConcurrentLinkedDeque<?>[length];
+        for (int i = 0; i < length; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        mask = length - 1;
+    }
+
+    PoolItem<T> poll() {
+        int start = stripe();
+        for (int i = 0; i <= mask; i++) {
+            PoolItem<T> item = stripes[(start + i) & mask].pollFirst();
+            if (item != null) return item;
+        }
+        return null;
+    }
+
+    // register as waiter before scanning stripes, push() checks waiters after publishing item, so item won't be missed in between
+    PoolItem<T> poll(long timeoutInMs) throws InterruptedException {
+        waiters.incrementAndGet();
+        try {
+            PoolItem<T> item = poll();
+            if (item != null) return item;
+            return handoffQueue.poll(timeoutInMs, TimeUnit.MILLISECONDS);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    void push(PoolItem<T> item) {
+        stripes[stripe()].offerFirst(item);
+        while (waiters.get() > 0) {
+            PoolItem<T> idleItem = poll();
+            if (idleItem == null) return;       // taken by waiter or other borrower
+            if (handoffQueue.offer(idleItem)) return;
+            stripes[stripe()].offerFirst(idleItem);     // waiter is scanning stripes, not waiting on handoff queue yet
+            Thread.yield();
+        }
+    }
+
+    // remove items from tail of each stripe, which are least recently returned
+    void evict(Predicate<PoolItem<T>> expired, Consumer<PoolItem<T>> closer) {
+        for (ConcurrentLinkedDeque<PoolItem<T>> stripe : stripes) {
+            Iterator<PoolItem<T>> iterator = stripe.descendingIterator();
+            while (iterator.hasNext()) {
+                PoolItem<T> item = iterator.next();
+                if (!expired.test(item)) break;
+                if (stripe.removeLastOccurrence(item)) closer.accept(item);     // only close if not borrowed in between
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentLinkedDeque<PoolItem<T>> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    int waiters() {
+        return waiters.get();
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+}
@@ -5,10 +5,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
-import java.util.Iterator;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -38,7 +34,8 @@ public class Pool<T extends AutoCloseable> {
         }
     }
 
-    final BlockingDeque<PoolItem<T>> idleItems = new LinkedBlockingDeque<>();
+    final IdleItems<T> idleItems = new IdleItems<>(Math.min(Runtime.getRuntime().availableProcessors(), 16));
+    final WaitHistogram borrowWaits = new WaitHistogram();     // only borrows waiting for returned item when pool is full
     final String name;
     final AtomicInteger size = new AtomicInteger(0);
     private final Supplier<T> factory;
@@ -115,13 +112,15 @@ public class Pool<T extends AutoCloseable> {
     private PoolItem<T> waitNextAvailableItem() {
         var watch = new StopWatch();
         try {
-            PoolItem<T> item = idleItems.poll(checkoutTimeoutInMs, TimeUnit.MILLISECONDS);
+            PoolItem<T> item = idleItems.poll(checkoutTimeoutInMs);
             if (item == null) throw new PoolException("timeout to wait for next available resource", "POOL_TIME_OUT");
             return item;
         } catch (InterruptedException e) {
             throw new Error("interrupted during waiting for next available resource", e);
         } finally {
-            LOGGER.debug("wait for next available resource, pool={}, elapsed={}", name, watch.elapsed());
+            long elapsed = watch.elapsed();
+            borrowWaits.record(elapsed);
+            LOGGER.debug("wait for next available resource, pool={}, elapsed={}", name, elapsed);
         }
     }
 
@@ -155,20 +154,9 @@ public class Pool<T extends AutoCloseable> {
     }
 
     private void evictIdleItems() {
-        Iterator<PoolItem<T>> iterator = idleItems.descendingIterator();
         long maxIdleTimeInMs = maxIdleTime.toMillis();
         long now = System.currentTimeMillis();
-
-        while (iterator.hasNext()) {
-            PoolItem<T> item = iterator.next();
-            if (now - item.returnTime >= maxIdleTimeInMs) {
-                boolean removed = idleItems.remove(item);
-                if (!removed) return;
-                closeItem(item);
-            } else {
-                return;
-            }
-        }
+        idleItems.evict(item -> now - item.returnTime >= maxIdleTimeInMs, this::closeItem);
     }
 
     private void replenish() {
@@ -17,6 +17,18 @@ public class PoolMetrics implements Metrics {
     public void collect(Stats stats) {
         stats.put(statName("total_count"), pool.totalCount());
         stats.put(statName("active_count"), pool.activeCount());
+        stats.put(statName("waiting_count"), pool.idleItems.waiters());
+        collectBorrowWaits(stats);
+    }
+
+    // number of borrows waited for returned item since last collection, by elapsed time, to show contention
+    private void collectBorrowWaits(Stats stats) {
+        WaitHistogram histogram = pool.borrowWaits;
+        for (int i = 0; i < WaitHistogram.BOUNDS_IN_MS.length; i++) {
+            stats.put(statName("borrow_wait_le_" + WaitHistogram.BOUNDS_IN_MS[i] + "ms"), histogram.counts[i].sumThenReset());
+        }
+        long maxBound = WaitHistogram.BOUNDS_IN_MS[WaitHistogram.BOUNDS_IN_MS.length - 1];
+        stats.put(statName("borrow_wait_gt_" + maxBound + "ms"), histogram.counts[WaitHistogram.BOUNDS_IN_MS.length].sumThenReset());
     }
 
     String statName(String statName) {
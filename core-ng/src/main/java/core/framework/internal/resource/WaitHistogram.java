@@ -0,0 +1,28 @@
+package core.framework.internal.resource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * count of waits in buckets of elapsed time, last bucket counts waits longer than max bound
+ *
+ * @author neo
+ */
+final class WaitHistogram {
+    static final long[] BOUNDS_IN_MS = {1, 10, 100, 1000};
+
+    final LongAdder[] counts = new LongAdder[BOUNDS_IN_MS.length + 1];
+
+    WaitHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long elapsedInNanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS_IN_MS.length && elapsedInNanos > BOUNDS_IN_MS[bucket] * 1_000_000) {
+            bucket++;
+        }
+        counts[bucket].increment();
+    }
+}
@@ -0,0 +1,95 @@
+package core.framework.internal.web;
+
+import core.framework.web.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * limit concurrent requests of each route, so one slow route won't take all capacity of server,
+ * limit of each route adapts by AIMD, starts with max, decreases 10% if request takes longer than latency (at most once per round trip),
+ * and increases by 1 about every limit successful requests when limit is being used,
+ * request exceeds limit is rejected with 503 right away instead of waiting
+ *
+ * @author neo
+ */
+public final class ConcurrencyLimiter {
+    final Map<String, Limit> limits = new ConcurrentHashMap<>();   // key is action, routes are bounded
+    final int maxLimit;
+    private final Map<String, Integer> routeMaxLimits = new HashMap<>();   // only modified during config
+    private final long latencyInNano;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimiter(int maxLimit, Duration latency) {
+        this.maxLimit = maxLimit;
+        latencyInNano = latency.toNanos();
+        retryAfter = Duration.ofSeconds(Math.max(1, (latency.toMillis() + 999) / 1000));
+    }
+
+    // override max limit of route, e.g. lower for expensive route, or higher for cheap route
+    public void maxLimit(String action, int maxLimit) {
+        routeMaxLimits.put(action, maxLimit);
+    }
+
+    Limit acquire(String action) {
+        Limit limit = limits.computeIfAbsent(action, key -> new Limit(routeMaxLimits.getOrDefault(key, maxLimit), latencyInNano));
+        if (!limit.tryAcquire()) {
+            throw new ServiceUnavailableException("too many concurrent requests, action=" + action + ", limit=" + limit.limit(), retryAfter);
+        }
+        return limit;
+    }
+
+    static final class Limit {
+        final LongAdder shed = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger limit;
+        private final AtomicLong lastDecreaseTime = new AtomicLong(System.nanoTime());
+        final int maxLimit;
+        private final long latencyInNano;
+
+        Limit(int maxLimit, long latencyInNano) {
+            this.maxLimit = maxLimit;
+            this.latencyInNano = latencyInNano;
+            limit = new AtomicInteger(maxLimit);
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit.get()) {
+                    shed.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        void release(long startTime, long endTime) {
+            int current = inFlight.getAndDecrement();
+            int limit = this.limit.get();
+            if (endTime - startTime > latencyInNano) {
+                long lastDecreaseTime = this.lastDecreaseTime.get();
+                // only requests started after last decrease reflect current limit, this is to avoid concurrent slow requests collapse limit at once
+                if (startTime > lastDecreaseTime && this.lastDecreaseTime.compareAndSet(lastDecreaseTime, endTime)) {
+                    this.limit.compareAndSet(limit, Math.max(1, (int) (limit * 0.9)));
+                }
+            } else if (limit < maxLimit && current * 2 >= limit && ThreadLocalRandom.current().nextInt(limit) == 0) {   // only grow if limit is used, not to grow unbounded when idle
+                this.limit.compareAndSet(limit, limit + 1);
+            }
+        }
+
+        int limit() {
+            return limit.get();
+        }
+
+        int inFlight() {
+            return inFlight.get();
+        }
+    }
+}
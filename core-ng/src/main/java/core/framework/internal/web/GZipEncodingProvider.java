@@ -0,0 +1,110 @@
+package core.framework.internal.web;
+
+import io.undertow.conduits.GzipStreamSinkConduit;
+import io.undertow.server.ConduitWrapper;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.encoding.ContentEncodingProvider;
+import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
+import io.undertow.util.ConduitFactory;
+import io.undertow.util.ObjectPool;
+import org.xnio.conduits.AbstractStreamSinkConduit;
+import org.xnio.conduits.StreamSinkConduit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * gzip dynamic response with pooled deflaters, undertow default provider creates new deflater (with native memory) for every response,
+ * tracks bytes before/after compression and time spent on compression
+ *
+ * @author neo
+ */
+public final class GZipEncodingProvider implements ContentEncodingProvider {
+    final LongAdder count = new LongAdder();
+    final LongAdder inputBytes = new LongAdder();
+    final LongAdder outputBytes = new LongAdder();
+    final LongAdder elapsed = new LongAdder();
+    private final ObjectPool<Deflater> deflaterPool;
+
+    public GZipEncodingProvider(int poolSize) {
+        deflaterPool = DeflateEncodingProvider.simpleDeflaterPool(poolSize, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Override
+    public ConduitWrapper<StreamSinkConduit> getResponseWrapper() {
+        return this::wrap;
+    }
+
+    private StreamSinkConduit wrap(ConduitFactory<StreamSinkConduit> factory, HttpServerExchange exchange) {
+        count.increment();
+        return new TrackedGZipStreamSinkConduit(() -> new CountingStreamSinkConduit(factory.create()), exchange);
+    }
+
+    private final class TrackedGZipStreamSinkConduit extends GzipStreamSinkConduit {
+        TrackedGZipStreamSinkConduit(ConduitFactory<StreamSinkConduit> factory, HttpServerExchange exchange) {
+            super(factory, exchange, deflaterPool);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            long start = System.nanoTime();
+            int written = super.write(src);
+            elapsed.add(System.nanoTime() - start);
+            inputBytes.add(written);
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long start = System.nanoTime();
+            long written = super.write(srcs, offset, length);
+            elapsed.add(System.nanoTime() - start);
+            inputBytes.add(written);
+            return written;
+        }
+
+        @Override
+        public boolean flush() throws IOException {     // remaining data is deflated on flush after terminateWrites()
+            long start = System.nanoTime();
+            boolean flushed = super.flush();
+            elapsed.add(System.nanoTime() - start);
+            return flushed;
+        }
+    }
+
+    private final class CountingStreamSinkConduit extends AbstractStreamSinkConduit<StreamSinkConduit> {
+        CountingStreamSinkConduit(StreamSinkConduit next) {
+            super(next);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = super.write(src);
+            outputBytes.add(written);
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long written = super.write(srcs, offset, length);
+            outputBytes.add(written);
+            return written;
+        }
+
+        @Override
+        public int writeFinal(ByteBuffer src) throws IOException {
+            int written = super.writeFinal(src);
+            outputBytes.add(written);
+            return written;
+        }
+
+        @Override
+        public long writeFinal(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long written = super.writeFinal(srcs, offset, length);
+            outputBytes.add(written);
+            return written;
+        }
+    }
+}
@@ -12,15 +12,20 @@ import java.util.Set;
  * @author neo
  */
 public class GZipPredicate implements Predicate {
-    // from test, roughly the compressed value becomes smaller after text larger than 100B,
-    // by considering gzip cpu/ram overhead, use 200B as threshold
-    private static final int MIN_GZIP_LENGTH = 200;
     private final Set<String> gzipContentTypes = Set.of(ContentType.TEXT_PLAIN.toString(),
             ContentType.TEXT_HTML.toString(),
             ContentType.TEXT_CSS.toString(),
             ContentType.TEXT_XML.toString(),
             ContentType.APPLICATION_JSON.toString(),
-            ContentType.APPLICATION_JAVASCRIPT.toString());
+            ContentType.APPLICATION_JAVASCRIPT.toString(),
+            ContentType.APPLICATION_NDJSON.toString());
+    private final int minLength;
+
+    // from test, roughly the compressed value becomes smaller after text larger than 100B,
+    // by considering gzip cpu/ram overhead, default is 200B, refer to core.framework.internal.web.HTTPServerConfig.gzipMinLength
+    public GZipPredicate(int minLength) {
+        this.minLength = minLength;
+    }
 
     @Override
     public boolean resolve(HttpServerExchange exchange) {
@@ -29,9 +34,10 @@ public class GZipPredicate implements Predicate {
     }
 
     boolean resolve(HeaderMap headers) {
+        if (headers.contains(Headers.CONTENT_ENCODING) || headers.contains(Headers.CONTENT_RANGE)) return false;     // e.g. precompressed or partial static content
         String contentType = headers.getFirst(Headers.CONTENT_TYPE);
         if (contentType == null || !gzipContentTypes.contains(contentType)) return false;
         String length = headers.getFirst(Headers.CONTENT_LENGTH);
-        return length == null || Long.parseLong(length) > MIN_GZIP_LENGTH;
+        return length == null || Long.parseLong(length) > minLength;
     }
 }
@@ -3,6 +3,7 @@ package core.framework.internal.web;
 import core.framework.api.http.HTTPStatus;
 import core.framework.api.web.service.ResponseStatus;
 import core.framework.http.ContentType;
+import core.framework.http.HTTPHeaders;
 import core.framework.internal.log.ActionLog;
 import core.framework.internal.web.request.RequestImpl;
 import core.framework.internal.web.response.ResponseHandler;
@@ -15,6 +16,7 @@ import core.framework.log.Severity;
 import core.framework.util.Exceptions;
 import core.framework.web.ErrorHandler;
 import core.framework.web.Response;
+import core.framework.web.exception.ServiceUnavailableException;
 import core.framework.web.service.RemoteServiceException;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderMap;
@@ -47,6 +49,8 @@ public class HTTPErrorHandler {
             Response errorResponse = null;
             if (customErrorHandler != null) errorResponse = customErrorHandler.handle(request, e).orElse(null);
             if (errorResponse == null) errorResponse = defaultErrorResponse(e, exchange, actionLog);
+            if (e instanceof ServiceUnavailableException exception && exception.retryAfter != null && errorResponse.header(HTTPHeaders.RETRY_AFTER).isEmpty())
+                errorResponse.header(HTTPHeaders.RETRY_AFTER, String.valueOf(exception.retryAfter.toSeconds()));
             responseHandler.render(request, (ResponseImpl) errorResponse, exchange, actionLog);
         } catch (Throwable error) {
             logger.error(error.getMessage(), error);
@@ -52,6 +52,7 @@ public class HTTPHandler implements HttpHandler {
     private final Semaphore semaphore = new Semaphore(Runtime.getRuntime().availableProcessors() * 32);
 
     public Interceptor[] interceptors;
+    public ConcurrencyLimiter concurrencyLimiter;
     public long maxProcessTimeInNano = Duration.ofSeconds(30).toNanos();    // the default backend timeout of popular cloud lb (gcloud/azure) is 30s
 
     HTTPHandler(LogManager logManager, SessionManager sessionManager, TemplateManager templateManager, HTTPHandlerContext handlerContext) {
@@ -73,11 +74,13 @@ public class HTTPHandler implements HttpHandler {
     }
 
     private void handle(HttpServerExchange exchange) {
-        semaphore.acquireUninterruptibly();
         VirtualThread.COUNT.increase();
         long httpDelay = System.nanoTime() - exchange.getRequestStartTime();
         ActionLog actionLog = logManager.begin("=== http transaction begin ===", null);
         var request = new RequestImpl(exchange, handlerContext.requestBeanReader);
+        ConcurrencyLimiter.Limit limit = null;
+        long limitStartTime = 0;
+        boolean permitted = false;
         try {
             webContext.initialize(request);
 
@@ -97,6 +100,14 @@ public class HTTPHandler implements HttpHandler {
             logger.debug("controller={}", controller.controllerInfo);
             if (controller.warnings != null) actionLog.initializeWarnings(controller.warnings);
 
+            if (concurrencyLimiter != null && !controller.skipInterceptor) {    // not limit internal controllers, e.g. /_sys/
+                limit = concurrencyLimiter.acquire(controller.action);
+                limitStartTime = System.nanoTime();
+            }
+            // acquire global permit after route limit, so request over route limit is rejected right away instead of waiting for permit
+            semaphore.acquireUninterruptibly();
+            permitted = true;
+
             request.session = sessionManager.load(request, actionLog);  // load session as late as possible, so for sniffer/scan request with sessionId, it won't call redis every time even for 404/405
 
             Response response = new InvocationImpl(controller, interceptors, request, webContext).proceed();
@@ -110,10 +121,11 @@ public class HTTPHandler implements HttpHandler {
         } finally {
             // refer to io.undertow.io.AsyncSenderImpl.send(java.nio.ByteBuffer, io.undertow.io.IoCallback),
             // sender.send() will write response until can't write more, then call channel.resumeWrites(), which will resume after this finally block finished, so this can be small delay
+            if (limit != null) limit.release(limitStartTime, System.nanoTime());
             webContext.cleanup();
             logManager.end("=== http transaction end ===");
             VirtualThread.COUNT.decrease();
-            semaphore.release();
+            if (permitted) semaphore.release();
         }
     }
 
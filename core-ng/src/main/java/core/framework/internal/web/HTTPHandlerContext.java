@@ -1,6 +1,7 @@
 package core.framework.internal.web;
 
 import core.framework.internal.web.bean.RequestBeanReader;
+import core.framework.internal.web.bus.GroupBus;
 import core.framework.internal.web.http.IPv4AccessControl;
 import core.framework.internal.web.http.RateControl;
 import core.framework.internal.web.request.RequestParser;
@@ -11,6 +12,7 @@ public class HTTPHandlerContext {
     public final RequestParser requestParser = new RequestParser();
     public final RequestBeanReader requestBeanReader = new RequestBeanReader();
     public final RateControl rateControl = new RateControl();
+    public final GroupBus groupBus = new GroupBus();
     @Nullable
     public IPv4AccessControl accessControl;
 }
@@ -1,5 +1,6 @@
 package core.framework.internal.web;
 
+import core.framework.http.HTTPMethod;
 import core.framework.internal.web.request.RequestBodyReader;
 import core.framework.internal.web.sse.ServerSentEventHandler;
 import core.framework.internal.web.websocket.WebSocketHandler;
@@ -61,6 +62,11 @@ public class HTTPIOHandler implements HttpHandler {
         if (shutdown) return;
 
         if (hasBody(contentLength, method)) {    // parse body early, not process until body is read (e.g. for chunked), to save one blocking thread during read
+            if (handler.route.streamingBody(path, HTTPMethod.valueOf(method.toString()))) {    // controller reads body as stream in virtual thread
+                exchange.dispatch(handler);
+                return;
+            }
+
             FormDataParser parser = formParserFactory.createParser(exchange);   // no need to close, refer to io.undertow.server.handlers.form.MultiPartParserDefinition.create, it closes on ExchangeCompletionListener
             if (parser != null) {
                 parser.parse(handler);
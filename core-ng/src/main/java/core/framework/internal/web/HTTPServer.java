@@ -12,7 +12,6 @@ import io.undertow.UndertowOptions;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.EncodingHandler;
-import io.undertow.server.handlers.encoding.GzipEncodingProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xnio.Options;
@@ -43,6 +42,7 @@ public class HTTPServer {
 
     public WebSocketHandler webSocketHandler;
     public ServerSentEventHandler sseHandler;
+    GZipEncodingProvider gzipEncodingProvider;
     private Undertow server;
 
     public HTTPServer(LogManager logManager) {
@@ -94,9 +94,10 @@ public class HTTPServer {
     private HttpHandler handler(HTTPServerConfig config) {
         HttpHandler handler = new HTTPIOHandler(this.handler, shutdownHandler, config.maxEntitySize, sseHandler, webSocketHandler);
         if (config.gzip) {
-            // only support gzip, deflate is less popular
+            // only support gzip, deflate is less popular, br/zstd are only served by precompressed static content
+            gzipEncodingProvider = new GZipEncodingProvider(Runtime.getRuntime().availableProcessors() * 2);
             handler = new EncodingHandler(handler, new ContentEncodingRepository()
-                .addEncodingHandler("gzip", new GzipEncodingProvider(), 100, new GZipPredicate()));
+                .addEncodingHandler("gzip", gzipEncodingProvider, 100, new GZipPredicate(config.gzipMinLength)));
         }
         return handler;
     }
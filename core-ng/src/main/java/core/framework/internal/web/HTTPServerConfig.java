@@ -13,6 +13,7 @@ public class HTTPServerConfig {
     public HTTPHost httpHost;
     public HTTPHost httpsHost;
     public boolean gzip;
+    public int gzipMinLength = 200;     // only compress dynamic response with content length larger than this
     public long maxEntitySize = 10_000_000;    // limit max post body to 10M, apply to multipart as well
 
     public HTTPHost httpsHost() {
@@ -2,6 +2,9 @@ package core.framework.internal.web;
 
 import core.framework.internal.stat.Metrics;
 import core.framework.internal.stat.Stats;
+import core.framework.util.ASCII;
+
+import java.util.Map;
 
 /**
  * @author neo
@@ -17,5 +20,52 @@ public class HTTPServerMetrics implements Metrics {
     public void collect(Stats stats) {
         int activeRequests = server.shutdownHandler.activeRequests.max();
         stats.put("http_active_requests", activeRequests);
+
+        GZipEncodingProvider gzip = server.gzipEncodingProvider;
+        if (gzip != null) {
+            long count = gzip.count.sumThenReset();
+            long inputBytes = gzip.inputBytes.sumThenReset();
+            long outputBytes = gzip.outputBytes.sumThenReset();
+            long elapsed = gzip.elapsed.sumThenReset();
+            stats.put("http_compressed_responses", count);
+            stats.put("http_compression_elapsed", elapsed);
+            if (inputBytes > 0) stats.put("http_compression_ratio", (double) outputBytes / inputBytes);
+        }
+
+        ConcurrencyLimiter limiter = server.handler.concurrencyLimiter;
+        if (limiter != null) collect(stats, limiter);
+    }
+
+    // limits are only created for requested routes, which are bounded
+    private void collect(Stats stats, ConcurrencyLimiter limiter) {
+        long totalShed = 0;
+        for (Map.Entry<String, ConcurrencyLimiter.Limit> entry : limiter.limits.entrySet()) {
+            ConcurrencyLimiter.Limit limit = entry.getValue();
+            long shed = limit.shed.sumThenReset();
+            totalShed += shed;
+            String route = routeName(entry.getKey());
+            stats.put("http_route_" + route + "_limit", limit.limit());
+            stats.put("http_route_" + route + "_in_flight", limit.inFlight());
+            stats.put("http_route_" + route + "_shed", shed);
+        }
+        stats.put("http_shed_requests", totalShed);
+    }
+
+    // convert action to stat key, e.g. http:get:/user/:id or api:get:/user/:id to get_user_id
+    String routeName(String action) {
+        var builder = new StringBuilder(action.length());
+        boolean separator = false;
+        int start = action.startsWith("http:") ? 5 : action.startsWith("api:") ? 4 : 0;
+        for (int i = start; i < action.length(); i++) {
+            char ch = ASCII.toLowerCase(action.charAt(i));
+            if (ASCII.isLetter(ch) || ASCII.isDigit(ch)) {
+                if (separator && !builder.isEmpty()) builder.append('_');
+                builder.append(ch);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return builder.toString();
     }
 }
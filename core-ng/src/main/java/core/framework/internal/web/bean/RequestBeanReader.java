@@ -1,5 +1,8 @@
 package core.framework.internal.web.bean;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import core.framework.api.web.service.QueryParam;
 import core.framework.internal.bean.BeanClassNameValidator;
 import core.framework.internal.bean.BeanClassValidator;
@@ -10,8 +13,10 @@ import core.framework.util.Maps;
 import core.framework.web.exception.BadRequestException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @author neo
@@ -62,6 +67,21 @@ public class RequestBeanReader {    // used by controller and web service
         return bean;
     }
 
+    // read json array incrementally, only one bean is held in memory
+    public <T> void forEach(Class<T> beanClass, InputStream stream, Consumer<T> consumer) throws IOException {
+        BeanContext<T> context = context(beanContext, beanClass, false);
+        try (JsonParser parser = JSONMapper.OBJECT_MAPPER.createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) throw new JsonParseException(parser, "body must be json array");
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                T bean = context.reader.fromJSON(parser);
+                context.validator.validate(bean, false);
+                consumer.accept(bean);
+            }
+            if (token != JsonToken.END_ARRAY) throw new JsonParseException(parser, "array item must be json object");
+        }
+    }
+
     private <T> T context(Map<Class<?>, ?> context, Class<?> beanClass, boolean expectQueryParam) {
         @SuppressWarnings("unchecked")
         T result = (T) context.get(beanClass);
@@ -37,6 +37,11 @@ public class ResponseBeanWriter {   // used by controller and web service
         return context.containsKey(beanClass);
     }
 
+    // stream response validates item class before response is committed
+    public void validateBeanClass(Class<?> beanClass) {
+        context(context, beanClass);
+    }
+
     public byte[] toJSON(Object bean) {
         if (bean instanceof Optional<?> optional) {  // only support Optional<T> as response bean type
             if (optional.isEmpty()) return Strings.bytes("null");
@@ -0,0 +1,197 @@
+package core.framework.internal.web.bus;
+
+import core.framework.internal.binary.BinaryReader;
+import core.framework.internal.binary.BinaryWriter;
+import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisSubscriber;
+import core.framework.internal.resource.PoolException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * deliver ws/sse group messages to all nodes via redis pub/sub, each group is one redis channel,
+ * node only subscribes groups which have local channels, so cross node traffic is proportional to actual subscribers,
+ * messages are encoded once by publisher, and sent in batch per group by one publisher thread,
+ * without redis configured, it's no-op, and group messages are only delivered locally
+ *
+ * @author neo
+ */
+public final class GroupBus {
+    static final String CHANNEL_PREFIX = "group-bus:";
+    private static final int MAX_BATCH_SIZE = 500;
+
+    final String id = UUID.randomUUID().toString();    // to skip messages sent by self, which are delivered locally
+    final LongAdder publishedMessages = new LongAdder();
+    final LongAdder receivedMessages = new LongAdder();
+    final LongAdder droppedMessages = new LongAdder();
+    final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();    // key is redis channel
+    private final Logger logger = LoggerFactory.getLogger(GroupBus.class);
+    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>(10_000);     // to protect memory if redis is slow
+    private final ReentrantLock lock = new ReentrantLock();
+    private RedisImpl redis;
+    private RedisSubscriber subscriber;
+    private Thread publisherThread;
+    private volatile boolean stop;
+
+    public void redis(RedisImpl redis) {
+        this.redis = redis;
+        subscriber = new RedisSubscriber(redis, "group-bus", this::onMessage);
+        publisherThread = Thread.ofPlatform().name("group-bus-publisher").daemon(true).unstarted(this::process);
+    }
+
+    public boolean enabled() {
+        return redis != null;
+    }
+
+    public void start() {
+        if (redis == null) return;
+        subscriber.start();
+        publisherThread.start();
+    }
+
+    public void close() {
+        if (redis == null) return;
+        logger.info("close group bus");
+        stop = true;
+        publisherThread.interrupt();
+        subscriber.close();
+    }
+
+    public void subscribe(String scope, String group, Listener listener) {
+        if (redis == null) return;
+        String channel = channel(scope, group);
+        boolean added;
+        lock.lock();
+        try {
+            added = subscriptions.putIfAbsent(channel, new Subscription(group, listener)) == null;
+        } finally {
+            lock.unlock();
+        }
+        if (added) {
+            logger.debug("subscribe group, scope={}, group={}", scope, group);
+            subscriber.sync(channel, () -> subscriptions.containsKey(channel));     // write to redis outside lock, not to block other groups
+        }
+    }
+
+    // isEmpty is checked with lock, so it won't unsubscribe if other thread joined group right after this thread left group,
+    // redis subscription syncs with latest subscriptions, in case other thread subscribed again before this thread writes to redis
+    public void unsubscribe(String scope, String group, BooleanSupplier isEmpty) {
+        if (redis == null) return;
+        String channel = channel(scope, group);
+        boolean removed;
+        lock.lock();
+        try {
+            removed = isEmpty.getAsBoolean() && subscriptions.remove(channel) != null;
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            logger.debug("unsubscribe group, scope={}, group={}", scope, group);
+            subscriber.sync(channel, () -> subscriptions.containsKey(channel));
+        }
+    }
+
+    // message must be delivered to local channels by caller
+    public void publish(String scope, String group, String message) {
+        if (redis == null) return;
+        if (!queue.offer(new Message(channel(scope, group), message))) {
+            droppedMessages.increment();
+            logger.warn(errorCode("GROUP_BUS_QUEUE_FULL"), "group bus queue is full, drop message, scope={}, group={}", scope, group);
+        }
+    }
+
+    private String channel(String scope, String group) {
+        return CHANNEL_PREFIX + scope + ":" + group;
+    }
+
+    private void process() {
+        List<Message> messages = new ArrayList<>(MAX_BATCH_SIZE);
+        while (!stop) {
+            try {
+                Message message = queue.poll(1, TimeUnit.SECONDS);
+                if (message == null) continue;
+                messages.add(message);
+                queue.drainTo(messages, MAX_BATCH_SIZE - 1);
+                publish(messages);
+            } catch (InterruptedException e) {
+                if (!stop) logger.warn("group bus publisher is interrupted", e);
+            } catch (Throwable e) {
+                logger.warn(errorCode("GROUP_BUS_FAILED"), "failed to publish group messages, error={}", e.getMessage(), e);
+            } finally {
+                messages.clear();
+            }
+        }
+    }
+
+    void publish(List<Message> messages) {
+        Map<String, List<String>> batches = new LinkedHashMap<>();     // keep order of messages within group
+        for (Message message : messages) {
+            batches.computeIfAbsent(message.channel, key -> new ArrayList<>()).add(message.value);
+        }
+        for (Map.Entry<String, List<String>> entry : batches.entrySet()) {
+            List<String> values = entry.getValue();
+            try {
+                redis.publish(entry.getKey(), encode(values));
+                publishedMessages.add(values.size());
+            } catch (UncheckedIOException | RedisException | PoolException e) {
+                droppedMessages.add(values.size());
+                logger.warn(errorCode("GROUP_BUS_FAILED"), "failed to publish group messages, channel={}, error={}", entry.getKey(), e.getMessage(), e);
+            }
+        }
+    }
+
+    byte[] encode(List<String> values) {
+        var writer = new BinaryWriter(0);
+        writer.writeString(id);
+        writer.writeSize(values.size());
+        for (String value : values) {
+            writer.writeString(value);
+        }
+        return Arrays.copyOf(writer.buffer(), writer.position());
+    }
+
+    void onMessage(String channel, byte[] body) {
+        Subscription subscription = subscriptions.get(channel);
+        if (subscription == null) return;      // unsubscribed before redis stops sending
+        try {
+            var reader = new BinaryReader(body, 0);
+            if (id.equals(reader.readString())) return;
+            int size = reader.readSize();
+            receivedMessages.add(size);
+            for (int i = 0; i < size; i++) {
+                subscription.listener.onMessage(subscription.group, reader.readString());
+            }
+        } catch (RuntimeException e) {
+            logger.warn(errorCode("GROUP_BUS_FAILED"), "failed to deliver group messages, channel={}, error={}", channel, e.getMessage(), e);
+        }
+    }
+
+    public interface Listener {
+        // deliver message published by other node to local channels of group
+        void onMessage(String group, String message);
+    }
+
+    record Subscription(String group, Listener listener) {
+    }
+
+    record Message(String channel, String value) {
+    }
+}
@@ -0,0 +1,23 @@
+package core.framework.internal.web.bus;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+/**
+ * @author neo
+ */
+public class GroupBusMetrics implements Metrics {
+    private final GroupBus bus;
+
+    public GroupBusMetrics(GroupBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        stats.put("group_bus_subscribed_groups", bus.subscriptions.size());
+        stats.put("group_bus_published_messages", bus.publishedMessages.sumThenReset());
+        stats.put("group_bus_received_messages", bus.receivedMessages.sumThenReset());
+        stats.put("group_bus_dropped_messages", bus.droppedMessages.sumThenReset());
+    }
+}
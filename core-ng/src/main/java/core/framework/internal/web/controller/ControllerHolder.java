@@ -4,6 +4,7 @@ import core.framework.internal.log.PerformanceWarning;
 import core.framework.internal.log.WarningContext;
 import core.framework.log.IOWarning;
 import core.framework.web.Controller;
+import core.framework.web.StreamingBody;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
@@ -17,9 +18,10 @@ public class ControllerHolder {
     public final String action;
     @Nullable
     public final PerformanceWarning[] warnings;
+    public final boolean streamingBody;
+    public final boolean skipInterceptor;
 
     final Method targetMethod;      // targetMethod is used to find associated annotation
-    final boolean skipInterceptor;
 
     public ControllerHolder(Controller controller, Method targetMethod, String controllerInfo, String action, boolean skipInterceptor) {
         this.controller = controller;
@@ -27,6 +29,7 @@ public class ControllerHolder {
         this.controllerInfo = controllerInfo;
         this.action = action;
         this.skipInterceptor = skipInterceptor;
+        streamingBody = targetMethod.isAnnotationPresent(StreamingBody.class);
 
         if (skipInterceptor) {  // skip warning for all internal controllers which skipInterceptor = true
             warnings = null;
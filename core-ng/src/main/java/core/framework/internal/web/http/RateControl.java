@@ -1,39 +1,78 @@
 package core.framework.internal.web.http;
 
-import core.framework.internal.util.LRUMap;
 import core.framework.util.Maps;
 import core.framework.web.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * rates of group/ip are kept in shards of concurrent map, each rate is updated by CAS, so there is no lock on request path,
+ * memory is bounded per shard, once shard is full, least recently accessed entries are evicted in batch by one thread
+ *
  * @author neo
  */
 public class RateControl {
+    private static final int MAX_SHARDS = 16;
     private final Logger logger = LoggerFactory.getLogger(RateControl.class);
 
-    private final ReentrantLock lock = new ReentrantLock();
+    public RedisRateLimiter redisRateLimiter;     // if not null, GCRA groups are shared across pods
     private Map<String, RateConfig> config;
-    private Map<String, Rate> rates;
+    private volatile Shard[] shards;
+
+    public RateControl() {
+        maxEntries(5000);
+    }
 
     public void maxEntries(int entries) {
-        lock.lock();
-        try {
-            rates = new LRUMap<>(entries);
-        } finally {
-            lock.unlock();
+        int shardCount = Math.min(MAX_SHARDS, Integer.highestOneBit(Math.max(1, entries / 64)));  // keep shard reasonably large, so approximate LRU is close to LRU
+        int maxEntriesPerShard = (entries + shardCount - 1) / shardCount;
+        var shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(maxEntriesPerShard);
         }
+        this.shards = shards;
     }
 
     // config is always called during initialization, so no concurrency issue
+    // token bucket, keeps maxPermits at most, fills permits by fillRate per interval
     public void config(String group, int maxPermits, int fillRate, Duration interval) {
-        if (config == null) config = Maps.newHashMap();
         double fillRatePerNano = ratePerNano(fillRate, interval);
-        RateConfig previous = config.put(group, new RateConfig(maxPermits, fillRatePerNano));
+        config(group, (key, currentTime) -> new TokenBucket(maxPermits, fillRatePerNano, currentTime));
+    }
+
+    // sliding window log, allows maxRequests within any window, keeps timestamp of each accepted request
+    public void configSlidingWindow(String group, int maxRequests, Duration window) {
+        long windowInNano = window.toNanos();
+        config(group, (key, currentTime) -> new SlidingWindowLog(maxRequests, windowInNano));
+    }
+
+    // generic cell rate algorithm, allows rate requests per interval evenly spaced, plus burst, keeps single timestamp
+    // with redis, rate is shared across pods, and local rate is used as pre-check and fallback
+    public void configGCRA(String group, int rate, Duration interval, int burst) {
+        long emissionInterval = interval.toNanos() / rate;
+        long tolerance = emissionInterval * (burst - 1);
+        config(group, (key, currentTime) -> {
+            var local = new GCRA(emissionInterval, tolerance);
+            RedisRateLimiter redisRateLimiter = this.redisRateLimiter;
+            if (redisRateLimiter == null) return local;
+            return new DistributedGCRA(key, local, redisRateLimiter, emissionInterval, tolerance, Math.max(1, burst / 4), currentTime);
+        });
+    }
+
+    private void config(String group, RateConfig rateConfig) {
+        if (config == null) config = Maps.newHashMap();
+        RateConfig previous = config.put(group, rateConfig);
         if (previous != null) throw new Error("found duplicate group, group=" + group);
     }
 
@@ -54,7 +93,7 @@ public class RateControl {
     }
 
     boolean acquire(String group, String clientIP) {
-        RateConfig config = this.config.get(group);
+        RateConfig config = this.config == null ? null : this.config.get(group);
 
         if (config == null) {
             logger.warn("can not find group, group={}", group);
@@ -62,46 +101,200 @@ public class RateControl {
         }
 
         String key = group + "/" + clientIP;
-        Rate rate;
-        lock.lock();
-        try {
-            rate = rates.computeIfAbsent(key, k -> new Rate(config.maxPermits));
-        } finally {
-            lock.unlock();
-        }
         long currentTime = System.nanoTime();
-        return rate.acquire(currentTime, config.maxPermits, config.fillRatePerNano);
+        Shard[] shards = this.shards;
+        Shard shard = shards[spread(key.hashCode()) & (shards.length - 1)];
+        Rate rate = shard.rate(key, config, currentTime);
+        rate.lastAccessTime = currentTime;
+        return rate.acquire(currentTime);
+    }
+
+    private int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @FunctionalInterface
+    interface RateConfig {
+        Rate create(String key, long currentTime);
     }
 
-    record RateConfig(int maxPermits, double fillRatePerNano) {
+    abstract static class Rate {
+        volatile long lastAccessTime;   // for LRU eviction
+
+        abstract boolean acquire(long currentTime);
     }
 
-    static final class Rate {
-        private final ReentrantLock lock = new ReentrantLock();
-        double currentPermits;
-        long lastUpdateTime;
+    static final class Shard {
+        final Map<String, Rate> rates = new ConcurrentHashMap<>();
+        private final int maxEntries;
+        private final AtomicBoolean evicting = new AtomicBoolean();
 
-        Rate(int currentPermits) {
-            this.currentPermits = currentPermits;
-            this.lastUpdateTime = System.nanoTime();
+        Shard(int maxEntries) {
+            this.maxEntries = maxEntries;
         }
 
-        // under multi-thread condition, the order of acquires are not determined, currentTime can be earlier than lastUpdateTime (e.g. lastUpdateTime was updated by a later acquire first)
-        boolean acquire(long currentTime, int maxPermits, double fillRatePerNano) {
-            lock.lock();
+        Rate rate(String key, RateConfig config, long currentTime) {
+            Rate rate = rates.get(key);
+            if (rate != null) return rate;
+            rate = rates.computeIfAbsent(key, k -> config.create(k, currentTime));
+            rate.lastAccessTime = currentTime;      // not to evict new entry
+            if (rates.size() > maxEntries) evict();
+            return rate;
+        }
+
+        // evict least recently accessed entries and leave 10% room, so eviction doesn't happen on every new entry
+        // other threads don't wait for eviction, shard may exceed max entries slightly during eviction
+        void evict() {
+            if (!evicting.compareAndSet(false, true)) return;
             try {
-                long timeElapsed = Math.max(0, currentTime - lastUpdateTime);
-                currentPermits = Math.min(maxPermits, currentPermits + fillRatePerNano * timeElapsed);
-                lastUpdateTime = lastUpdateTime + timeElapsed;
+                int size = rates.size();
+                int count = size - maxEntries + maxEntries / 10;
+                if (count <= 0) return;
+                List<Map.Entry<String, Rate>> entries = new ArrayList<>(rates.entrySet());
+                entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessTime));
+                for (int i = 0; i < count && i < entries.size(); i++) {
+                    Map.Entry<String, Rate> entry = entries.get(i);
+                    rates.remove(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    static final class TokenBucket extends Rate {
+        private final AtomicReference<Bucket> bucket;
+        private final int maxPermits;
+        private final double fillRatePerNano;
+
+        TokenBucket(int maxPermits, double fillRatePerNano, long currentTime) {
+            this(maxPermits, fillRatePerNano, maxPermits, currentTime);
+        }
+
+        TokenBucket(int maxPermits, double fillRatePerNano, double currentPermits, long currentTime) {
+            this.maxPermits = maxPermits;
+            this.fillRatePerNano = fillRatePerNano;
+            bucket = new AtomicReference<>(new Bucket(currentPermits, currentTime));
+        }
+
+        // under multi-thread condition, the order of acquires are not determined, currentTime can be earlier than lastUpdateTime (e.g. lastUpdateTime was updated by a later acquire first)
+        @Override
+        boolean acquire(long currentTime) {
+            while (true) {
+                Bucket current = bucket.get();
+                long timeElapsed = Math.max(0, currentTime - current.lastUpdateTime);
+                double permits = Math.min(maxPermits, current.permits + fillRatePerNano * timeElapsed);
+                if (permits < 1) return false;
+                if (bucket.compareAndSet(current, new Bucket(permits - 1, current.lastUpdateTime + timeElapsed))) return true;
+            }
+        }
+
+        double currentPermits() {
+            return bucket.get().permits;
+        }
+
+        record Bucket(double permits, long lastUpdateTime) {
+        }
+    }
 
-                if (currentPermits >= 1) {
-                    currentPermits -= 1;
+    // keeps timestamps of last maxRequests accepted requests in ring, request is accepted if oldest one is out of window
+    static final class SlidingWindowLog extends Rate {
+        private final AtomicLongArray log;
+        private final AtomicLong count = new AtomicLong();
+        private final long windowInNano;
+
+        SlidingWindowLog(int maxRequests, long windowInNano) {
+            log = new AtomicLongArray(maxRequests);
+            this.windowInNano = windowInNano;
+        }
+
+        @Override
+        boolean acquire(long currentTime) {
+            int length = log.length();
+            while (true) {
+                long count = this.count.get();
+                int slot = (int) (count % length);
+                if (count >= length && currentTime - log.get(slot) < windowInNano) return false;
+                if (this.count.compareAndSet(count, count + 1)) {
+                    log.set(slot, currentTime);
                     return true;
-                } else {
-                    return false;
                 }
-            } finally {
-                lock.unlock();
+            }
+        }
+    }
+
+    // refer to https://en.wikipedia.org/wiki/Generic_cell_rate_algorithm, virtual scheduling form
+    static final class GCRA extends Rate {
+        private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+        private final long emissionInterval;
+        private final long tolerance;
+
+        GCRA(long emissionInterval, long tolerance) {
+            this.emissionInterval = emissionInterval;
+            this.tolerance = tolerance;
+        }
+
+        @Override
+        boolean acquire(long currentTime) {
+            while (true) {
+                long arrivalTime = theoreticalArrivalTime.get();
+                long time = arrivalTime == Long.MIN_VALUE ? currentTime : Math.max(arrivalTime, currentTime);
+                if (time - currentTime > tolerance) return false;
+                if (theoreticalArrivalTime.compareAndSet(arrivalTime, time + emissionInterval)) return true;
+            }
+        }
+    }
+
+    // local GCRA rejects clearly over limit client without redis round trip, as rate seen by one pod is not greater than global rate,
+    // redis reserves permits in batch when client is under limit, reserved permits are consumed locally until they would be refilled,
+    // if redis is down, local GCRA takes over, which limits rate per pod
+    static final class DistributedGCRA extends Rate {
+        private final String key;
+        private final GCRA local;
+        private final RedisRateLimiter limiter;
+        private final long emissionInterval;
+        private final long emissionIntervalInMicros;
+        private final long toleranceInMicros;
+        private final int leaseSize;
+        private final AtomicLong leasedPermits = new AtomicLong();
+        private volatile long leaseExpirationTime;
+        private volatile long deniedUntil;
+
+        DistributedGCRA(String key, GCRA local, RedisRateLimiter limiter, long emissionInterval, long tolerance, int leaseSize, long currentTime) {
+            this.key = key;
+            this.local = local;
+            this.limiter = limiter;
+            this.emissionInterval = emissionInterval;
+            emissionIntervalInMicros = Math.max(1, emissionInterval / 1000);
+            toleranceInMicros = tolerance / 1000;
+            this.leaseSize = leaseSize;
+            leaseExpirationTime = currentTime;
+            deniedUntil = currentTime;
+        }
+
+        @Override
+        boolean acquire(long currentTime) {
+            if (!local.acquire(currentTime)) return false;
+            if (currentTime - deniedUntil < 0) return false;    // denied by redis recently, not to ask redis again until retry time
+            if (acquireLeased(currentTime)) return true;
+            long result = limiter.acquire(key, emissionIntervalInMicros, toleranceInMicros, leaseSize, currentTime);
+            if (result < 0) {
+                deniedUntil = currentTime - result;
+                return false;
+            }
+            if (result > 1) {
+                leaseExpirationTime = currentTime + (result - 1) * emissionInterval;
+                leasedPermits.set(result - 1);
+            }
+            return true;    // result == 0 means redis is not available, fallback to local rate
+        }
+
+        private boolean acquireLeased(long currentTime) {
+            if (currentTime - leaseExpirationTime >= 0) return false;
+            while (true) {
+                long permits = leasedPermits.get();
+                if (permits <= 0) return false;
+                if (leasedPermits.compareAndSet(permits, permits - 1)) return true;
             }
         }
     }
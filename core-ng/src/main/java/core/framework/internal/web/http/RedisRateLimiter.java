@@ -0,0 +1,66 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
+import core.framework.internal.resource.PoolException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * GCRA shared by all pods, theoretical arrival time is kept in redis and updated atomically by lua script,
+ * script uses redis time, so it's not affected by clock skew between pods,
+ * permits can be reserved in batch, so pod can admit following requests of same client without redis round trip
+ *
+ * @author neo
+ */
+public final class RedisRateLimiter {
+    // KEYS[1] = key, ARGV[1] = emission interval in micros, ARGV[2] = tolerance in micros, ARGV[3] = permits to reserve
+    // returns {reserved permits, 0} or {0, micros to wait}, numbers are formatted by %.0f, as lua converts large number to string in scientific notation
+    static final RedisScript GCRA = new RedisScript("""
+        local interval = tonumber(ARGV[1])
+        local tolerance = tonumber(ARGV[2])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+        local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+        if tat < now then tat = now end
+        local available = math.floor((tolerance - (tat - now)) / interval) + 1
+        if available <= 0 then return {0, tat - tolerance - now} end
+        local permits = math.min(available, tonumber(ARGV[3]))
+        tat = tat + permits * interval
+        redis.call('SET', KEYS[1], string.format('%.0f', tat), 'PX', string.format('%.0f', math.ceil((tat - now) / 1000)))
+        return {permits, 0}
+        """);
+    private static final long RETRY_INTERVAL = Duration.ofSeconds(5).toNanos();
+
+    private final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+    private final RedisImpl redis;
+    private volatile long retryTime;
+    private volatile boolean failed;
+
+    public RedisRateLimiter(RedisImpl redis) {
+        this.redis = redis;
+    }
+
+    // return reserved permits, or negative wait time in nanos if rate exceeded, or 0 if redis is not available
+    long acquire(String key, long emissionIntervalInMicros, long toleranceInMicros, int permits, long currentTime) {
+        if (failed && currentTime - retryTime < 0) return 0;     // not to wait for redis timeout on every request when redis is down
+        try {
+            Object[] result = (Object[]) redis.eval(GCRA, "rate:" + key, String.valueOf(emissionIntervalInMicros), String.valueOf(toleranceInMicros), String.valueOf(permits));
+            failed = false;
+            long reserved = (Long) result[0];
+            if (reserved > 0) return reserved;
+            return -Math.max(1, (Long) result[1] * 1000);
+        } catch (UncheckedIOException | RedisException | PoolException e) {
+            logger.warn(errorCode("RATE_LIMIT_REDIS_FAILED"), "failed to acquire rate from redis, fallback to local rate, error={}", e.getMessage(), e);
+            retryTime = currentTime + RETRY_INTERVAL;
+            failed = true;
+            return 0;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package core.framework.internal.web.request;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import core.framework.http.ContentType;
 import core.framework.http.HTTPMethod;
 import core.framework.internal.validate.ValidationException;
@@ -12,9 +13,12 @@ import core.framework.web.Session;
 import core.framework.web.exception.BadRequestException;
 import io.undertow.server.HttpServerExchange;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static core.framework.util.Strings.format;
 
@@ -41,6 +45,7 @@ public final class RequestImpl implements Request {
     String requestURL;
     ContentType contentType;
     byte[] body;
+    private InputStream bodyStream;
     Map<String, String> cookies;
 
     public RequestImpl(HttpServerExchange exchange, RequestBeanReader reader) {
@@ -121,6 +126,32 @@ public final class RequestImpl implements Request {
         return Optional.ofNullable(body);
     }
 
+    @Override
+    public InputStream bodyStream() {
+        if (body != null) return new ByteArrayInputStream(body);   // body was read before calling controller
+        if (bodyStream == null) {
+            // undertow limits body size with maxEntitySize, and throws IOException once exceeded
+            if (!exchange.isBlocking()) exchange.startBlocking();
+            bodyStream = exchange.getInputStream();
+        }
+        return bodyStream;
+    }
+
+    @Override
+    public <T> void forEachBean(Class<T> beanClass, Consumer<T> consumer) {
+        if (contentType == null || !ContentType.APPLICATION_JSON.mediaType.equals(contentType.mediaType))
+            throw new BadRequestException(format("unsupported content type, method={}, contentType={}", method, contentType), "INVALID_HTTP_REQUEST");
+        try {
+            reader.forEach(beanClass, bodyStream(), consumer);
+        } catch (ValidationException e) {
+            throw new BadRequestException(e.getMessage(), e.errorCode(), e);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("failed to deserialize request, beanClass=" + beanClass.getCanonicalName(), "INVALID_HTTP_REQUEST", e);
+        } catch (IOException e) {   // e.g. client aborted or body exceeds max entity size
+            throw new BadRequestException(e.getMessage(), "FAILED_TO_READ_HTTP_REQUEST", e);
+        }
+    }
+
     @Override
     public <T> T bean(Class<T> beanClass) {
         try {
@@ -0,0 +1,29 @@
+package core.framework.internal.web.response;
+
+import io.undertow.io.Sender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * send buffer as is, without copying into byte[], buffer must not be shared with other responses, e.g. use duplicate() or slice()
+ *
+ * @author neo
+ */
+public final class ByteBufferBody implements Body {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ByteBufferBody.class);
+    private final ByteBuffer buffer;
+
+    public ByteBufferBody(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public long send(Sender sender, ResponseHandlerContext context) {
+        int length = buffer.remaining();
+        LOGGER.debug("[response] body=buffer[{}]", length);
+        sender.send(buffer);
+        return length;
+    }
+}
@@ -0,0 +1,111 @@
+package core.framework.internal.web.response;
+
+import core.framework.internal.web.bean.ResponseBeanWriter;
+import core.framework.web.StreamSource;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xnio.IoUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.function.Consumer;
+
+/**
+ * write items to response one by one as json array or ndjson, without holding whole document in memory,
+ * http handler runs in virtual thread, blocking write parks thread when client reads slowly, which holds back source,
+ * body length is unknown, so undertow uses chunked transfer encoding
+ *
+ * @author neo
+ */
+public final class StreamBody implements Body {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamBody.class);
+    private final Class<?> beanClass;
+    private final StreamSource<Object> source;
+    private final boolean ndjson;
+
+    @SuppressWarnings("unchecked")
+    public <T> StreamBody(Class<T> beanClass, StreamSource<T> source, boolean ndjson) {
+        this.beanClass = beanClass;
+        this.source = (StreamSource<Object>) source;
+        this.ndjson = ndjson;
+    }
+
+    @Override
+    public long send(Sender sender, ResponseHandlerContext context) {
+        throw new Error("stream body must be sent with exchange");
+    }
+
+    long send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        context.writer.validateBeanClass(beanClass);    // fail before response is committed
+        if (!exchange.isBlocking()) exchange.startBlocking();  // request may already be in blocking mode, e.g. read with request.bodyStream()
+        try {
+            return write(exchange.getOutputStream(), context.writer);
+        } catch (Throwable e) {
+            // response is committed, close connection without ending chunked body, so client knows response is incomplete
+            IoUtils.safeClose(exchange.getConnection());
+            throw e;
+        }
+    }
+
+    long write(OutputStream stream, ResponseBeanWriter writer) {
+        var itemWriter = new ItemWriter(stream, writer, ndjson);
+        source.forEach(itemWriter);
+        itemWriter.end();
+        LOGGER.debug("[response] stream items={}, bytes={}", itemWriter.items, itemWriter.bytes);
+        return itemWriter.bytes;
+    }
+
+    private static final class ItemWriter implements Consumer<Object> {
+        private final OutputStream stream;  // undertow output stream buffers writes with pooled buffer, and writes to channel when buffer is full
+        private final ResponseBeanWriter writer;
+        private final boolean ndjson;
+        long bytes;
+        int items;
+
+        ItemWriter(OutputStream stream, ResponseBeanWriter writer, boolean ndjson) {
+            this.stream = stream;
+            this.writer = writer;
+            this.ndjson = ndjson;
+        }
+
+        @Override
+        public void accept(Object item) {
+            if (item == null) throw new Error("stream item must not be null");
+            byte[] json = writer.toJSON(item);  // validate and serialize item by item, so only one item is held in memory
+            try {
+                if (!ndjson) stream.write(items == 0 ? '[' : ',');
+                stream.write(json);
+                if (ndjson) stream.write('\n');
+            } catch (IOException e) {
+                throw convertException(e);
+            }
+            bytes += json.length + 1;
+            items++;
+        }
+
+        void end() {
+            try {
+                if (!ndjson) {
+                    if (items == 0) stream.write('[');
+                    stream.write(']');
+                    bytes += items == 0 ? 2 : 1;
+                }
+                stream.close();     // flush remaining and end exchange
+            } catch (IOException e) {
+                throw convertException(e);
+            }
+        }
+
+        // convert client abort exception to warning, e.g. client closed connection before stream is completed
+        private UncheckedIOException convertException(IOException exception) {
+            if (exception instanceof ClosedChannelException) {
+                return new FileBody.ClientAbortException(exception);
+            }
+            return new UncheckedIOException(exception);
+        }
+    }
+}
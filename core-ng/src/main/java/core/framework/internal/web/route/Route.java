@@ -5,10 +5,12 @@ import core.framework.internal.log.ActionLog;
 import core.framework.internal.web.controller.ControllerHolder;
 import core.framework.internal.web.request.PathParams;
 import core.framework.util.Maps;
+import core.framework.web.exception.BadRequestException;
 import core.framework.web.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +22,7 @@ public final class Route {
 
     private final Map<String, URLHandler> staticHandlers = Maps.newHashMap();
     private final PathNode dynamicRoot = new PathNode(null);
+    private boolean hasStreamingBody;
 
     public void add(HTTPMethod method, String path, ControllerHolder controller) {
         logger.info("route, method={}, path={}, controller={}", method, path, controller.controllerInfo);
@@ -31,6 +34,32 @@ public final class Route {
             handler = staticHandlers.computeIfAbsent(path, URLHandler::new);
         }
         handler.put(method, controller);
+        if (controller.streamingBody) hasStreamingBody = true;
+    }
+
+    // called by io handler to decide whether to read body before dispatching, invalid path is handled later by get()
+    public boolean streamingBody(String path, HTTPMethod method) {
+        if (!hasStreamingBody) return false;
+        URLHandler handler = staticHandlers.get(path);
+        try {
+            if (handler == null) handler = dynamicRoot.find(path, new PathParams());
+        } catch (BadRequestException e) {
+            return false;
+        }
+        return handler != null && handler.streamingBody(method);
+    }
+
+    // find controller registered with exact path pattern, e.g. /user/:id, used by config
+    @Nullable
+    public ControllerHolder controller(HTTPMethod method, String pathPattern) {
+        URLHandler handler = staticHandlers.get(pathPattern);
+        try {
+            if (handler == null) handler = dynamicRoot.find(pathPattern, new PathParams());  // pattern matches its own dynamic nodes
+        } catch (BadRequestException e) {
+            return null;
+        }
+        if (handler == null || !handler.pathPattern.equals(pathPattern)) return null;
+        return handler.controller(method);
     }
 
     public ControllerHolder get(String path, HTTPMethod method, PathParams pathParams, ActionLog actionLog) {
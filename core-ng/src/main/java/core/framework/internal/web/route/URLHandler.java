@@ -5,6 +5,7 @@ import core.framework.internal.web.controller.ControllerHolder;
 import core.framework.util.Maps;
 import core.framework.web.exception.MethodNotAllowedException;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 
 import static core.framework.util.Strings.format;
@@ -34,4 +35,14 @@ class URLHandler {
         }
         return controller;
     }
+
+    @Nullable
+    ControllerHolder controller(HTTPMethod method) {
+        return controllers.get(method);
+    }
+
+    boolean streamingBody(HTTPMethod method) {
+        ControllerHolder controller = controllers.get(method);
+        return controller != null && controller.streamingBody;
+    }
 }
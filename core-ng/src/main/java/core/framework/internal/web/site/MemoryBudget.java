@@ -0,0 +1,33 @@
+package core.framework.internal.web.site;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * limit total bytes of static content and gzip variants kept in memory, content over budget is read from file per request
+ *
+ * @author neo
+ */
+final class MemoryBudget {
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    MemoryBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    boolean reserve(long bytes) {
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > maxBytes) return false;
+            if (usedBytes.compareAndSet(used, used + bytes)) return true;
+        }
+    }
+
+    void release(long bytes) {
+        if (bytes > 0) usedBytes.addAndGet(-bytes);
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+}
@@ -9,4 +9,6 @@ import java.time.Duration;
  */
 public interface StaticContentController extends Controller {
     void cache(Duration maxAge);
+
+    void precompress();
 }
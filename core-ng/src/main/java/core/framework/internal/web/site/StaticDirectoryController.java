@@ -1,6 +1,5 @@
 package core.framework.internal.web.site;
 
-import core.framework.http.ContentType;
 import core.framework.http.HTTPHeaders;
 import core.framework.web.Request;
 import core.framework.web.Response;
@@ -8,18 +7,31 @@ import core.framework.web.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * @author neo
  */
 public final class StaticDirectoryController implements StaticContentController {
+    private static final int MAX_CACHED_FILES = 1000;
+    static final long MAX_MEMORY_BYTES = 64 * 1024 * 1024;     // for content of small files and gzip variants
+
+    final Map<Path, StaticFile> files = new ConcurrentHashMap<>();     // hot files are kept with precomputed etag, small files with content
+    final MemoryBudget budget = new MemoryBudget(MAX_MEMORY_BYTES);
     private final Logger logger = LoggerFactory.getLogger(StaticDirectoryController.class);
     private final Path contentDirectory;
     String cacheHeader;
+    private boolean precompress;
 
     public StaticDirectoryController(Path contentDirectory) {
         this.contentDirectory = contentDirectory;
@@ -31,18 +43,55 @@ public final class StaticDirectoryController implements StaticContentController
         Path filePath = contentDirectory.resolve(path).normalize();
         logger.debug("requestFile={}", filePath);
 
-        if (!Files.isRegularFile(filePath, LinkOption.NOFOLLOW_LINKS) || !filePath.startsWith(contentDirectory))
-            throw new NotFoundException("not found, path=" + path, "PATH_NOT_FOUND");
+        if (!filePath.startsWith(contentDirectory)) throw new NotFoundException("not found, path=" + path, "PATH_NOT_FOUND");
+        BasicFileAttributes attributes = attributes(filePath);
+        if (attributes == null || !attributes.isRegularFile()) throw new NotFoundException("not found, path=" + path, "PATH_NOT_FOUND");
 
-        Response response = Response.file(filePath);
-        ContentType contentType = MimeTypes.get(String.valueOf(filePath.getFileName()));
-        if (contentType != null) response.contentType(contentType);
+        StaticFile file = files.get(filePath);
+        if (file == null || file.modified(attributes)) {
+            file = new StaticFile(filePath, attributes, precompress, budget);
+            cache(filePath, file);
+        }
+        Response response = file.response(request);
         if (cacheHeader != null) response.header(HTTPHeaders.CACHE_CONTROL, cacheHeader);
         return response;
     }
 
+    private void cache(Path filePath, StaticFile file) {
+        if (files.size() < MAX_CACHED_FILES || files.containsKey(filePath)) {
+            StaticFile previous = files.put(filePath, file);
+            if (previous != null) budget.release(previous.memoryBytes());
+        } else {
+            budget.release(file.memoryBytes());   // only used by current request
+        }
+    }
+
+    private BasicFileAttributes attributes(Path filePath) {
+        try {
+            return Files.readAttributes(filePath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void cache(Duration maxAge) {
         cacheHeader = "public, max-age=" + maxAge.getSeconds();
     }
+
+    // build gzip variants of all text files under directory on startup
+    @Override
+    public void precompress() {
+        precompress = true;
+        try (Stream<Path> paths = Files.walk(contentDirectory)) {
+            paths.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS))
+                .limit(MAX_CACHED_FILES)
+                .forEach(path -> cache(path, StaticFile.load(path, true, budget)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("precompressed static files, directory={}, files={}, memoryBytes={}", contentDirectory, files.size(), budget.usedBytes());
+    }
 }
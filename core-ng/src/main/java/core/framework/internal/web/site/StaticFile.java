@@ -0,0 +1,283 @@
+package core.framework.internal.web.site;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.http.ContentType;
+import core.framework.http.HTTPHeaders;
+import core.framework.internal.web.response.ByteBufferBody;
+import core.framework.internal.web.response.ResponseImpl;
+import core.framework.util.ASCII;
+import core.framework.web.Request;
+import core.framework.web.Response;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * static file with precomputed ETag/Last-Modified, supports conditional GET and single byte range,
+ * small file and gzip variant are kept in memory within memory budget, other file is sent by FileChannel.transferTo (sendfile with plain http) with channel opened per request,
+ * file is not memory mapped, as mapping of file truncated or rewritten in place by deployment faults on read, and mapped file can't be deleted on windows,
+ * precompressed variant is file next to original with encoding extension, e.g. app.js.br, app.js.zst, app.js.gz,
+ * with precompress, gzip variant of text file is built in memory when created, so it won't be compressed on every request,
+ * encoding is negotiated by Accept-Encoding, prefers br > zstd > gzip
+ *
+ * @author neo
+ */
+final class StaticFile {
+    static final String[] ENCODINGS = {"br", "zstd", "gzip"};
+    private static final String[] EXTENSIONS = {".br", ".zst", ".gz"};
+    private static final int GZIP = 2;
+    private static final long MAX_PRECOMPRESS_SIZE = 1024 * 1024;      // only precompress small files, to limit memory, larger file should be precompressed by build
+    private static final long MAX_HEAP_SIZE = 256 * 1024;             // only keep small file in heap
+    private static final long MAX_RANGE_SIZE = 1024 * 1024;           // range is read into heap per request, client requests remaining if range is partially served
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    static StaticFile load(Path path, boolean precompress, MemoryBudget budget) {
+        try {
+            return new StaticFile(path, Files.readAttributes(path, BasicFileAttributes.class), precompress, budget);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // return bitmask of accepted encodings by index of ENCODINGS, ignore encodings with q=0
+    static int acceptedEncodings(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) return 0;
+        int accepted = 0;
+        int start = 0;
+        int length = acceptEncoding.length();
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) end = length;
+            accepted |= acceptedEncoding(acceptEncoding.substring(start, end));
+            start = end + 1;
+        }
+        return accepted;
+    }
+
+    private static int acceptedEncoding(String value) {
+        int paramIndex = value.indexOf(';');
+        String encoding = ASCII.toLowerCase((paramIndex < 0 ? value : value.substring(0, paramIndex)).strip());
+        if (paramIndex >= 0) {
+            String param = value.substring(paramIndex + 1).strip();
+            if (param.startsWith("q=") && qualityIsZero(param.substring(2))) return 0;
+        }
+        if ("*".equals(encoding)) return (1 << ENCODINGS.length) - 1;
+        for (int i = 0; i < ENCODINGS.length; i++) {
+            if (ENCODINGS[i].equals(encoding)) return 1 << i;
+        }
+        return 0;
+    }
+
+    private static boolean qualityIsZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static boolean compressible(@Nullable ContentType contentType) {
+        if (contentType == null) return false;
+        return contentType.mediaType.startsWith("text/")
+            || contentType == ContentType.APPLICATION_JAVASCRIPT
+            || contentType == ContentType.APPLICATION_JSON;
+    }
+
+    // only support single range, return [start, end] inclusive, or null if not valid single range, then full content will be sent,
+    // return empty array if range is not satisfiable
+    @Nullable
+    static long[] range(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) return null;
+        int index = range.indexOf('-', 6);
+        if (index < 0) return null;
+        try {
+            String startValue = range.substring(6, index).strip();
+            String endValue = range.substring(index + 1).strip();
+            long start;
+            long end;
+            if (startValue.isEmpty()) {     // suffix range, e.g. bytes=-500 means last 500 bytes
+                long length = Long.parseLong(endValue);
+                if (length <= 0) return new long[0];
+                start = Math.max(size - length, 0);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(startValue);
+                end = endValue.isEmpty() ? size - 1 : Math.min(Long.parseLong(endValue), size - 1);
+                if (end < start) return start >= size ? new long[0] : null;
+            }
+            if (start >= size) return new long[0];
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if ("*".equals(ifNoneMatch.strip())) return true;
+        int start = 0;
+        int length = ifNoneMatch.length();
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) end = length;
+            String value = ifNoneMatch.substring(start, end).strip();
+            if (value.startsWith("W/")) value = value.substring(2);    // weak comparison, refer to https://www.rfc-editor.org/rfc/rfc9110#section-13.1.2
+            if (value.equals(etag)) return true;
+            start = end + 1;
+        }
+        return false;
+    }
+
+    final Path path;
+    @Nullable
+    final ContentType contentType;
+    final String etag;
+    final String lastModified;
+    private final long size;
+    private final FileTime lastModifiedTime;
+    private final long lastModifiedInSeconds;
+    @Nullable
+    private final ByteBuffer content;       // null if file is too large or over memory budget
+    private final long memoryBytes;
+    private final Path[] variants = new Path[ENCODINGS.length];
+    private final boolean hasVariant;
+    private ByteBuffer gzipContent;
+
+    StaticFile(Path path, BasicFileAttributes attributes, boolean precompress, MemoryBudget budget) {
+        this.path = path;
+        String fileName = String.valueOf(path.getFileName());
+        contentType = MimeTypes.get(fileName);
+        size = attributes.size();
+        lastModifiedTime = attributes.lastModifiedTime();
+        lastModifiedInSeconds = lastModifiedTime.toInstant().getEpochSecond();
+        lastModified = HTTP_DATE.format(lastModifiedTime.toInstant());
+        etag = "\"" + Long.toHexString(lastModifiedTime.toMillis()) + "-" + Long.toHexString(size) + "\"";
+        content = size <= MAX_HEAP_SIZE && budget.reserve(size) ? read(path, 0, size) : null;
+
+        boolean hasVariant = false;
+        for (int i = 0; i < ENCODINGS.length; i++) {
+            Path variant = path.resolveSibling(fileName + EXTENSIONS[i]);
+            if (Files.isRegularFile(variant)) {
+                variants[i] = variant;
+                hasVariant = true;
+            }
+        }
+        if (precompress && variants[GZIP] == null && compressible(contentType)) {
+            gzipContent = gzip(path, budget);
+            if (gzipContent != null) hasVariant = true;
+        }
+        this.hasVariant = hasVariant;
+        memoryBytes = (content != null ? size : 0) + (gzipContent != null ? gzipContent.capacity() : 0);
+    }
+
+    long memoryBytes() {
+        return memoryBytes;
+    }
+
+    boolean modified(BasicFileAttributes attributes) {
+        return attributes.size() != size || !attributes.lastModifiedTime().equals(lastModifiedTime);
+    }
+
+    Response response(Request request) {
+        int encoding = hasVariant ? encoding(acceptedEncodings(request.header(HTTPHeaders.ACCEPT_ENCODING).orElse(null))) : -1;
+        String etag = encoding < 0 ? this.etag : this.etag.substring(0, this.etag.length() - 1) + "-" + ENCODINGS[encoding] + "\"";     // each representation has its own etag
+
+        Response response;
+        if (notModified(request, etag)) {
+            response = Response.empty().status(HTTPStatus.NOT_MODIFIED);
+        } else {
+            if (encoding >= 0) {
+                response = variants[encoding] != null ? Response.file(variants[encoding]) : new ResponseImpl(new ByteBufferBody(gzipContent.duplicate()));
+                response.header(HTTPHeaders.CONTENT_ENCODING, ENCODINGS[encoding]);
+            } else {
+                response = identity(request);
+            }
+            if (contentType != null) response.contentType(contentType);
+        }
+        response.header(HTTPHeaders.ETAG, etag);
+        response.header(HTTPHeaders.LAST_MODIFIED, lastModified);
+        if (hasVariant) response.header(HTTPHeaders.VARY, HTTPHeaders.ACCEPT_ENCODING);    // to let cache/cdn keep variant by Accept-Encoding
+        return response;
+    }
+
+    private int encoding(int accepted) {
+        for (int i = 0; i < ENCODINGS.length; i++) {
+            if ((accepted & (1 << i)) != 0 && (variants[i] != null || i == GZIP && gzipContent != null)) return i;
+        }
+        return -1;
+    }
+
+    // If-None-Match takes precedence over If-Modified-Since, refer to https://www.rfc-editor.org/rfc/rfc9110#section-13.1.3
+    private boolean notModified(Request request, String etag) {
+        String ifNoneMatch = request.header(HTTPHeaders.IF_NONE_MATCH).orElse(null);
+        if (ifNoneMatch != null) return matches(ifNoneMatch, etag);
+        String ifModifiedSince = request.header(HTTPHeaders.IF_MODIFIED_SINCE).orElse(null);
+        if (ifModifiedSince == null) return false;
+        try {
+            return ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond() >= lastModifiedInSeconds;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private Response identity(Request request) {
+        String range = request.header(HTTPHeaders.RANGE).orElse(null);
+        if (range != null) {
+            String ifRange = request.header(HTTPHeaders.IF_RANGE).orElse(null);
+            long[] bounds = ifRange == null || ifRange.equals(etag) || ifRange.equals(lastModified) ? range(range, size) : null;
+            if (bounds != null && bounds.length == 0) {
+                return Response.empty().status(HTTPStatus.RANGE_NOT_SATISFIABLE)
+                    .header(HTTPHeaders.CONTENT_RANGE, "bytes */" + size);
+            }
+            if (bounds != null) {
+                long start = bounds[0];
+                long end = Math.min(bounds[1], start + MAX_RANGE_SIZE - 1);
+                ByteBuffer buffer = content != null ? content.slice((int) start, (int) (end - start + 1)) : read(path, start, end - start + 1);
+                return new ResponseImpl(new ByteBufferBody(buffer)).status(HTTPStatus.PARTIAL_CONTENT)
+                    .header(HTTPHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        Response response = content != null ? new ResponseImpl(new ByteBufferBody(content.duplicate())) : Response.file(path);
+        return response.header(HTTPHeaders.ACCEPT_RANGES, "bytes");
+    }
+
+    // file may be truncated after attributes are read, then returns available content
+    private ByteBuffer read(Path path, long position, long length) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) break;
+            }
+            return buffer.flip().asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // return null if file is too large, compressed is not smaller or over memory budget
+    @Nullable
+    private ByteBuffer gzip(Path path, MemoryBudget budget) {
+        if (size > MAX_PRECOMPRESS_SIZE) return null;
+        var output = new ByteArrayOutputStream((int) size / 2);
+        try (var stream = new GZIPOutputStream(output)) {
+            Files.copy(path, stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (output.size() >= size || !budget.reserve(output.size())) return null;
+        return ByteBuffer.allocateDirect(output.size()).put(output.toByteArray()).flip();
+    }
+}
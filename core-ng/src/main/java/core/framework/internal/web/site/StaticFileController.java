@@ -1,35 +1,44 @@
 package core.framework.internal.web.site;
 
-import core.framework.http.ContentType;
 import core.framework.http.HTTPHeaders;
 import core.framework.web.Request;
 import core.framework.web.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
 
 /**
  * @author neo
  */
 public final class StaticFileController implements StaticContentController {
+    final MemoryBudget budget = new MemoryBudget(StaticDirectoryController.MAX_MEMORY_BYTES);
     private final Logger logger = LoggerFactory.getLogger(StaticFileController.class);
     private final Path contentFile;
-    private final ContentType contentType;
-    private String cacheHeader;
+    volatile StaticFile file;
+    private boolean precompress;
+    String cacheHeader;
 
     public StaticFileController(Path contentFile) {
         this.contentFile = contentFile;
-        contentType = MimeTypes.get(String.valueOf(contentFile.getFileName()));
+        file = StaticFile.load(contentFile, false, budget);
     }
 
     @Override
-    public Response execute(Request request) {
+    public Response execute(Request request) throws IOException {
         logger.debug("requestFile={}", contentFile);
 
-        Response response = Response.file(contentFile);
-        if (contentType != null) response.contentType(contentType);
+        StaticFile file = this.file;
+        BasicFileAttributes attributes = Files.readAttributes(contentFile, BasicFileAttributes.class);
+        if (file.modified(attributes)) {    // e.g. file is updated during local development
+            file = new StaticFile(contentFile, attributes, precompress, budget);
+            replace(file);
+        }
+        Response response = file.response(request);
         if (cacheHeader != null) response.header(HTTPHeaders.CACHE_CONTROL, cacheHeader);
         return response;
     }
@@ -38,4 +47,16 @@ public final class StaticFileController implements StaticContentController {
     public void cache(Duration maxAge) {
         cacheHeader = "public, max-age=" + maxAge.getSeconds();
     }
+
+    @Override
+    public void precompress() {
+        precompress = true;
+        replace(StaticFile.load(contentFile, true, budget));
+    }
+
+    private void replace(StaticFile file) {
+        StaticFile previous = this.file;
+        this.file = file;
+        budget.release(previous.memoryBytes());
+    }
 }
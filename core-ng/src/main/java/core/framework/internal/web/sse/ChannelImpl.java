@@ -11,16 +11,21 @@ import org.slf4j.LoggerFactory;
 import org.xnio.ChannelListener;
 import org.xnio.channels.StreamSinkChannel;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static core.framework.log.Markers.errorCode;
+
 class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelImpl.class);
 
@@ -30,7 +35,8 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
     final long startTime = System.nanoTime();
 
     final WriteListener writeListener = new WriteListener();
-    final Deque<byte[]> queue = new ConcurrentLinkedDeque<>();
+    final Deque<Event> queue = new ArrayDeque<>();     // guarded by lock
+    private final Map<String, Event> pendingEvents = new HashMap<>();     // queued events by coalesce key, guarded by lock
 
     private final ServerSentEventContextImpl<T> context;
     private final ServerSentEventBuilder<T> builder;
@@ -40,6 +46,8 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
     private final StreamSinkChannel sink;
 
     long lastSentTime = startTime;
+    long maxPendingBytes = ServerSentEventHandler.MAX_PENDING_BYTES;
+    volatile long pendingBytes;     // bytes queued or being written, client doesn't read fast enough if it keeps growing
     private volatile boolean closed = false;
 
     ChannelImpl(HttpServerExchange exchange, StreamSinkChannel sink, ServerSentEventContextImpl<T> context, ServerSentEventBuilder<T> builder, String refId) {
@@ -56,21 +64,62 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
         send(data);
     }
 
+    @Override
+    public void sendLatest(String key, T event) {
+        String data = builder.build(null, event);
+        send(key, data);
+    }
+
     void send(String data) {
+        send(null, data);
+    }
+
+    // with key, if event with same key is still in queue, which means client is slow, replace it with latest data
+    void send(@Nullable String key, String data) {
         if (closed) return;
 
         var watch = new StopWatch();
+        boolean evict;
         try {
-            queue.add(Strings.bytes(data));
+            byte[] bytes = Strings.bytes(data);
+            try {
+                lock.lock();
+                if (closed) return;
+                Event pendingEvent = key == null ? null : pendingEvents.get(key);
+                if (pendingEvent != null) {
+                    pendingBytes += bytes.length - pendingEvent.data.length;
+                    pendingEvent.data = bytes;
+                    if (context != null) context.coalescedEvents.increment();
+                } else {
+                    var event = new Event(key, bytes);
+                    queue.add(event);
+                    if (key != null) pendingEvents.put(key, event);
+                    pendingBytes += bytes.length;
+                }
+                evict = pendingBytes > maxPendingBytes;
+            } finally {
+                lock.unlock();
+            }
             lastSentTime = System.nanoTime();
-            exchange.getIoThread().execute(() -> writeListener.handleEvent(sink));
+            if (evict) {
+                evict();
+            } else {
+                exchange.getIoThread().execute(() -> writeListener.handleEvent(sink));
+            }
         } finally {
             long elapsed = watch.elapsed();
             ActionLogContext.track("sse", elapsed, 0, data.length());
-            LOGGER.debug("send sse data, channel={}, data={}, elapsed={}", id, data, elapsed); // message is not in json format, not masked, assume sse won't send any sensitive data
+            LOGGER.debug("send sse data, channel={}, key={}, data={}, elapsed={}", id, key, data, elapsed); // message is not in json format, not masked, assume sse won't send any sensitive data
         }
     }
 
+    // close channel if client can't keep up, client will reconnect with Last-Event-ID
+    private void evict() {
+        LOGGER.warn(errorCode("SLOW_SSE_CHANNEL"), "evict slow sse channel, channel={}, pendingBytes={}", id, pendingBytes);
+        if (context != null) context.evictedChannels.increment();
+        close();
+    }
+
     @Override
     public boolean isOpen() {
         return !closed;
@@ -85,6 +134,8 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
 
             closed = true;
             queue.clear();
+            pendingEvents.clear();
+            pendingBytes = 0;
             exchange.endExchange();
         } finally {
             lock.unlock();
@@ -101,13 +152,15 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
         context.leave(this, group);
     }
 
+    // must be called with lock
     ByteBuffer poll() {
         List<byte[]> bytes = new ArrayList<>(queue.size());
 
         while (true) {
-            var data = queue.poll();
-            if (data == null) break;
-            bytes.add(data);
+            Event event = queue.poll();
+            if (event == null) break;
+            if (event.key != null) pendingEvents.remove(event.key);
+            bytes.add(event.data);
         }
 
         if (bytes.size() == 1)
@@ -156,6 +209,7 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
                         return;
                     }
                     if (!buffer.hasRemaining()) {
+                        pendingBytes -= buffer.limit();
                         buffer = null;
                         channel.suspendWrites();
                         return;
@@ -169,5 +223,14 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T> {
             }
         }
     }
-}
 
+    static final class Event {
+        final String key;
+        byte[] data;
+
+        Event(String key, byte[] data) {
+            this.key = key;
+            this.data = data;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package core.framework.internal.web.sse;
 
+import core.framework.internal.web.bus.GroupBus;
 import core.framework.web.sse.Channel;
 import core.framework.web.sse.ServerSentEventContext;
 import org.slf4j.Logger;
@@ -9,11 +10,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ServerSentEventContextImpl<T> implements ServerSentEventContext<T> {
     final Map<String, Channel<T>> channels = new ConcurrentHashMap<>();
+    final LongAdder coalescedEvents = new LongAdder();
+    final LongAdder evictedChannels = new LongAdder();
     private final Logger logger = LoggerFactory.getLogger(ServerSentEventContextImpl.class);
     private final Map<String, Map<String, Channel<T>>> groups = new ConcurrentHashMap<>();
+    ServerSentEventBuilder<T> builder;
+    GroupBus bus = new GroupBus();
+    String scope;       // to identify context on group bus, e.g. "sse:/path"
 
     @Override
     public List<Channel<T>> all() {
@@ -28,17 +35,45 @@ public class ServerSentEventContextImpl<T> implements ServerSentEventContext<T>
         return new ArrayList<>(channels.values());
     }
 
+    // event is built once for all channels of group, with group bus, event is also published to other nodes
+    @Override
+    public void broadcast(String group, T event) {
+        if (!groups.containsKey(group) && !bus.enabled()) return;
+        String data = builder.build(null, event);
+        bus.publish(scope, group, data);
+        broadcastLocally(group, data);
+    }
+
+    void broadcastLocally(String group, String data) {
+        Map<String, Channel<T>> channels = groups.get(group);
+        if (channels == null) return;
+        for (Channel<T> channel : channels.values()) {
+            ((ChannelImpl<T>) channel).send(data);
+        }
+    }
+
     void join(ChannelImpl<T> channel, String group) {
         logger.debug("join group, channel={}, group={}", channel.id, group);
         channel.groups.add(group);
         groups.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).put(channel.id, channel);
+        bus.subscribe(scope, group, this::broadcastLocally);
     }
 
     void leave(ChannelImpl<T> channel, String group) {
         logger.debug("leave group, channel={}, group={}", channel.id, group);
         channel.groups.remove(group);
         Map<String, Channel<T>> channels = groups.get(group);
-        if (channels != null) channels.remove(channel.id);
+        if (channels != null) {
+            channels.remove(channel.id);
+            unsubscribe(group);
+        }
+    }
+
+    private void unsubscribe(String group) {
+        bus.unsubscribe(scope, group, () -> {
+            Map<String, Channel<T>> channels = groups.get(group);
+            return channels == null || channels.isEmpty();
+        });
     }
 
     void add(ChannelImpl<T> channel) {
@@ -57,6 +92,7 @@ public class ServerSentEventContextImpl<T> implements ServerSentEventContext<T>
                 // in case another channel was added before removal by another thread,
                 // previous will be null, if multiple channels close, all reach line 56 at same time
                 if (previous != null && !previous.isEmpty()) groups.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).putAll(previous);
+                unsubscribe(group);
             }
         }
     }
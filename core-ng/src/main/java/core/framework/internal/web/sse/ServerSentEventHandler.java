@@ -27,6 +27,7 @@ import java.util.Map;
 
 public class ServerSentEventHandler implements HttpHandler {
     static final long MAX_PROCESS_TIME_IN_NANO = Duration.ofSeconds(300).toNanos();    // persistent connection, use longer max process time, and background task keeps pinging the connection
+    static final long MAX_PENDING_BYTES = 1024 * 1024;     // evict channel if client doesn't read, to protect memory
 
     private static final HttpString LAST_EVENT_ID = new HttpString("Last-Event-ID");
     private final Logger logger = LoggerFactory.getLogger(ServerSentEventHandler.class);
@@ -34,6 +35,7 @@ public class ServerSentEventHandler implements HttpHandler {
     private final SessionManager sessionManager;
     private final HTTPHandlerContext handlerContext;
     private final Map<String, ChannelSupport<?>> supports = new HashMap<>();
+    public long maxPendingBytes = MAX_PENDING_BYTES;
 
     public ServerSentEventHandler(LogManager logManager, SessionManager sessionManager, HTTPHandlerContext handlerContext) {
         this.logManager = logManager;
@@ -83,6 +85,7 @@ public class ServerSentEventHandler implements HttpHandler {
             handlerContext.rateControl.validateRate(ServerSentEventConfig.SSE_OPEN_GROUP, request.clientIP());
 
             var channel = new ChannelImpl<>(exchange, sink, support.context, support.builder, actionLog.id);
+            channel.maxPendingBytes = maxPendingBytes;
             actionLog.context("channel", channel.id);
             sink.getWriteSetter().set(channel.writeListener);
             support.context.add(channel);
@@ -105,8 +108,12 @@ public class ServerSentEventHandler implements HttpHandler {
     }
 
     public <T> void add(String path, Class<T> eventClass, ChannelListener<T> listener, ServerSentEventContextImpl<T> context) {
-        var previous = supports.put(path, new ChannelSupport<>(listener, eventClass, context));
+        var support = new ChannelSupport<>(listener, eventClass, context);
+        var previous = supports.put(path, support);
         if (previous != null) throw new Error("found duplicate sse listener, path=" + path);
+        context.builder = support.builder;
+        context.bus = handlerContext.groupBus;
+        context.scope = "sse:" + path;
     }
 
     public void shutdown() {
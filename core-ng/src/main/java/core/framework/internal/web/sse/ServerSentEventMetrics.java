@@ -2,6 +2,7 @@ package core.framework.internal.web.sse;
 
 import core.framework.internal.stat.Metrics;
 import core.framework.internal.stat.Stats;
+import core.framework.web.sse.Channel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +16,27 @@ public class ServerSentEventMetrics implements Metrics {
     @Override
     public void collect(Stats stats) {
         int count = 0;
+        int laggingChannels = 0;
+        long pendingBytes = 0;
+        long maxPendingBytes = 0;
+        long coalescedEvents = 0;
+        long evictedChannels = 0;
         for (ServerSentEventContextImpl<?> context : contexts) {
             count += context.channels.size();
+            for (Channel<?> channel : context.channels.values()) {
+                long bytes = ((ChannelImpl<?>) channel).pendingBytes;
+                if (bytes > 0) laggingChannels++;
+                pendingBytes += bytes;
+                maxPendingBytes = Math.max(maxPendingBytes, bytes);
+            }
+            coalescedEvents += context.coalescedEvents.sumThenReset();
+            evictedChannels += context.evictedChannels.sumThenReset();
         }
         stats.put("sse_active_channels", count);
+        stats.put("sse_lagging_channels", laggingChannels);
+        stats.put("sse_pending_bytes", pendingBytes);
+        stats.put("sse_max_pending_bytes", maxPendingBytes);
+        stats.put("sse_coalesced_events", coalescedEvents);
+        stats.put("sse_evicted_channels", evictedChannels);
     }
 }
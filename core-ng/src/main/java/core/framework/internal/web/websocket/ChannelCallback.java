@@ -9,15 +9,28 @@ import org.slf4j.LoggerFactory;
  * @author neo
  */
 class ChannelCallback implements WebSocketCallback<Void> {
-    static final ChannelCallback INSTANCE = new ChannelCallback();
+    static final ChannelCallback INSTANCE = new ChannelCallback(false);
+    static final ChannelCallback SEND = new ChannelCallback(true);    // for message sent via ChannelImpl, to track pending messages
     private final Logger logger = LoggerFactory.getLogger(ChannelCallback.class);
+    private final boolean trackPendingMessages;
+
+    ChannelCallback(boolean trackPendingMessages) {
+        this.trackPendingMessages = trackPendingMessages;
+    }
 
     @Override
     public void complete(WebSocketChannel channel, Void context) {
+        if (trackPendingMessages) sent(channel);
     }
 
     @Override
     public void onError(WebSocketChannel channel, Void context, Throwable exception) {
+        if (trackPendingMessages) sent(channel);
         logger.warn(exception.getMessage(), exception);
     }
+
+    private void sent(WebSocketChannel channel) {
+        var wrapper = (ChannelImpl<?, ?>) channel.getAttribute(WebSocketHandler.CHANNEL_KEY);
+        if (wrapper != null) wrapper.pendingMessages.decrementAndGet();
+    }
 }
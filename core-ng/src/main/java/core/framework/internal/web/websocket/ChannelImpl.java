@@ -5,17 +5,21 @@ import core.framework.log.ActionLogContext;
 import core.framework.util.Sets;
 import core.framework.util.StopWatch;
 import core.framework.web.websocket.Channel;
+import core.framework.web.websocket.SlowChannelPolicy;
 import io.undertow.websockets.core.CloseMessage;
 import io.undertow.websockets.core.WebSocketChannel;
 import io.undertow.websockets.core.WebSockets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.IoUtils;
 
 import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author neo
@@ -27,6 +31,7 @@ public class ChannelImpl<T, V> implements Channel<V>, Channel.Context {
     final Set<String> groups = Sets.newConcurrentHashSet();
     final long startTime = System.nanoTime();
     final ChannelSupport<T, V> support;
+    final AtomicInteger pendingMessages = new AtomicInteger();     // messages queued but not written to socket yet, to detect slow channel
 
     private final WebSocketChannel channel;
     private final Map<String, Object> context = new ConcurrentHashMap<>();
@@ -54,7 +59,8 @@ public class ChannelImpl<T, V> implements Channel<V>, Channel.Context {
         if (channel.isCloseFrameSent() || channel.isCloseFrameReceived()) return;
 
         try {
-            WebSockets.sendText(text, channel, ChannelCallback.INSTANCE);
+            pendingMessages.incrementAndGet();
+            WebSockets.sendText(text, channel, ChannelCallback.SEND);
         } finally {
             long elapsed = watch.elapsed();
             ActionLogContext.track("ws", elapsed, 0, text.length());
@@ -62,6 +68,25 @@ public class ChannelImpl<T, V> implements Channel<V>, Channel.Context {
         }
     }
 
+    // payload is shared by all channels of broadcast, undertow only builds frame header per channel, return false if message is not sent due to slow channel
+    boolean broadcast(ByteBuffer payload, WebSocketBroadcast broadcast) {
+        if (channel.isCloseFrameSent() || channel.isCloseFrameReceived()) return true;
+
+        if (pendingMessages.incrementAndGet() > broadcast.maxPendingMessages) {
+            pendingMessages.decrementAndGet();
+            if (broadcast.slowChannelPolicy == SlowChannelPolicy.CLOSE_CHANNEL) {
+                LOGGER.warn("close slow ws channel, channel={}, pendingMessages={}", id, pendingMessages.get());
+                broadcast.closedChannels.increment();
+                IoUtils.safeClose(channel);     // close connection directly, close frame would be queued behind pending messages
+            } else {
+                broadcast.droppedMessages.increment();
+            }
+            return false;
+        }
+        WebSockets.sendText(payload, channel, ChannelCallback.SEND);
+        return true;
+    }
+
     @Override
     public void close() {
         var watch = new StopWatch();
@@ -0,0 +1,27 @@
+package core.framework.internal.web.websocket;
+
+import core.framework.web.websocket.SlowChannelPolicy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * shared by all ws contexts, holds slow channel policy and broadcast stats
+ *
+ * @author neo
+ */
+public final class WebSocketBroadcast {
+    final LongAdder count = new LongAdder();
+    final LongAdder elapsed = new LongAdder();
+    final AtomicLong maxElapsed = new AtomicLong();
+    final LongAdder droppedMessages = new LongAdder();
+    final LongAdder closedChannels = new LongAdder();
+    public int maxPendingMessages = 1000;
+    public SlowChannelPolicy slowChannelPolicy = SlowChannelPolicy.DROP_MESSAGE;
+
+    void track(long elapsed) {
+        count.increment();
+        this.elapsed.add(elapsed);
+        maxElapsed.accumulateAndGet(elapsed, Math::max);
+    }
+}
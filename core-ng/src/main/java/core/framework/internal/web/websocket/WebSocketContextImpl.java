@@ -1,10 +1,15 @@
 package core.framework.internal.web.websocket;
 
+import core.framework.internal.web.bus.GroupBus;
+import core.framework.log.ActionLogContext;
+import core.framework.util.Strings;
+import core.framework.util.StopWatch;
 import core.framework.web.websocket.Channel;
 import core.framework.web.websocket.WebSocketContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +22,10 @@ public class WebSocketContextImpl<T> implements WebSocketContext<T> {
     private final Logger logger = LoggerFactory.getLogger(WebSocketContextImpl.class);
     private final Map<String, Channel<T>> channels = new ConcurrentHashMap<>();
     private final Map<String, Map<String, Channel<T>>> groups = new ConcurrentHashMap<>();
+    ChannelSupport<?, T> support;
+    WebSocketBroadcast broadcast = new WebSocketBroadcast();
+    GroupBus bus = new GroupBus();
+    String scope;       // to identify context on group bus, e.g. "ws:/path"
 
     @Override
     public List<Channel<T>> all() {
@@ -31,17 +40,59 @@ public class WebSocketContextImpl<T> implements WebSocketContext<T> {
         return new ArrayList<>(channels.values());
     }
 
+    // encode message once into direct buffer, and send to each channel asynchronously without copying group channels,
+    // with group bus, message is also published to other nodes
+    @Override
+    public void broadcast(String group, T message) {
+        if (!groups.containsKey(group) && !bus.enabled()) return;
+        String text = support.toServerMessage(message);
+        bus.publish(scope, group, text);
+        broadcastLocally(group, text);
+    }
+
+    void broadcastLocally(String group, String message) {
+        var watch = new StopWatch();
+        Map<String, Channel<T>> channels = groups.get(group);
+        if (channels == null) return;
+        byte[] bytes = Strings.bytes(message);
+        ByteBuffer payload = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();   // direct buffer is written to socket without copying
+        int sent = 0;
+        int skipped = 0;
+        try {
+            for (Channel<T> channel : channels.values()) {
+                if (((ChannelImpl<?, T>) channel).broadcast(payload.duplicate(), broadcast)) sent++;
+                else skipped++;
+            }
+        } finally {
+            long elapsed = watch.elapsed();
+            broadcast.track(elapsed);
+            ActionLogContext.track("ws", elapsed, 0, sent);
+            logger.debug("broadcast ws message, group={}, size={}, sent={}, skipped={}, elapsed={}", group, bytes.length, sent, skipped, elapsed);
+        }
+    }
+
     void join(ChannelImpl<?, T> channel, String group) {
         logger.debug("join group, channel={}, group={}", channel.id, group);
         channel.groups.add(group);
         groups.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).put(channel.id, channel);
+        bus.subscribe(scope, group, this::broadcastLocally);
     }
 
     void leave(ChannelImpl<?, T> channel, String group) {
         logger.debug("leave group, channel={}, group={}", channel.id, group);
         channel.groups.remove(group);
         Map<String, Channel<T>> channels = groups.get(group);
-        if (channels != null) channels.remove(channel.id);
+        if (channels != null) {
+            channels.remove(channel.id);
+            unsubscribe(group);
+        }
+    }
+
+    private void unsubscribe(String group) {
+        bus.unsubscribe(scope, group, () -> {
+            Map<String, Channel<T>> channels = groups.get(group);
+            return channels == null || channels.isEmpty();
+        });
     }
 
     void add(ChannelImpl<?, T> channel) {
@@ -60,6 +111,7 @@ public class WebSocketContextImpl<T> implements WebSocketContext<T> {
                 // in case another channel was added before removal by another thread,
                 // previous will be null, if multiple channels close, all reach line 59 at same time
                 if (previous != null && !previous.isEmpty()) groups.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).putAll(previous);
+                unsubscribe(group);
             }
         }
     }
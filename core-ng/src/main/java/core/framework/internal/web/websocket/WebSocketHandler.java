@@ -43,6 +43,7 @@ public class WebSocketHandler implements HttpHandler {
     // passes to AsyncWebSocketHttpServerExchange as peerConnections, channel will remove self on close
     // refer to io.undertow.websockets.core.WebSocketChannel.WebSocketChannel
     final Set<WebSocketChannel> channels = Sets.newConcurrentHashSet();
+    public final WebSocketBroadcast broadcast = new WebSocketBroadcast();
 
     private final Logger logger = LoggerFactory.getLogger(WebSocketHandler.class);
     private final Handshake handshake = new Hybi13Handshake();
@@ -155,7 +156,12 @@ public class WebSocketHandler implements HttpHandler {
     }
 
     public <T, V> void add(String path, Class<T> clientMessageClass, Class<V> serverMessageClass, ChannelListener<T, V> listener, WebSocketContextImpl<V> context) {
-        ChannelSupport<?, ?> previous = supports.putIfAbsent(path, new ChannelSupport<>(clientMessageClass, serverMessageClass, listener, context));
+        var support = new ChannelSupport<>(clientMessageClass, serverMessageClass, listener, context);
+        ChannelSupport<?, ?> previous = supports.putIfAbsent(path, support);
         if (previous != null) throw new Error(format("found duplicate websocket listener, path={}, previousListener={}", path, previous.listener.getClass().getCanonicalName()));
+        context.support = support;
+        context.broadcast = broadcast;
+        context.bus = handlerContext.groupBus;
+        context.scope = "ws:" + path;
     }
 }
@@ -16,5 +16,17 @@ public class WebSocketMetrics implements Metrics {
     @Override
     public void collect(Stats stats) {
         stats.put("ws_active_channels", handler.channels.size());
+
+        WebSocketBroadcast broadcast = handler.broadcast;
+        long count = broadcast.count.sumThenReset();
+        if (count > 0) {
+            stats.put("ws_broadcast_count", count);
+            stats.put("ws_broadcast_elapsed", broadcast.elapsed.sumThenReset() / (double) count);   // average fan-out latency
+            stats.put("ws_broadcast_max_elapsed", broadcast.maxElapsed.getAndSet(0));
+        }
+        long droppedMessages = broadcast.droppedMessages.sumThenReset();
+        if (droppedMessages > 0) stats.put("ws_dropped_messages", droppedMessages);
+        long closedChannels = broadcast.closedChannels.sumThenReset();
+        if (closedChannels > 0) stats.put("ws_closed_slow_channels", closedChannels);
     }
 }
@@ -1,13 +1,17 @@
 package core.framework.module;
 
+import core.framework.async.Executor;
 import core.framework.cache.Cache;
 import core.framework.http.HTTPMethod;
 import core.framework.internal.cache.CacheClassValidator;
+import core.framework.internal.cache.CacheCodecMetrics;
 import core.framework.internal.cache.CacheImpl;
 import core.framework.internal.cache.CacheStore;
 import core.framework.internal.cache.LocalCacheMetrics;
 import core.framework.internal.cache.LocalCacheStore;
+import core.framework.internal.cache.NearCacheInvalidator;
 import core.framework.internal.cache.RedisCacheStore;
+import core.framework.internal.cache.TieredCacheStore;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
@@ -32,7 +36,11 @@ public class CacheConfig extends Config {
 
     private ModuleContext context;
     private LocalCacheStore localCacheStore;
+    private LocalCacheMetrics localCacheMetrics;
     private CacheStore redisCacheStore;
+    private RedisImpl redis;
+    private NearCacheInvalidator nearCacheInvalidator;
+    private CacheCodecMetrics codecMetrics;
     private int maxLocalSize;
 
     @Override
@@ -53,7 +61,7 @@ public class CacheConfig extends Config {
         }
         // maxLocalSize() can be configured before localCacheStore is created, so set max size at end
         if (maxLocalSize > 0 && localCacheStore != null) {
-            localCacheStore.maxSize = maxLocalSize;
+            localCacheStore.maxSize(maxLocalSize);
         }
     }
 
@@ -85,6 +93,19 @@ public class CacheConfig extends Config {
         return new CacheStoreConfig(cache, this);
     }
 
+    Executor executor() {
+        if (context.executor == null) throw new Error("executor is not initialized, refreshAfter requires executor of module");
+        return context.executor;
+    }
+
+    CacheCodecMetrics codecMetrics() {
+        if (codecMetrics == null) {
+            codecMetrics = new CacheCodecMetrics();
+            context.collector.metrics.add(codecMetrics);
+        }
+        return codecMetrics;
+    }
+
     // number of objects to cache
     public void maxLocalSize(int size) {
         maxLocalSize = size;
@@ -106,6 +127,7 @@ public class CacheConfig extends Config {
         context.backgroundTask().scheduleWithFixedDelay(redis.pool::refresh, Duration.ofMinutes(5));
         context.collector.metrics.add(new PoolMetrics(redis.pool));
         redisCacheStore = new RedisCacheStore(redis);
+        this.redis = redis;
     }
 
     LocalCacheStore localCacheStore() {
@@ -113,9 +135,24 @@ public class CacheConfig extends Config {
             logger.info("create local cache store");
             var localCacheStore = new LocalCacheStore();
             context.backgroundTask().scheduleWithFixedDelay(localCacheStore::cleanup, Duration.ofMinutes(5));
-            context.collector.metrics.add(new LocalCacheMetrics(localCacheStore));
+            localCacheMetrics = new LocalCacheMetrics(localCacheStore);
+            context.collector.metrics.add(localCacheMetrics);
             this.localCacheStore = localCacheStore;
         }
         return localCacheStore;
     }
+
+    TieredCacheStore nearCacheStore(CacheStore redisCacheStore, Duration localDuration) {
+        LocalCacheStore localCacheStore = localCacheStore();
+        if (nearCacheInvalidator == null) {
+            logger.info("create near cache invalidator");
+            var invalidator = new NearCacheInvalidator(redis, localCacheStore);
+            context.startupHook.start.add(invalidator::start);
+            context.shutdownHook.add(ShutdownHook.STAGE_6, timeout -> invalidator.close());
+            nearCacheInvalidator = invalidator;
+        }
+        var store = new TieredCacheStore(localCacheStore, redisCacheStore, nearCacheInvalidator, localDuration);
+        localCacheMetrics.tieredCacheStores.add(store);
+        return store;
+    }
 }
@@ -3,6 +3,8 @@ package core.framework.module;
 import core.framework.internal.cache.CacheImpl;
 import core.framework.internal.cache.RedisCacheStore;
 
+import java.time.Duration;
+
 /**
  * @author neo
  */
@@ -23,4 +25,39 @@ public class CacheStoreConfig {
             cache.cacheStore = config.localCacheStore();
         }
     }
+
+    // for hot caches, keep local copy in front of redis, which saves redis round trip and deserialization on hit,
+    // put/evict broadcasts invalidation to all nodes via redis pub/sub, localDuration limits staleness if invalidation message is lost
+    // with local cache store (e.g. in integration test), it keeps using local cache store
+    public void near(Duration localDuration) {
+        if (cache.cacheStore instanceof RedisCacheStore) {
+            cache.cacheStore = config.nearCacheStore(cache.cacheStore, localDuration);
+        }
+    }
+
+    // use compact binary format generated from cache class instead of json for redis, which is smaller and faster to serialize/deserialize,
+    // values with encoded size >= 1024 bytes are compressed with LZ4, data written by json or different version of class is treated as invalid and reloaded
+    public void binary() {
+        binary(1024);
+    }
+
+    // compressionThreshold <= 0 disables compression
+    public void binary(int compressionThreshold) {
+        config.codecMetrics().codecs.add(cache.binaryCodec(compressionThreshold));
+    }
+
+    // max time to wait for value being loaded by other caller of same key, after that load by self, default is 10s,
+    // should be longer than normal loading time, e.g. db query timeout
+    public void loadTimeout(Duration timeout) {
+        if (timeout.toMillis() <= 0) throw new Error("loadTimeout must be greater than 0, timeout=" + timeout);
+        cache.loadTimeoutInMs = timeout.toMillis();
+    }
+
+    // for read mostly data, return value older than refreshAfter right away and reload in background with executor, to not block request by loader,
+    // value older than cache duration is still loaded synchronously, it only applies to get(key, loader)
+    public void refreshAfter(Duration refreshAfter) {
+        if (refreshAfter.compareTo(cache.duration) >= 0) throw new Error("refreshAfter must be shorter than cache duration, refreshAfter=" + refreshAfter + ", duration=" + cache.duration);
+        cache.refreshAfter = refreshAfter;
+        cache.executor = config.executor();
+    }
 }
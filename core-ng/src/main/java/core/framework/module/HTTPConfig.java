@@ -5,10 +5,17 @@ import core.framework.internal.inject.InjectValidator;
 import core.framework.internal.json.JSONClassValidator;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
+import core.framework.internal.module.ShutdownHook;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.resource.PoolMetrics;
+import core.framework.internal.web.ConcurrencyLimiter;
 import core.framework.internal.web.HTTPHost;
 import core.framework.internal.web.HTTPIOHandler;
 import core.framework.internal.web.bean.RequestBeanReader;
 import core.framework.internal.web.bean.ResponseBeanWriter;
+import core.framework.internal.web.bus.GroupBus;
+import core.framework.internal.web.bus.GroupBusMetrics;
+import core.framework.internal.web.controller.ControllerHolder;
 import core.framework.web.Controller;
 import core.framework.web.ErrorHandler;
 import core.framework.web.Interceptor;
@@ -17,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 
+import static core.framework.util.Strings.format;
+
 /**
  * @author neo
  */
@@ -111,11 +120,57 @@ public final class HTTPConfig extends Config {
         context.httpServerConfig.gzip = true;
     }
 
+    // small body gains little from compression, e.g. it fits in one tcp packet anyway, but still costs deflater cpu, default is 200 bytes
+    public void gzip(int minLength) {
+        if (minLength < 0) throw new Error("minLength must not be negative, minLength=" + minLength);
+        context.httpServerConfig.gzip = true;
+        context.httpServerConfig.gzipMinLength = minLength;
+    }
+
     // use backend timeout of cloud lb
     public void maxProcessTime(Duration maxProcessTime) {
         context.httpServer.handler.maxProcessTimeInNano = maxProcessTime.toNanos();
     }
 
+    // limit concurrent requests per route, limit adapts between 1 and maxConcurrency by latency of route,
+    // requests take longer than latency reduce limit, requests exceed limit are rejected with 503 and Retry-After
+    public void limitConcurrency(int maxConcurrency, Duration latency) {
+        if (maxConcurrency < 1) throw new Error("maxConcurrency must be greater than 0, maxConcurrency=" + maxConcurrency);
+        context.httpServer.handler.concurrencyLimiter = new ConcurrencyLimiter(maxConcurrency, latency);
+    }
+
+    // override maxConcurrency of one route, e.g. lower for expensive route, path is the registered pattern of http route or web service, e.g. /user/:id,
+    // must configure limitConcurrency(maxConcurrency, latency) and register route first
+    public void limitConcurrency(HTTPMethod method, String path, int maxConcurrency) {
+        ConcurrencyLimiter limiter = context.httpServer.handler.concurrencyLimiter;
+        if (limiter == null) throw new Error("concurrency limit is not configured, please configure limitConcurrency(maxConcurrency, latency) first");
+        if (maxConcurrency < 1) throw new Error("maxConcurrency must be greater than 0, maxConcurrency=" + maxConcurrency);
+        ControllerHolder controller = context.httpServer.handler.route.controller(method, path);
+        if (controller == null) throw new Error(format("route not found, please register route first, method={}, path={}", method, path));
+        limiter.maxLimit(controller.action, maxConcurrency);
+    }
+
+    // deliver ws/sse group broadcast to channels on all nodes via redis pub/sub, node only subscribes groups have local channels
+    public void groupBus(String redisHost) {
+        GroupBus bus = context.httpServer.handlerContext.groupBus;
+        if (bus.enabled()) throw new Error("group bus is already configured");
+        logger.info("create group bus, redisHost={}", redisHost);
+
+        var redis = new RedisImpl("redis-group-bus");
+        redis.host(redisHost);
+        context.backgroundTask().scheduleWithFixedDelay(redis.pool::refresh, Duration.ofMinutes(5));
+        context.collector.metrics.add(new PoolMetrics(redis.pool));
+        context.collector.metrics.add(new GroupBusMetrics(bus));
+        context.probe.hostURIs.add(redisHost);
+
+        bus.redis(redis);
+        context.startupHook.start.add(bus::start);
+        context.shutdownHook.add(ShutdownHook.STAGE_6, timeout -> {
+            bus.close();
+            redis.close();
+        });
+    }
+
     // to configure max body size for both regular post and multipart upload
     public void maxEntitySize(long maxEntitySize) {
         context.httpServerConfig.maxEntitySize = maxEntitySize;
@@ -134,6 +134,19 @@ public class KafkaConfig extends Config {
         listener().concurrency = concurrency;
     }
 
+    // dispatch records to virtual threads as soon as polled, instead of processing poll batch as whole,
+    // records with same key are still handled in order, slow message only blocks messages with same key, not whole partition,
+    // offsets are committed up to first uncompleted record, so records completed after it may be redelivered after restart or rebalance
+    public void parallelConsumer() {
+        listener().parallel = true;
+    }
+
+    // parse message value from fetched records buffer without copying to byte[] per message, for high volume topics,
+    // message value is only logged with trace, as debug logs of large payloads are expensive to keep and flush
+    public void zeroCopyConsumer() {
+        listener().zeroCopy = true;
+    }
+
     // to increase max message size, both producer and broker sides have size limitation
     // for broker
     // use "--override message.max.bytes=size", refer to https://kafka.apache.org/documentation/#message.max.bytes
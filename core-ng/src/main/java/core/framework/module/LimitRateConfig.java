@@ -2,8 +2,14 @@ package core.framework.module;
 
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
+import core.framework.internal.module.ShutdownHook;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.resource.PoolMetrics;
 import core.framework.internal.web.http.LimitRateInterceptor;
 import core.framework.internal.web.http.RateControl;
+import core.framework.internal.web.http.RedisRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 
@@ -11,11 +17,14 @@ import java.time.Duration;
  * @author neo
  */
 public final class LimitRateConfig extends Config {
+    private final Logger logger = LoggerFactory.getLogger(LimitRateConfig.class);
+    private ModuleContext context;
     private boolean rateControlGroupAdded;
     private RateControl rateControl;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
+        this.context = context;
         rateControl = context.httpServer.handlerContext.rateControl;
         // save at max 5K group/ip combination per pod, about 800K memory, to adapt with more ips/cc attack, better defense with cloud infra based solution together
         maxEntries(5000);
@@ -41,4 +50,37 @@ public final class LimitRateConfig extends Config {
         rateControl.config(group, maxPermits, fillRate, interval);
         rateControlGroupAdded = true;
     }
+
+    // allow maxRequests within any window, it's accurate without boundary burst, but keeps timestamp of each request per group/ip, so maxRequests should be small
+    // e.g. addSlidingWindow("login", 5, Duration.ofMinutes(1)) allows 5 requests in any 1 minute
+    public void addSlidingWindow(String group, int maxRequests, Duration window) {
+        if (maxRequests < 1 || maxRequests > 1000) throw new Error("maxRequests must be between 1 and 1000, maxRequests=" + maxRequests);
+        rateControl.configSlidingWindow(group, maxRequests, window);
+        rateControlGroupAdded = true;
+    }
+
+    // GCRA, allow rate requests per interval evenly spaced, and burst requests at once, keeps single timestamp per group/ip
+    // e.g. addGCRA("api", 10, Duration.ofSeconds(1), 20) allows 1 request per 100ms, and 20 requests at once after idle
+    public void addGCRA(String group, int rate, Duration interval, int burst) {
+        if (rate < 1) throw new Error("rate must be greater than 0, rate=" + rate);
+        if (burst < 1) throw new Error("burst must be greater than 0, burst=" + burst);
+        rateControl.configGCRA(group, rate, interval, burst);
+        rateControlGroupAdded = true;
+    }
+
+    // share GCRA groups across all pods via redis, other groups are still limited per pod
+    // pod rejects clearly over limit client locally, reserves permits from redis in batch for under limit client, and falls back to local rate if redis is down
+    public void redis(String host) {
+        logger.info("create redis rate limiter, host={}", host);
+
+        var redis = new RedisImpl("redis-rate-limit");
+        redis.host(host);
+        redis.timeout(Duration.ofMillis(500));     // rate check is on request path, fallback to local rate quickly if redis is slow
+        context.backgroundTask().scheduleWithFixedDelay(redis.pool::refresh, Duration.ofMinutes(5));
+        context.collector.metrics.add(new PoolMetrics(redis.pool));
+
+        context.probe.hostURIs.add(host);
+        context.shutdownHook.add(ShutdownHook.STAGE_6, timeout -> redis.close());
+        rateControl.redisRateLimiter = new RedisRateLimiter(redis);
+    }
 }
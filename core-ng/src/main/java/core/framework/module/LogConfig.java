@@ -2,6 +2,7 @@ package core.framework.module;
 
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.log.CollectStatTask;
+import core.framework.internal.log.TraceSampler;
 import core.framework.internal.log.appender.ConsoleAppender;
 import core.framework.internal.log.appender.KafkaAppender;
 import core.framework.internal.module.Config;
@@ -16,6 +17,7 @@ import java.time.Duration;
  */
 public class LogConfig extends Config {
     private ModuleContext context;
+    private KafkaAppender kafkaAppender;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
@@ -32,6 +34,31 @@ public class LogConfig extends Config {
         context.startupHook.start.add(appender::start);
         context.shutdownHook.add(ShutdownHook.STAGE_7, appender::stop);
         context.collector.metrics.add(appender.producerMetrics);
+        context.collector.metrics.add(appender.forwarderMetrics);
+        kafkaAppender = appender;
+    }
+
+    // log messages are buffered in memory before sending to kafka, new messages are dropped if buffer is full, e.g. kafka is not available
+    // with sampling, only keep 1 of every 10 action logs with OK result once buffer is half full
+    public void kafkaBuffer(int capacity, boolean sampling) {
+        if (kafkaAppender == null) throw new Error("kafka log appender is not configured, please call appendToKafka() first");
+        if (capacity <= 0) throw new Error("capacity must be greater than 0, capacity=" + capacity);
+        kafkaAppender.buffer(capacity, sampling);
+    }
+
+    // tail based trace sampling, by default trace is only flushed for WARN/ERROR action or with trace header,
+    // this keeps trace of slowest percent of each action (by elapsed or total IO elapsed), plus random sampleRate (0 to 1) of other actions
+    public void sampleTrace(double slowestPercent, double sampleRate) {
+        if (slowestPercent < 0 || slowestPercent > 100) throw new Error("slowestPercent must be between 0 and 100, slowestPercent=" + slowestPercent);
+        if (sampleRate < 0 || sampleRate > 1) throw new Error("sampleRate must be between 0 and 1, sampleRate=" + sampleRate);
+        context.logManager.traceSampler = new TraceSampler(slowestPercent, sampleRate);
+    }
+
+    // send action log in compact binary format instead of json, to reduce cpu and size,
+    // all consumers of action log topic (log-processor, log-exporter, monitor) must be upgraded to this version first
+    public void kafkaBinaryFormat() {
+        if (kafkaAppender == null) throw new Error("kafka log appender is not configured, please call appendToKafka() first");
+        kafkaAppender.binary();
     }
 
     public void appender(LogAppender appender) {
@@ -4,6 +4,7 @@ import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
 import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisMultiplexerMetrics;
 import core.framework.internal.resource.PoolMetrics;
 import core.framework.redis.Redis;
 import org.slf4j.Logger;
@@ -20,6 +21,8 @@ public class RedisConfig extends Config {
     private Redis redis;
     private String name;
     private String host;
+    private boolean poolSizeConfigured;
+    private boolean multiplexed;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
@@ -60,7 +63,20 @@ public class RedisConfig extends Config {
     }
 
     public void poolSize(int minSize, int maxSize) {
+        if (multiplexed) throw new Error("poolSize must not be configured with multiplex, name=" + name);
         ((RedisImpl) redis).pool.size(minSize, maxSize);
+        poolSizeConfigured = true;
+    }
+
+    // share given number of connections with all concurrent callers instead of pool, replies are matched to requests in FIFO order,
+    // with virtual threads, concurrency is not limited by pool size, so it must not be used with poolSize()
+    public void multiplex(int connections) {
+        if (multiplexed) throw new Error("multiplex is already configured, name=" + name);
+        if (poolSizeConfigured) throw new Error("multiplex must not be configured with poolSize, name=" + name);
+        multiplexed = true;
+        RedisImpl redis = (RedisImpl) this.redis;
+        redis.multiplex(connections);
+        context.collector.metrics.add(new RedisMultiplexerMetrics(redis));
     }
 
     public void timeout(Duration timeout) {
@@ -47,19 +47,30 @@ public class ServerSentEventConfig extends Config {
 
         logger.info("sse, path={}, eventClass={}, listener={}", path, eventClass.getCanonicalName(), listener.getClass().getCanonicalName());
 
-        if (context.httpServer.sseHandler == null) {
-            context.httpServer.sseHandler = new ServerSentEventHandler(context.logManager, context.httpServer.siteManager.sessionManager, context.httpServer.handlerContext);
-            metrics = new ServerSentEventMetrics();
-            context.collector.metrics.add(metrics);
-        }
+        ServerSentEventHandler handler = handler();
 
         context.beanClassValidator.validate(eventClass);
         context.apiController.beanClasses.add(eventClass);
 
         var sseContext = new ServerSentEventContextImpl<T>();
-        context.httpServer.sseHandler.add(path, eventClass, listener, sseContext);
+        handler.add(path, eventClass, listener, sseContext);
         context.beanFactory.bind(Types.generic(ServerSentEventContext.class, eventClass), null, sseContext);
         metrics.contexts.add(sseContext);
         context.backgroundTask().scheduleWithFixedDelay(sseContext::keepAlive, Duration.ofSeconds(15));
     }
+
+    // max bytes queued per channel, channel is closed if client doesn't read fast enough, and client will reconnect with Last-Event-ID
+    public void maxPendingBytes(long maxPendingBytes) {
+        if (maxPendingBytes < 1024) throw new Error("maxPendingBytes must not be less than 1024, maxPendingBytes=" + maxPendingBytes);
+        handler().maxPendingBytes = maxPendingBytes;
+    }
+
+    private ServerSentEventHandler handler() {
+        if (context.httpServer.sseHandler == null) {
+            context.httpServer.sseHandler = new ServerSentEventHandler(context.logManager, context.httpServer.siteManager.sessionManager, context.httpServer.handlerContext);
+            metrics = new ServerSentEventMetrics();
+            context.collector.metrics.add(metrics);
+        }
+        return context.httpServer.sseHandler;
+    }
 }
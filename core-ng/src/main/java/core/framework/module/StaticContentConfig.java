@@ -18,4 +18,10 @@ public final class StaticContentConfig {
         if (maxAge == null || maxAge.getSeconds() <= 0) throw new Error("maxAge must be greater than 0, maxAge=" + maxAge);
         controller.cache(maxAge);
     }
+
+    // serve precompressed variants (.br/.zst/.gz next to file) by Accept-Encoding, and build gzip variants of text files in memory on startup,
+    // without this, only existing variant files are served, and text files are compressed on every request if http().gzip() is enabled
+    public void precompress() {
+        controller.precompress();
+    }
 }
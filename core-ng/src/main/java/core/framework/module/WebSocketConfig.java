@@ -9,6 +9,7 @@ import core.framework.internal.web.websocket.WebSocketHandler;
 import core.framework.internal.web.websocket.WebSocketMetrics;
 import core.framework.util.Types;
 import core.framework.web.websocket.ChannelListener;
+import core.framework.web.websocket.SlowChannelPolicy;
 import core.framework.web.websocket.WebSocketContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,11 +50,7 @@ public final class WebSocketConfig extends Config {
         logger.info("ws, path={}, clientMessageClass={}, serverMessageClass={}, listener={}",
             path, clientMessageClass.getCanonicalName(), serverMessageClass.getCanonicalName(), listener.getClass().getCanonicalName());
 
-        if (context.httpServer.webSocketHandler == null) {
-            context.httpServer.webSocketHandler = new WebSocketHandler(context.logManager, context.httpServer.siteManager.sessionManager, context.httpServer.handlerContext);
-
-            context.collector.metrics.add(new WebSocketMetrics(context.httpServer.webSocketHandler));
-        }
+        WebSocketHandler handler = handler();
 
         context.beanClassValidator.validate(clientMessageClass);
         context.beanClassValidator.validate(serverMessageClass);
@@ -62,6 +59,23 @@ public final class WebSocketConfig extends Config {
 
         WebSocketContextImpl<V> webSocketContext = new WebSocketContextImpl<>();
         context.beanFactory.bind(Types.generic(WebSocketContext.class, serverMessageClass), null, webSocketContext);
-        context.httpServer.webSocketHandler.add(path, clientMessageClass, serverMessageClass, listener, webSocketContext);
+        handler.add(path, clientMessageClass, serverMessageClass, listener, webSocketContext);
+    }
+
+    // channel is slow if it has more than maxPendingMessages not written to socket, broadcast to slow channel either drops message or closes channel
+    public void slowChannel(int maxPendingMessages, SlowChannelPolicy policy) {
+        if (maxPendingMessages < 1) throw new Error("maxPendingMessages must be greater than 0, maxPendingMessages=" + maxPendingMessages);
+        WebSocketHandler handler = handler();
+        handler.broadcast.maxPendingMessages = maxPendingMessages;
+        handler.broadcast.slowChannelPolicy = policy;
+    }
+
+    private WebSocketHandler handler() {
+        if (context.httpServer.webSocketHandler == null) {
+            context.httpServer.webSocketHandler = new WebSocketHandler(context.logManager, context.httpServer.siteManager.sessionManager, context.httpServer.handlerContext);
+
+            context.collector.metrics.add(new WebSocketMetrics(context.httpServer.webSocketHandler));
+        }
+        return context.httpServer.webSocketHandler;
     }
 }
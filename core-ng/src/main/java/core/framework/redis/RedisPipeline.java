@@ -0,0 +1,78 @@
+package core.framework.redis;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * queue commands and send them with one round trip on execute(), result of each command is only available after execute()
+ * if one command fails with error reply, only get() of that command throws, other commands still have results
+ * pipeline is not thread safe, and can be reused after execute()
+ *
+ * @author neo
+ */
+public interface RedisPipeline {
+    Supplier<String> get(String key);
+
+    default Supplier<Boolean> set(String key, String value) {
+        return set(key, value, null, false);
+    }
+
+    default Supplier<Boolean> set(String key, String value, Duration expiration) {
+        return set(key, value, expiration, false);
+    }
+
+    Supplier<Boolean> set(String key, String value, @Nullable Duration expiration, boolean onlyIfAbsent);
+
+    void expire(String key, Duration expiration);
+
+    Supplier<Long> del(String... keys);
+
+    Supplier<Long> increaseBy(String key, long increment);
+
+    HashCommands hash();
+
+    SetCommands set();
+
+    SortedSetCommands sortedSet();
+
+    void execute();
+
+    interface HashCommands {
+        Supplier<String> get(String key, String field);
+
+        Supplier<Map<String, String>> getAll(String key);
+
+        void set(String key, String field, String value);
+
+        void multiSet(String key, Map<String, String> values);
+
+        Supplier<Long> increaseBy(String key, String field, long increment);
+
+        Supplier<Long> del(String key, String... fields);
+    }
+
+    interface SetCommands {
+        Supplier<Long> add(String key, String... values);
+
+        Supplier<Set<String>> members(String key);
+
+        Supplier<Boolean> isMember(String key, String value);
+
+        Supplier<Long> remove(String key, String... values);
+
+        Supplier<Long> size(String key);
+    }
+
+    interface SortedSetCommands {
+        Supplier<Integer> add(String key, Map<String, Long> values, boolean onlyIfAbsent);
+
+        Supplier<Long> increaseScoreBy(String key, String value, long increment);
+
+        Supplier<Map<String, Long>> range(String key, long start, long stop);
+
+        Supplier<Long> remove(String key, String... values);
+    }
+}
@@ -2,8 +2,10 @@ package core.framework.web;
 
 import core.framework.http.HTTPMethod;
 
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @author neo
@@ -33,6 +35,10 @@ public interface Request {
 
     <T> T bean(Class<T> beanClass);
 
+    InputStream bodyStream();   // read body incrementally if controller method is annotated with @StreamingBody, otherwise read from buffered body
+
+    <T> void forEachBean(Class<T> beanClass, Consumer<T> consumer);     // read json array body and pass beans one by one, bean is validated same as bean()
+
     String clientIP();
 
     Optional<String> cookie(CookieSpec spec);
@@ -7,6 +7,7 @@ import core.framework.internal.web.response.BeanBody;
 import core.framework.internal.web.response.ByteArrayBody;
 import core.framework.internal.web.response.FileBody;
 import core.framework.internal.web.response.ResponseImpl;
+import core.framework.internal.web.response.StreamBody;
 import core.framework.internal.web.response.TemplateBody;
 import core.framework.internal.web.response.TextBody;
 
@@ -29,6 +30,18 @@ public interface Response {
                 .contentType(ContentType.APPLICATION_JSON);
     }
 
+    // write items as json array incrementally, for large result set, e.g. export
+    static <T> Response stream(Class<T> beanClass, StreamSource<T> source) {
+        return new ResponseImpl(new StreamBody(beanClass, source, false))
+                .contentType(ContentType.APPLICATION_JSON);
+    }
+
+    // write items as newline delimited json, client can process each line before whole response is received
+    static <T> Response ndjson(Class<T> beanClass, StreamSource<T> source) {
+        return new ResponseImpl(new StreamBody(beanClass, source, true))
+                .contentType(ContentType.APPLICATION_NDJSON);
+    }
+
     static Response html(String templatePath, Object model) {
         return html(templatePath, model, null);
     }
@@ -0,0 +1,14 @@
+package core.framework.web;
+
+import java.util.function.Consumer;
+
+/**
+ * source of stream response, pushes items to consumer one by one, e.g.
+ * consumer -> mongoCollection.forEach(query, consumer), or iterator::forEachRemaining
+ *
+ * @author neo
+ */
+@FunctionalInterface
+public interface StreamSource<T> {
+    void forEach(Consumer<T> consumer);
+}
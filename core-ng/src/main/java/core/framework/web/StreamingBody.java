@@ -0,0 +1,18 @@
+package core.framework.web;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * request body is not read into memory before calling controller,
+ * controller reads it with {@link Request#bodyStream()} or {@link Request#forEachBean(Class, java.util.function.Consumer)}, e.g. for large upload or bulk ingestion
+ *
+ * @author neo
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface StreamingBody {
+}
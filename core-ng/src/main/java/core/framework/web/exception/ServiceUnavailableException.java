@@ -0,0 +1,41 @@
+package core.framework.web.exception;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.api.web.service.ResponseStatus;
+import core.framework.log.ErrorCode;
+import core.framework.log.Severity;
+
+import javax.annotation.Nullable;
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * @author neo
+ */
+@ResponseStatus(HTTPStatus.SERVICE_UNAVAILABLE)
+public final class ServiceUnavailableException extends RuntimeException implements ErrorCode {
+    @Serial
+    private static final long serialVersionUID = 2398113947146826457L;
+
+    @Nullable
+    public final Duration retryAfter;     // sent as Retry-After header
+
+    public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, @Nullable Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.WARN;
+    }
+
+    @Override
+    public String errorCode() {
+        return "SERVICE_UNAVAILABLE";
+    }
+}
@@ -7,6 +7,9 @@ public interface Channel<T> {
         send(null, event);
     }
 
+    // if client is slow and previous event with same key is not sent yet, it's replaced by this event, for event only latest value matters, e.g. price or status
+    void sendLatest(String key, T event);
+
     void close();
 
     void join(String group);
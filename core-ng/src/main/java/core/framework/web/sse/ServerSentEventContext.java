@@ -6,4 +6,7 @@ public interface ServerSentEventContext<T> {
     List<Channel<T>> all();
 
     List<Channel<T>> group(String name);
+
+    // send event to all channels of group, with group bus, channels of group on other nodes also receive event
+    void broadcast(String group, T event);
 }
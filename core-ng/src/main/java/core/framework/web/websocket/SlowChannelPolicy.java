@@ -0,0 +1,11 @@
+package core.framework.web.websocket;
+
+/**
+ * how to handle channel which has too many pending messages, e.g. client reads slower than server sends
+ *
+ * @author neo
+ */
+public enum SlowChannelPolicy {
+    DROP_MESSAGE,       // skip broadcast messages until pending messages are sent, client may miss messages
+    CLOSE_CHANNEL       // close channel, client is expected to reconnect and reload state
+}
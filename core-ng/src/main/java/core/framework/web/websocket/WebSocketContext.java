@@ -9,4 +9,8 @@ public interface WebSocketContext<V> {
     List<Channel<V>> all();
 
     List<Channel<V>> group(String name);
+
+    // send message to all channels of group, message is encoded once and shared by all channels, channel with too many pending messages is handled by slow channel policy
+    // with group bus, channels of group on other nodes also receive message
+    void broadcast(String group, V message);
 }
@@ -0,0 +1,106 @@
+package core.framework.internal.cache;
+
+import core.framework.util.Strings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class BinaryCacheCodecTest {
+    private BinaryCacheCodec<TestCache> codec;
+
+    @BeforeEach
+    void createBinaryCacheCodec() {
+        codec = new BinaryCacheCodec<>(TestCache.class, 1024);
+    }
+
+    @Test
+    void encode() throws IOException {
+        TestCache cache = cache("value");
+
+        byte[] data = codec.encode(cache);
+        assertThat(data[0]).isEqualTo(BinaryCacheCodec.FORMAT_BINARY);
+        assertThat(data.length).isLessThan(new JSONCacheCodec<>(TestCache.class).encode(cache).length);
+        assertThat(codec.encodedBytes.sum()).isEqualTo(data.length);
+
+        TestCache decodedCache = codec.decode(data);
+        assertThat(decodedCache).usingRecursiveComparison().isEqualTo(cache);
+    }
+
+    @Test
+    void encodeWithCompression() throws IOException {
+        TestCache cache = cache("value");
+        cache.listField = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cache.listField.add("repeated value " + i % 10);
+        }
+
+        byte[] data = codec.encode(cache);
+        assertThat(data[0]).isEqualTo(BinaryCacheCodec.FORMAT_LZ4);
+        assertThat(codec.savedBytes.sum()).isGreaterThan(0);
+
+        TestCache decodedCache = codec.decode(data);
+        assertThat(decodedCache).usingRecursiveComparison().isEqualTo(cache);
+    }
+
+    @Test
+    void encodeWithNullFields() throws IOException {
+        var cache = new TestCache();
+        cache.stringField = "value";
+
+        TestCache decodedCache = codec.decode(codec.encode(cache));
+        assertThat(decodedCache).usingRecursiveComparison().isEqualTo(cache);
+    }
+
+    @Test
+    void decodeJSON() {
+        assertThatThrownBy(() -> codec.decode(Strings.bytes("{\"stringField\":\"value\"}")))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("cache data does not match schema");
+    }
+
+    @Test
+    void decodeCorruptedData() {
+        byte[] data = codec.encode(cache("value"));
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(data, data.length - 1)))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("failed to decode cache data");
+    }
+
+    @Test
+    void schema() {
+        assertThat(new BinaryMapperBuilder<>(TestCache.Child.class).schema(TestCache.Child.class))
+            .isEqualTo("{bigDecimalField:BigDecimal;}");
+        assertThat(new BinaryMapperBuilder<>(TestCache.class).schemaHash())
+            .isNotEqualTo(new BinaryMapperBuilder<>(TestCache.Child.class).schemaHash());
+    }
+
+    private TestCache cache(String stringField) {
+        var cache = new TestCache();
+        cache.stringField = stringField;
+        cache.dateTimeField = LocalDateTime.of(2024, 8, 9, 10, 30, 0, 123);
+        cache.timeField = LocalTime.of(10, 30);
+        cache.listField = List.of("value1", "value2");
+        cache.mapField = Map.of("key", "value");
+        var child = new TestCache.Child();
+        child.bigDecimalField = new BigDecimal("-12.345");
+        cache.childField = child;
+        cache.childrenField = List.of(child);
+        cache.enumMapField = Map.of(TestCache.TestEnum.V2, "value");
+        return cache;
+    }
+}
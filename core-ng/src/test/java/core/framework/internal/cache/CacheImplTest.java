@@ -1,5 +1,7 @@
 package core.framework.internal.cache;
 
+import core.framework.async.Executor;
+import core.framework.async.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,11 +9,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +25,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -30,6 +35,8 @@ import static org.mockito.Mockito.when;
 class CacheImplTest {
     @Mock
     CacheStore cacheStore;
+    @Mock
+    Executor executor;
     private CacheImpl<TestCache> cache;
 
     @BeforeEach
@@ -55,6 +62,92 @@ class CacheImplTest {
         assertThat(value.stringField).isEqualTo("value");
 
         verify(cacheStore).put("name:key", value, Duration.ofHours(1), cache.context);
+        assertThat(cache.loadings).isEmpty();
+    }
+
+    @Test
+    void getWithCoalescing() {
+        TestCache value = cacheItem("value");
+        cache.loadings.put("name:key", CompletableFuture.completedFuture(value));
+
+        TestCache result = cache.get("key", key -> {
+            throw new Error("loader should not be called");
+        });
+        assertThat(result).isSameAs(value);
+        verify(cacheStore, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void getWithCoalescingTimeout() {
+        cache.loadTimeoutInMs = 10;
+        cache.loadings.put("name:key", new CompletableFuture<>());
+
+        TestCache value = cache.get("key", key -> cacheItem("value"));
+        assertThat(value.stringField).isEqualTo("value");
+        verify(cacheStore).put("name:key", value, Duration.ofHours(1), cache.context);
+    }
+
+    @Test
+    void getWithCoalescingFailure() {
+        var loading = new CompletableFuture<TestCache>();
+        cache.loadings.put("name:key", loading);
+        loading.complete(null);     // other caller abandoned loading
+
+        TestCache value = cache.get("key", key -> cacheItem("value"));
+        assertThat(value.stringField).isEqualTo("value");
+    }
+
+    @Test
+    void getWithCoalescingLoaderError() {
+        var loading = new CompletableFuture<TestCache>();
+        cache.loadings.put("name:key", loading);
+        loading.completeExceptionally(new Error("db is down"));     // loader of other caller failed
+
+        assertThatThrownBy(() -> cache.get("key", key -> {
+            throw new Error("loader should not be called");
+        })).isInstanceOf(Error.class).hasMessage("db is down");
+    }
+
+    @Test
+    void getWithLoaderError() {
+        var loadings = new ArrayList<CompletableFuture<TestCache>>();
+        assertThatThrownBy(() -> cache.get("key", key -> {
+            loadings.add(cache.loadings.get("name:key"));
+            throw new Error("db is down");
+        })).isInstanceOf(Error.class).hasMessage("db is down");
+
+        assertThat(cache.loadings).isEmpty();
+        assertThat(loadings.getFirst()).isCompletedExceptionally();
+        verify(cacheStore, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void getWithStaleValue() throws Exception {
+        cache.refreshAfter = Duration.ofMinutes(30);
+        cache.executor = executor;
+        TestCache staleValue = cacheItem("stale");
+        when(cacheStore.getWithExpirationTime("name:key", cache.context)).thenReturn(new CacheStore.Value<>(staleValue, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis()));
+        when(executor.submit(eq("cache:name:refresh"), any(Task.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Task.class).execute();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        TestCache value = cache.get("key", key -> cacheItem("value"));
+        assertThat(value).isSameAs(staleValue);
+        verify(cacheStore).put(eq("name:key"), argThat(argument -> "value".equals(argument.stringField)), eq(Duration.ofHours(1)), eq(cache.context));
+        assertThat(cache.loadings).isEmpty();
+    }
+
+    @Test
+    void getWithFreshValue() {
+        cache.refreshAfter = Duration.ofMinutes(30);
+        cache.executor = executor;
+        TestCache freshValue = cacheItem("fresh");
+        when(cacheStore.getWithExpirationTime("name:key", cache.context)).thenReturn(new CacheStore.Value<>(freshValue, System.currentTimeMillis() + Duration.ofMinutes(50).toMillis()));
+
+        TestCache value = cache.get("key", key -> cacheItem("value"));
+        assertThat(value).isSameAs(freshValue);
+        verifyNoInteractions(executor);
     }
 
     @Test
@@ -73,6 +166,7 @@ class CacheImplTest {
         assertThatThrownBy(() -> cache.get("key", key -> null))
             .isInstanceOf(Error.class)
             .hasMessageContaining("value must not be null");
+        assertThat(cache.loadings).isEmpty();
     }
 
     @Test
@@ -91,6 +185,20 @@ class CacheImplTest {
         verify(cacheStore).putAll(argThat(argument -> argument.size() == 1 && "v2".equals(argument.getFirst().value().stringField)), eq(Duration.ofHours(1)), eq(cache.context));
     }
 
+    @Test
+    void getAllWithCoalescing() {
+        when(cacheStore.getAll(new String[]{"name:key1", "name:key2"}, cache.context)).thenReturn(Map.of());
+        TestCache item2 = cacheItem("v2");
+        cache.loadings.put("name:key2", CompletableFuture.completedFuture(item2));
+
+        Map<String, TestCache> results = cache.getAll(Arrays.asList("key1", "key2"), key -> cacheItem("v1"));
+        assertThat(results.get("key1").stringField).isEqualTo("v1");
+        assertThat(results.get("key2")).isSameAs(item2);
+
+        verify(cacheStore).putAll(argThat(argument -> argument.size() == 1 && "name:key1".equals(argument.getFirst().key())), eq(Duration.ofHours(1)), eq(cache.context));
+        assertThat(cache.loadings).containsOnlyKeys("name:key2");
+    }
+
     @Test
     void getAllWhenHit() {
         var values = Map.of("name:key1", cacheItem("v1"),
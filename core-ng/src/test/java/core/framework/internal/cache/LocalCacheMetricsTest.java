@@ -4,6 +4,8 @@ import core.framework.internal.stat.Stats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -11,10 +13,12 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class LocalCacheMetricsTest {
     private LocalCacheMetrics metrics;
+    private LocalCacheStore cacheStore;
 
     @BeforeEach
     void createLocalCacheMetrics() {
-        metrics = new LocalCacheMetrics(new LocalCacheStore());
+        cacheStore = new LocalCacheStore();
+        metrics = new LocalCacheMetrics(cacheStore);
     }
 
     @Test
@@ -23,6 +27,25 @@ class LocalCacheMetricsTest {
         metrics.collect(stats);
 
         assertThat(stats.stats)
-                .containsEntry("cache_size", 0.0d);
+                .containsEntry("cache_size", 0.0d)
+                .containsEntry("cache_evictions", 0.0d);
+    }
+
+    @Test
+    void collectWithTieredCacheStores() {
+        var tieredCacheStore = new TieredCacheStore(cacheStore, null, null, Duration.ofMinutes(1));
+        tieredCacheStore.localHits.add(2);
+        tieredCacheStore.localMisses.add(1);
+        tieredCacheStore.remoteHits.add(1);
+        metrics.tieredCacheStores.add(tieredCacheStore);
+
+        var stats = new Stats();
+        metrics.collect(stats);
+        assertThat(stats.stats)
+                .containsEntry("cache_local_hits", 2.0d)
+                .containsEntry("cache_local_misses", 1.0d)
+                .containsEntry("cache_remote_hits", 1.0d)
+                .containsEntry("cache_remote_misses", 0.0d);
+        assertThat(tieredCacheStore.localHits.sum()).isZero();
     }
 }
@@ -38,12 +38,18 @@ class LocalCacheStoreTest {
 
         TestCache retrievedValue = cacheStore.get("key1", null);
         assertThat(retrievedValue).isSameAs(value);
+    }
+
+    @Test
+    void getWithExpirationTime() {
+        var value = new TestCache();
+        cacheStore.put("key1", value, Duration.ofMinutes(1), null);
 
-        LocalCacheStore.CacheItem<?> item = cacheStore.caches.get("key1");
-        assertThat(item.hits).isEqualTo(1);
+        CacheStore.Value<TestCache> result = cacheStore.getWithExpirationTime("key1", null);
+        assertThat(result.value()).isSameAs(value);
+        assertThat(result.expirationTime()).isGreaterThan(System.currentTimeMillis());
 
-        cacheStore.get("key1", null);
-        assertThat(item.hits).isEqualTo(2);
+        assertThat(cacheStore.getWithExpirationTime("key2", null)).isNull();
     }
 
     @Test
@@ -65,17 +71,40 @@ class LocalCacheStoreTest {
     }
 
     @Test
-    void cleanupWithEviction() {
-        cacheStore.maxSize = 1;
+    void putWithEviction() {
+        cacheStore.maxSize(1);
         cacheStore.put("k1", new TestCache(), Duration.ofHours(1), null);
         cacheStore.put("k2", new TestCache(), Duration.ofHours(1), null);
-        cacheStore.put("k3", new TestCache(), Duration.ofHours(1), null);
-        cacheStore.get("k1", null);
-        cacheStore.get("k2", null);
-        cacheStore.get("k2", null);
 
-        cacheStore.cleanup();
         assertThat(cacheStore.caches).containsOnlyKeys("k2");
+        assertThat(cacheStore.evictions.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void putWithAdmission() {
+        cacheStore.maxSize(3);
+        cacheStore.put("k1", new TestCache(), Duration.ofHours(1), null);
+        cacheStore.put("k2", new TestCache(), Duration.ofHours(1), null);
+        cacheStore.put("k3", new TestCache(), Duration.ofHours(1), null);
+        for (int i = 0; i < 3; i++) {
+            cacheStore.get("k1", null);
+            cacheStore.get("k2", null);
+        }
+
+        for (int i = 0; i < 10; i++) {  // one-time keys must not flush frequently accessed keys
+            cacheStore.put("key" + i, new TestCache(), Duration.ofHours(1), null);
+            assertThat(cacheStore.caches).hasSizeLessThanOrEqualTo(3);
+        }
+        assertThat(cacheStore.caches).containsKeys("k1", "k2");
+    }
+
+    @Test
+    void clearThenPut() {
+        cacheStore.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+        cacheStore.clear();
+        cacheStore.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+
+        assertThat(cacheStore.caches).containsOnlyKeys("key1");
     }
 
     @Test
@@ -0,0 +1,56 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.redis.RedisImpl;
+import core.framework.util.Strings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author neo
+ */
+@ExtendWith(MockitoExtension.class)
+class NearCacheInvalidatorTest {
+    @Mock
+    RedisImpl redis;
+    private LocalCacheStore localCacheStore;
+    private NearCacheInvalidator invalidator;
+
+    @BeforeEach
+    void createNearCacheInvalidator() {
+        localCacheStore = new LocalCacheStore();
+        invalidator = new NearCacheInvalidator(redis, localCacheStore);
+    }
+
+    @Test
+    void publish() {
+        invalidator.publish("key1", "key2");
+
+        ArgumentCaptor<byte[]> message = ArgumentCaptor.forClass(byte[].class);
+        verify(redis).publish(eq(NearCacheInvalidator.CHANNEL), message.capture());
+        assertThat(new String(message.getValue(), UTF_8))
+            .isEqualTo("{\"sender\":\"" + invalidator.id + "\",\"keys\":[\"key1\",\"key2\"]}");
+    }
+
+    @Test
+    void onMessage() {
+        localCacheStore.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+        localCacheStore.put("key2", new TestCache(), Duration.ofMinutes(1), null);
+
+        invalidator.onMessage(Strings.bytes("{\"sender\":\"" + invalidator.id + "\",\"keys\":[\"key1\"]}"));
+        assertThat(localCacheStore.caches).containsOnlyKeys("key1", "key2");
+
+        invalidator.onMessage(Strings.bytes("{\"sender\":\"other\",\"keys\":[\"key1\"]}"));
+        assertThat(localCacheStore.caches).containsOnlyKeys("key2");
+    }
+}
@@ -42,6 +42,17 @@ class RedisCacheStoreTest {
         assertThat(cacheStore.get("key", context).stringField).isEqualTo("value");
     }
 
+    @Test
+    void getWithExpirationTime() {
+        when(redis.getBytesWithTTL("key")).thenReturn(new RedisImpl.ValueWithTTL(Strings.bytes("{\"stringField\":\"value\"}"), 60_000));
+        CacheStore.Value<TestCache> value = cacheStore.getWithExpirationTime("key", context);
+        assertThat(value.value().stringField).isEqualTo("value");
+        assertThat(value.expirationTime()).isGreaterThan(System.currentTimeMillis());
+
+        when(redis.getBytesWithTTL("key")).thenReturn(new RedisImpl.ValueWithTTL(null, -2));
+        assertThat(cacheStore.getWithExpirationTime("key", context)).isNull();
+    }
+
     @Test
     void getWithStaleData() {
         when(redis.getBytes("key")).thenReturn(Strings.bytes("{}"));
@@ -91,14 +102,14 @@ class RedisCacheStoreTest {
         Duration expiration = Duration.ofHours(1);
         var value = new TestCache();
         cacheStore.put("key", value, expiration, context);
-        verify(redis).set("key", context.writer.toJSON(value), expiration, false);
+        verify(redis).set("key", context.codec.encode(value), expiration, false);
     }
 
     @Test
     void putWithFailure() {
         var value = new TestCache();
         Duration expiration = Duration.ofHours(1);
-        doThrow(new RedisException("unexpected")).when(redis).set("key", context.writer.toJSON(value), expiration, false);
+        doThrow(new RedisException("unexpected")).when(redis).set("key", context.codec.encode(value), expiration, false);
 
         cacheStore.put("key", value, expiration, context);
     }
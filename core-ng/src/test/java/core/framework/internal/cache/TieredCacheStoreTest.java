@@ -0,0 +1,123 @@
+package core.framework.internal.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredCacheStoreTest {
+    @Mock
+    CacheStore remote;
+    @Mock
+    NearCacheInvalidator invalidator;
+    private LocalCacheStore local;
+    private TieredCacheStore cacheStore;
+
+    @BeforeEach
+    void createTieredCacheStore() {
+        local = new LocalCacheStore();
+        cacheStore = new TieredCacheStore(local, remote, invalidator, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get() {
+        var value = new TestCache();
+        when(remote.get("key1", null)).thenReturn(value);
+
+        assertThat(cacheStore.get("key1", null)).isSameAs(value);
+        assertThat(cacheStore.get("key1", null)).isSameAs(value);
+        assertThat(cacheStore.get("key2", null)).isNull();
+
+        assertThat(local.caches).containsOnlyKeys("key1");
+        assertThat(cacheStore.localHits.sum()).isEqualTo(1);
+        assertThat(cacheStore.localMisses.sum()).isEqualTo(2);
+        assertThat(cacheStore.remoteHits.sum()).isEqualTo(1);
+        assertThat(cacheStore.remoteMisses.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void getWithExpirationTime() {
+        var value = new TestCache();
+        long expirationTime = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+        when(remote.getWithExpirationTime("key1", null)).thenReturn(new CacheStore.Value<>(value, expirationTime));
+
+        assertThat(cacheStore.getWithExpirationTime("key1", null).expirationTime()).isEqualTo(expirationTime);
+        assertThat(cacheStore.getWithExpirationTime("key1", null).expirationTime()).isEqualTo(expirationTime);     // from local copy
+        assertThat(cacheStore.localHits.sum()).isEqualTo(1);
+        assertThat(local.caches.get("key1").expirationTime).isLessThan(expirationTime);    // local copy expires by localDuration
+    }
+
+    @Test
+    void getWithExpirationTimeAfterPut() {
+        cacheStore.put("key1", new TestCache(), Duration.ofHours(1), null);
+
+        long expirationTime = cacheStore.getWithExpirationTime("key1", null).expirationTime();
+        assertThat(expirationTime).isGreaterThan(System.currentTimeMillis() + Duration.ofMinutes(59).toMillis());
+        assertThat(cacheStore.localHits.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void getAll() {
+        var value1 = new TestCache();
+        var value2 = new TestCache();
+        local.put("key1", value1, Duration.ofMinutes(1), null);
+        when(remote.getAll(new String[]{"key2", "key3"}, null)).thenReturn(Map.of("key2", value2));
+
+        Map<String, TestCache> values = cacheStore.getAll(new String[]{"key1", "key2", "key3"}, null);
+        assertThat(values).containsOnly(Map.entry("key1", value1), Map.entry("key2", value2));
+        assertThat(local.caches).containsOnlyKeys("key1", "key2");
+        assertThat(cacheStore.remoteMisses.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllWithLocalHits() {
+        local.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+
+        assertThat(cacheStore.getAll(new String[]{"key1"}, null)).containsOnlyKeys("key1");
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    void put() {
+        var value = new TestCache();
+        cacheStore.put("key1", value, Duration.ofHours(1), null);
+
+        verify(remote).put("key1", value, Duration.ofHours(1), null);
+        verify(invalidator).publish("key1");
+        assertThat(local.caches).containsOnlyKeys("key1");
+    }
+
+    @Test
+    void putAll() {
+        List<CacheStore.Entry<TestCache>> values = List.of(new CacheStore.Entry<>("key1", new TestCache()), new CacheStore.Entry<>("key2", new TestCache()));
+        cacheStore.putAll(values, Duration.ofHours(1), null);
+
+        verify(remote).putAll(values, Duration.ofHours(1), null);
+        verify(invalidator).publish("key1", "key2");
+        assertThat(local.caches).containsOnlyKeys("key1", "key2");
+    }
+
+    @Test
+    void delete() {
+        local.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+        when(remote.delete("key1")).thenReturn(Boolean.TRUE);
+
+        assertThat(cacheStore.delete("key1")).isTrue();
+        verify(invalidator).publish("key1");
+        assertThat(local.caches).isEmpty();
+    }
+}
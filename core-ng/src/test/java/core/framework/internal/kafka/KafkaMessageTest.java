@@ -6,6 +6,8 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class KafkaMessageTest {
@@ -19,6 +21,17 @@ class KafkaMessageTest {
         assertThat(message.correlationId).isNull();
     }
 
+    @Test
+    void createWithByteBuffer() {
+        byte[] fetched = Strings.bytes("--value--");
+        var record = new ConsumerRecord<String, ByteBuffer>("topic", 1, 0, "key", ByteBuffer.wrap(fetched, 2, 5).slice());
+        var message = new KafkaMessage(record);
+
+        assertThat(message.value).isSameAs(fetched);
+        assertThat(message.valueOffset).isEqualTo(2);
+        assertThat(message.valueLength).isEqualTo(5);
+    }
+
     @Test
     void header() {
         var record = new ConsumerRecord<String, byte[]>("topic", 1, 0, "key", Strings.bytes("value"));
@@ -1,11 +1,13 @@
 package core.framework.internal.kafka;
 
+import core.framework.internal.log.LogManager;
 import core.framework.kafka.BulkMessageHandler;
 import core.framework.kafka.MessageHandler;
 import core.framework.util.Strings;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,9 +19,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +66,61 @@ class MessageListenerThreadProcessTest {
         thread.awaitTermination(1000);
     }
 
+    @Test
+    void processParallel() throws Exception {
+        var listener = new MessageListener(null, null, new LogManager(), 300_000L);
+        listener.parallel = true;
+        listener.processes.put("topic1", new MessageProcess<>(messageHandler, TestMessage.class));
+        listener.bulkProcesses.put("topic2", new MessageProcess<>(bulkMessageHandler, TestMessage.class));
+        thread = new MessageListenerThread("kafka-listener", consumer, listener);
+
+        Map<TopicPartition, List<ConsumerRecord<String, byte[]>>> entries = new HashMap<>();
+        entries.put(topic("topic1"), List.of(new ConsumerRecord<>("topic1", 1, 10, "key1", Strings.bytes("{}")),
+            new ConsumerRecord<>("topic1", 1, 11, "key2", Strings.bytes("{}")),
+            new ConsumerRecord<>("topic1", 1, 12, "key1", Strings.bytes("{}"))));
+        entries.put(topic("topic2"), List.of(new ConsumerRecord<>("topic2", 1, 20, "key1", Strings.bytes("{}"))));
+        thread.dispatchAll(new ConsumerRecords<>(entries));
+
+        for (PartitionState state : thread.partitions.values()) {
+            assertThat(state.awaitCompletion(1000)).isTrue();
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = thread.committableOffsets(thread.partitions.values());
+        assertThat(offsets).containsEntry(topic("topic1"), new OffsetAndMetadata(13))
+            .containsEntry(topic("topic2"), new OffsetAndMetadata(21));
+        assertThat(thread.committableOffsets(thread.partitions.values())).isEmpty();
+
+        verify(messageHandler, times(2)).handle(eq("key1"), any());
+        verify(messageHandler).handle(eq("key2"), any());
+    }
+
+    @Test
+    void pauseAndResume() throws Exception {
+        var listener = new MessageListener(null, null, new LogManager(), 300_000L);
+        listener.parallel = true;
+        listener.concurrency = 2;
+        listener.processes.put("topic1", new MessageProcess<>(messageHandler, TestMessage.class));
+        thread = new MessageListenerThread("kafka-listener", consumer, listener);
+
+        var latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            latch.await();
+            return null;
+        }).when(messageHandler).handle(any(), any());
+
+        Map<TopicPartition, List<ConsumerRecord<String, byte[]>>> entries = new HashMap<>();
+        entries.put(topic("topic1"), List.of(new ConsumerRecord<>("topic1", 1, 10, "key1", Strings.bytes("{}")),
+            new ConsumerRecord<>("topic1", 1, 11, "key2", Strings.bytes("{}"))));
+        thread.dispatchAll(new ConsumerRecords<>(entries));
+        verify(consumer).pause(List.of(topic("topic1")));
+        assertThat(thread.resumePartitions()).isFalse();
+
+        latch.countDown();
+        PartitionState state = thread.partitions.get(topic("topic1"));
+        assertThat(state.awaitCompletion(1000)).isTrue();
+        assertThat(thread.resumePartitions()).isTrue();
+        verify(consumer).resume(List.of(topic("topic1")));
+    }
+
     ConsumerRecord<String, byte[]> record(String topic, String key) {
         return new ConsumerRecord<>(topic, 1, 1, key, Strings.bytes("{}"));
     }
@@ -1,6 +1,5 @@
 package core.framework.internal.kafka;
 
-import core.framework.internal.json.JSONMapper;
 import core.framework.internal.log.ActionLog;
 import core.framework.internal.log.LogLevel;
 import core.framework.internal.log.LogManager;
@@ -11,6 +10,9 @@ import core.framework.kafka.MessageHandler;
 import core.framework.util.Strings;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,14 +20,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * @author neo
@@ -54,7 +65,7 @@ class MessageListenerThreadTest {
         record.headers().add(KafkaMessage.HEADER_REF_ID, Strings.bytes("refId"));
         record.headers().add(KafkaMessage.HEADER_CORRELATION_ID, Strings.bytes("correlationId"));
         var actionLog = new ActionLog(null, null);
-        List<Message<TestMessage>> messages = thread.messages(List.of(new KafkaMessage(record)), actionLog, JSONMapper.reader(TestMessage.class));
+        List<Message<TestMessage>> messages = thread.messages(List.of(new KafkaMessage(record)), actionLog, new MessageProcess<>(bulkMessageHandler, TestMessage.class));
 
         assertThat(messages).hasSize(1);
         assertThat(messages.getFirst().key).isEqualTo("key");
@@ -97,6 +108,18 @@ class MessageListenerThreadTest {
         verify(messageHandler).handle(eq(key), argThat(value -> "value".equals(value.stringField)));
     }
 
+    @Test
+    void handleSingleWithZeroCopy() throws Exception {
+        var message = new TestMessage();
+        message.stringField = "value";
+        byte[] value = Strings.bytes(JSON.toJSON(message));
+        var fetched = ByteBuffer.allocate(value.length + 10).position(5).put(value).flip().position(5);     // value is in middle of fetched buffer
+        var record = new ConsumerRecord<>("topic", 0, 0, "key", fetched);
+        thread.handleSingle("topic", new MessageProcess<>(messageHandler, TestMessage.class), new KafkaMessage(record));
+
+        verify(messageHandler).handle(eq("key"), argThat(result -> "value".equals(result.stringField)));
+    }
+
     @Test
     void handleSingleWithNullKey() throws Exception {
         var message = new TestMessage();
@@ -110,6 +133,14 @@ class MessageListenerThreadTest {
         verify(messageHandler).handle(isNull(), argThat(value -> "value".equals(value.stringField)));
     }
 
+    @Test
+    void handleSingleWithNullValue() {
+        var record = new ConsumerRecord<>("topic", 0, 0, "key", (byte[]) null);     // tombstone
+        thread.handleSingle("topic", new MessageProcess<>(messageHandler, TestMessage.class), new KafkaMessage(record));
+
+        verifyNoInteractions(messageHandler);
+    }
+
     @Test
     void handleBulk() throws Exception {
         var key = "key";
@@ -125,9 +156,45 @@ class MessageListenerThreadTest {
                                                            && "value".equals(value.getFirst().value.stringField)));
     }
 
+    @Test
+    void dispatchBulkInPollOrder() throws Exception {
+        var listener = new MessageListener(null, null, logManager, 300_000L);
+        listener.parallel = true;
+        listener.bulkProcesses.put("topic", new MessageProcess<>(bulkMessageHandler, TestMessage.class));
+        thread = new MessageListenerThread("kafka-listener", consumer, listener);
+
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        var started = new CountDownLatch(1);
+        var latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            List<Message<TestMessage>> messages = invocation.getArgument(0);
+            handled.add(messages.getFirst().value.stringField);
+            started.countDown();
+            latch.await();
+            return null;
+        }).when(bulkMessageHandler).handle(any());
+
+        var partition = new TopicPartition("topic", 0);
+        thread.dispatchAll(new ConsumerRecords<>(Map.of(partition, List.of(record(10, "1")))));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        thread.dispatchAll(new ConsumerRecords<>(Map.of(partition, List.of(record(11, "2")))));    // next poll arrives before first bulk completes
+        assertThat(handled).containsExactly("1");
+
+        latch.countDown();
+        assertThat(thread.partitions.get(partition).awaitCompletion(1000)).isTrue();
+        assertThat(handled).containsExactly("1", "2");
+        assertThat(thread.committableOffsets(thread.partitions.values())).containsEntry(partition, new OffsetAndMetadata(12));
+    }
+
     @Test
     void shutdown() {
         thread.shutdown();
         verify(consumer).wakeup();
     }
+
+    private ConsumerRecord<String, byte[]> record(long offset, String value) {
+        var message = new TestMessage();
+        message.stringField = value;
+        return new ConsumerRecord<>("topic", 0, offset, "key", Strings.bytes(JSON.toJSON(message)));
+    }
 }
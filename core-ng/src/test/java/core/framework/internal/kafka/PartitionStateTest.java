@@ -0,0 +1,70 @@
+package core.framework.internal.kafka;
+
+import core.framework.util.Strings;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionStateTest {
+    private PartitionState state;
+
+    @BeforeEach
+    void createPartitionState() {
+        state = new PartitionState(new TopicPartition("topic", 0));
+    }
+
+    @Test
+    void dispatchWithSameKey() {
+        KafkaMessage message1 = message(10, "key1");
+        KafkaMessage message2 = message(11, "key2");
+        KafkaMessage message3 = message(12, "key1");
+        KafkaMessage message4 = message(13, null);
+
+        assertThat(state.watermark()).isEqualTo(-1);
+        assertThat(state.dispatch(message1)).isTrue();
+        assertThat(state.dispatch(message2)).isTrue();
+        assertThat(state.dispatch(message3)).isFalse();
+        assertThat(state.dispatch(message4)).isTrue();
+        assertThat(state.watermark()).isEqualTo(10);
+
+        assertThat(state.complete(message2)).isNull();
+        assertThat(state.complete(message4)).isNull();
+        assertThat(state.watermark()).isEqualTo(10);
+
+        assertThat(state.complete(message1)).isSameAs(message3);
+        assertThat(state.watermark()).isEqualTo(12);
+
+        assertThat(state.complete(message3)).isNull();
+        assertThat(state.watermark()).isEqualTo(14);
+
+        assertThat(state.dispatch(message(15, "key1"))).isTrue();
+    }
+
+    @Test
+    void dispatchAll() throws InterruptedException {
+        List<KafkaMessage> messages1 = List.of(message(1, "key1"), message(2, "key1"));
+        List<KafkaMessage> messages2 = List.of(message(3, "key1"));
+        assertThat(state.dispatchAll(messages1)).isTrue();
+        assertThat(state.dispatchAll(messages2)).isFalse();    // queued after in flight bulk
+        assertThat(state.watermark()).isEqualTo(1);
+        assertThat(state.awaitCompletion(10)).isFalse();
+
+        assertThat(state.completeAll(messages1)).isSameAs(messages2);
+        assertThat(state.watermark()).isEqualTo(3);
+
+        assertThat(state.completeAll(messages2)).isNull();
+        assertThat(state.watermark()).isEqualTo(4);
+        assertThat(state.awaitCompletion(10)).isTrue();
+
+        assertThat(state.dispatchAll(List.of(message(4, "key1")))).isTrue();
+    }
+
+    private KafkaMessage message(long offset, String key) {
+        return new KafkaMessage(new ConsumerRecord<>("topic", 0, offset, key, Strings.bytes("{}")));
+    }
+}
@@ -54,7 +54,14 @@ class ActionLogTest {
 
     @Test
     void flushTraceLogWithWarning() {
-        log.process(new LogEvent("logger", null, LogLevel.WARN, null, null, null));
+        log.process("logger", null, LogLevel.WARN, null, null, null);
+
+        assertThat(log.flushTraceLog()).isTrue();
+    }
+
+    @Test
+    void flushTraceLogWithSampled() {
+        log.sampled = true;
 
         assertThat(log.flushTraceLog()).isTrue();
     }
@@ -68,7 +75,7 @@ class ActionLogTest {
     void result() {
         assertThat(log.result()).isEqualTo("OK");
 
-        log.process(new LogEvent("logger", null, LogLevel.WARN, null, null, null));
+        log.process("logger", null, LogLevel.WARN, null, null, null);
         assertThat(log.result()).isEqualTo("WARN");
     }
 
@@ -76,13 +83,13 @@ class ActionLogTest {
     void errorCode() {
         assertThat(log.errorCode()).isNull();
 
-        log.process(new LogEvent("logger", null, LogLevel.WARN, null, null, null));
+        log.process("logger", null, LogLevel.WARN, null, null, null);
         assertThat(log.errorCode()).isEqualTo("UNASSIGNED");
     }
 
     @Test
     void truncateErrorMessage() {
-        log.process(new LogEvent("logger", null, LogLevel.WARN, "x".repeat(ActionLog.MAX_CONTEXT_VALUE_LENGTH + 1), null, null));
+        log.process("logger", null, LogLevel.WARN, "x".repeat(ActionLog.MAX_CONTEXT_VALUE_LENGTH + 1), null, null);
 
         assertThat(log.errorMessage.length()).isEqualTo(ActionLog.MAX_CONTEXT_VALUE_LENGTH);
     }
@@ -125,11 +132,27 @@ class ActionLogTest {
         String trace = log.trace();
         assertThat(trace).contains("c.f.i.log.ActionLog - begin");
 
-        log.process(new LogEvent("logger", null, LogLevel.WARN, "warning", null, null));
+        log.process("logger", null, LogLevel.WARN, "warning", null, null);
         trace = log.trace();
         assertThat(trace).contains("WARN logger - warning");
     }
 
+    @Test
+    void logAfterEnd() {
+        var logManager = new LogManager();
+        ActionLog log1 = logManager.begin("begin1", null);
+        logManager.end("end1");
+
+        ActionLog log2 = logManager.begin("begin2", null);     // begin next action in same thread
+        log1.process("logger", null, LogLevel.DEBUG, "log after end", null, null);
+        log1.context("key", "value");
+        logManager.end("end2");
+
+        assertThat(log1.trace()).contains("log after end");
+        assertThat(log1.context.get("key")).containsExactly("value");
+        assertThat(log2.trace()).doesNotContain("log after end").doesNotContain("[context] key");
+    }
+
     @Test
     void correlationIds() {
         assertThat(log.correlationIds()).containsExactly(log.id);
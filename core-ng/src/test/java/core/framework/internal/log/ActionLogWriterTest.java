@@ -0,0 +1,97 @@
+package core.framework.internal.log;
+
+import core.framework.internal.json.JSONReader;
+import core.framework.log.Markers;
+import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.PerformanceStatMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class ActionLogWriterTest {
+    private ActionLogWriter writer;
+    private ActionLog log;
+
+    @BeforeEach
+    void createActionLogWriter() {
+        writer = new ActionLogWriter();
+
+        log = new ActionLog("begin", null);
+        log.action("action");
+        log.process("logger", Markers.errorCode("ERROR_CODE"), LogLevel.WARN, "message", null, null);
+        log.track("db", 1000, 1, 2);
+        log.track("http", 2000, 0, 0);
+        log.context("order_id", "id1", "id2");
+        log.context.put("key", Collections.singletonList(null));
+        log.stat("count", 1);
+        log.clients = List.of("client");
+        log.end("end");
+    }
+
+    @Test
+    void toJSON() throws IOException {
+        ActionLogMessage message = new JSONReader<>(ActionLogMessage.class).fromJSON(writer.toJSON(log));
+        assertMessage(message);
+        assertThat(message.refIds).isNull();
+    }
+
+    @Test
+    void toBinary() throws IOException {
+        byte[] value = writer.toBinary(log);
+        assertThat(ActionLogReader.isBinary(value)).isTrue();
+
+        ActionLogMessage message = ActionLogReader.read(value);
+        assertMessage(message);
+        assertThat(message.refIds).isNull();
+    }
+
+    @Test
+    void readWithUnsupportedSchema() {
+        byte[] value = writer.toBinary(log);
+        value[1] = 99;
+        assertThatThrownBy(() -> ActionLogReader.read(value))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("unsupported action log schema");
+
+        assertThatThrownBy(() -> ActionLogReader.read(new byte[]{ActionLogWriter.FORMAT_BINARY, ActionLogWriter.SCHEMA_ID, 1}))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("failed to read binary action log");
+    }
+
+    private void assertMessage(ActionLogMessage message) {
+        assertThat(message.id).isEqualTo(log.id);
+        assertThat(message.date).isEqualTo(log.date);
+        assertThat(message.app).isEqualTo(LogManager.APP_NAME);
+        assertThat(message.result).isEqualTo("WARN");
+        assertThat(message.action).isEqualTo("action");
+        assertThat(message.correlationIds).containsExactly(log.id);
+        assertThat(message.clients).containsExactly("client");
+        assertThat(message.errorCode).isEqualTo("ERROR_CODE");
+        assertThat(message.errorMessage).isEqualTo("message");
+        assertThat(message.elapsed).isEqualTo(log.elapsed);
+        assertThat(message.context).containsEntry("order_id", List.of("id1", "id2"));
+        assertThat(message.context.get("key")).containsExactly((String) null);
+        assertThat(message.stats).containsEntry("count", 1.0);
+        assertThat(message.traceLog).isEqualTo(log.trace());
+
+        PerformanceStatMessage stats = message.performanceStats.get("db");
+        assertThat(stats.totalElapsed).isEqualTo(1000);
+        assertThat(stats.count).isEqualTo(1);
+        assertThat(stats.readEntries).isEqualTo(1);
+        assertThat(stats.writeEntries).isEqualTo(2);
+
+        stats = message.performanceStats.get("http");
+        assertThat(stats.totalElapsed).isEqualTo(2000);
+        assertThat(stats.readEntries).isNull();
+        assertThat(stats.writeEntries).isNull();
+    }
+}
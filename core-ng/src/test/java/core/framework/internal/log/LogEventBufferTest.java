@@ -0,0 +1,50 @@
+package core.framework.internal.log;
+
+import core.framework.log.Markers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class LogEventBufferTest {
+    private LogEventBuffer buffer;
+
+    @BeforeEach
+    void createLogEventBuffer() {
+        buffer = new LogEventBuffer(1);
+    }
+
+    @Test
+    void appendTrace() {
+        long startTime = System.nanoTime();
+        buffer.add("logger", Markers.errorCode("ERROR_CODE"), LogLevel.WARN, "message-{}", new Object[]{1}, new Error());
+        buffer.add("logger", null, LogLevel.DEBUG, "message", null, null);
+        assertThat(buffer.size).isEqualTo(2);
+
+        var builder = new StringBuilder();
+        buffer.appendTrace(builder, startTime);
+        assertThat(builder.toString())
+            .contains("WARN logger - [ERROR_CODE] message-1")
+            .contains("logger - message");
+    }
+
+    @Test
+    void appendDuration() {
+        var builder = new StringBuilder();
+        buffer.appendDuration(builder, Duration.ofSeconds(34).plusMillis(145).toNanos());
+        assertThat(builder.toString()).isEqualTo("00:34.145000000");
+
+        builder = new StringBuilder();
+        buffer.appendDuration(builder, Duration.ofMinutes(5).plusNanos(34512300).toNanos());
+        assertThat(builder.toString()).isEqualTo("05:00.034512300");
+
+        builder = new StringBuilder();
+        buffer.appendDuration(builder, Duration.ofMinutes(30).plusSeconds(1).plusNanos(123).toNanos());
+        assertThat(builder.toString()).isEqualTo("30:01.000000123");
+    }
+}
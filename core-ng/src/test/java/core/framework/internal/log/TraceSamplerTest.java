@@ -0,0 +1,57 @@
+package core.framework.internal.log;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class TraceSamplerTest {
+    @Test
+    void bucket() {
+        assertThat(TraceSampler.Histogram.bucket(0)).isZero();
+        assertThat(TraceSampler.Histogram.bucket(3)).isEqualTo(3);
+        assertThat(TraceSampler.Histogram.bucket(4)).isEqualTo(4);
+        assertThat(TraceSampler.Histogram.bucket(7)).isEqualTo(7);
+        assertThat(TraceSampler.Histogram.bucket(8)).isEqualTo(8);
+        assertThat(TraceSampler.Histogram.bucket(1_000_000)).isLessThan(TraceSampler.Histogram.bucket(1_300_000));
+        assertThat(TraceSampler.Histogram.bucket(Long.MAX_VALUE)).isLessThan(256);
+    }
+
+    @Test
+    void sampleSlowest() {
+        var sampler = new TraceSampler(1, 0);
+        for (int i = 0; i < TraceSampler.MIN_SAMPLES * 10; i++) {
+            boolean slow = i % 100 == 99;
+            assertThat(sampler.sample(actionLog(slow ? 100_000_000 : 1_000_000, 0))).isEqualTo(slow);
+        }
+        assertThat(sampler.sample(actionLog(500_000_000, 0))).isTrue();
+    }
+
+    @Test
+    void sampleSlowestIO() {
+        var sampler = new TraceSampler(10, 0);
+        for (int i = 0; i < TraceSampler.MIN_SAMPLES; i++) {
+            sampler.sample(actionLog(1_000_000, 100_000));
+        }
+        assertThat(sampler.sample(actionLog(1_000_000, 900_000))).isTrue();
+    }
+
+    @Test
+    void sampleWithRate() {
+        var sampler = new TraceSampler(0, 1);
+        assertThat(sampler.sample(actionLog(1_000_000, 0))).isTrue();
+
+        sampler = new TraceSampler(0, 0);
+        assertThat(sampler.sample(actionLog(1_000_000, 0))).isFalse();
+    }
+
+    private ActionLog actionLog(long elapsed, long ioElapsed) {
+        var log = new ActionLog("begin", null);
+        log.action("api:get:/test");
+        if (ioElapsed > 0) log.track("db", ioElapsed, 1, 0);
+        log.elapsed = elapsed;
+        return log;
+    }
+}
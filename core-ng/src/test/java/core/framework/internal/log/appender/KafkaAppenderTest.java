@@ -1,14 +1,18 @@
 package core.framework.internal.log.appender;
 
 import core.framework.internal.kafka.KafkaURI;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.ActionLogReader;
 import core.framework.kafka.KafkaException;
 import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.StatMessage;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
@@ -40,9 +44,45 @@ class KafkaAppenderTest {
     @Test
     void onCompletion() {
         var callback = appender.new KafkaCallback();
-        appender.records.add(new ProducerRecord<>("topic", new byte[0]));
         callback.onCompletion(null, new KafkaException("unexpected"));
-        assertThat(appender.records).isEmpty();
+        assertThat(appender.dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void appendWithFullBuffer() {
+        appender.buffer(2, false);
+        for (int i = 0; i < 3; i++) {
+            appender.append(new StatMessage());
+        }
+        assertThat(appender.records.size()).isEqualTo(2);
+        assertThat(appender.dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void appendWithSampling() {
+        appender.buffer(2, true);
+        appender.append(new StatMessage());
+        appender.append(new StatMessage());
+
+        var message = new ActionLogMessage();
+        message.result = "OK";
+        appender.append(message);
+        appender.append(message);
+        assertThat(appender.sampled.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void appendActionLog() {
+        var log = new ActionLog("begin", null);
+        appender.append(log);
+        appender.binary();
+        appender.append(log);
+
+        List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+        appender.records.drainTo(records, 10, 0);
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).value()[0]).isEqualTo((byte) '{');
+        assertThat(ActionLogReader.isBinary(records.get(1).value())).isTrue();
     }
 
     @Test
@@ -0,0 +1,62 @@
+package core.framework.internal.log.appender;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class LogRingBufferTest {
+    @Test
+    void offerAndDrain() {
+        var buffer = new LogRingBuffer(3, 1000);
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(record(10))).isTrue();
+        }
+        assertThat(buffer.offer(record(10))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.bytes.get()).isEqualTo(40);
+
+        List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+        assertThat(buffer.drainTo(records, 3, 0)).isEqualTo(3);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.offer(record(10))).isTrue();
+
+        records.clear();
+        assertThat(buffer.drainTo(records, 10, 0)).isEqualTo(2);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.bytes.get()).isZero();
+    }
+
+    @Test
+    void offerExceedsMaxBytes() {
+        var buffer = new LogRingBuffer(10, 100);
+        assertThat(buffer.offer(record(60))).isTrue();
+        assertThat(buffer.offer(record(60))).isFalse();
+        assertThat(buffer.bytes.get()).isEqualTo(60);
+    }
+
+    @Test
+    void drainWithTimeout() throws InterruptedException {
+        var buffer = new LogRingBuffer(10, 100);
+        Thread producer = Thread.ofVirtual().start(() -> buffer.offer(record(10)));
+
+        List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+        while (records.isEmpty()) {
+            buffer.drainTo(records, 10, 100);
+        }
+        producer.join();
+        assertThat(records).hasSize(1);
+    }
+
+    private ProducerRecord<byte[], byte[]> record(int size) {
+        return new ProducerRecord<>("topic", new byte[size]);
+    }
+}
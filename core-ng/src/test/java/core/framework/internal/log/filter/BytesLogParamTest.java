@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -20,6 +21,18 @@ class BytesLogParamTest {
         assertThat(builder.toString()).isEqualTo("text-...(truncated)");
     }
 
+    @Test
+    void appendRange() {
+        var param = new BytesLogParam(Strings.bytes("[{\"field\":\"value\"}]"), 1, 17, UTF_8);
+        var builder = new StringBuilder();
+        param.append(builder, Set.of(), 1000);
+        assertThat(builder.toString()).isEqualTo("{\"field\":\"value\"}");
+
+        builder = new StringBuilder();
+        param.append(builder, Set.of(), 5);
+        assertThat(builder.toString()).isEqualTo("{\"fi...(truncated)");
+    }
+
     @Test
     void appendNull() {
         var param = new BytesLogParam(null);
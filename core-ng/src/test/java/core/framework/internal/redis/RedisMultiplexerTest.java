@@ -0,0 +1,156 @@
+package core.framework.internal.redis;
+
+import core.framework.util.Strings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class RedisMultiplexerTest {
+    private ServerSocket server;
+    private RedisImpl redis;
+
+    @BeforeEach
+    void createRedis() throws IOException {
+        server = new ServerSocket(0);
+        redis = new RedisImpl("redis");
+        redis.host("localhost:" + server.getLocalPort());
+        redis.multiplex(1);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        redis.close();
+        server.close();
+    }
+
+    @Test
+    void get() {
+        Thread.ofVirtual().start(() -> reply("*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n", "$5\r\nvalue\r\n"));
+
+        assertThat(redis.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    void multiGetWithPipeline() {
+        Thread.ofVirtual().start(() -> reply("*2\r\n$3\r\nGET\r\n$2\r\nk1\r\n*2\r\n$3\r\nGET\r\n$2\r\nk2\r\n", "$2\r\nv1\r\n$-1\r\n"));
+
+        var pipeline = redis.pipeline();
+        var value1 = pipeline.get("k1");
+        var value2 = pipeline.get("k2");
+        pipeline.execute();
+
+        assertThat(value1.get()).isEqualTo("v1");
+        assertThat(value2.get()).isNull();
+    }
+
+    @Test
+    void multiplexTwice() {
+        assertThatThrownBy(() -> redis.multiplex(1))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("multiplex is already configured");
+    }
+
+    @Test
+    void timeoutBehindSlowReply() throws Exception {
+        redis.timeout(Duration.ofMillis(200));
+        Thread.ofVirtual().start(() -> {
+            try (Socket socket = server.accept()) {
+                InputStream input = socket.getInputStream();
+                OutputStream output = socket.getOutputStream();
+                input.readNBytes(2 * "*2\r\n$3\r\nGET\r\n$2\r\nk1\r\n".length());
+                output.write(Strings.bytes("$2\r\nv1\r\n"));
+                output.flush();
+                Thread.sleep(300);      // reply of k2 arrives after its caller timed out
+                input.readNBytes("*2\r\n$3\r\nGET\r\n$2\r\nk3\r\n".length());
+                output.write(Strings.bytes("$2\r\nv2\r\n$2\r\nv3\r\n"));
+                output.flush();
+                input.read();
+            } catch (IOException | InterruptedException e) {
+                throw new Error(e);
+            }
+        });
+
+        var latch = new CountDownLatch(1);
+        Thread caller1 = Thread.ofVirtual().start(() -> {
+            latch.countDown();
+            assertThat(redis.get("k1")).isEqualTo("v1");
+        });
+        latch.await();
+        Thread.sleep(50);   // send k2 after k1
+        assertThatThrownBy(() -> redis.get("k2"))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(SocketTimeoutException.class);
+        caller1.join();
+
+        assertThat(redis.get("k3")).isEqualTo("v3");    // late reply of k2 is discarded, connection is kept
+    }
+
+    @Test
+    void timeoutWithoutReply() {
+        redis.timeout(Duration.ofMillis(100));
+        Thread.ofVirtual().start(() -> reply("*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n", ""));
+
+        assertThatThrownBy(() -> redis.get("key"))
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(redis.multiplexer.pendingRequests()).isZero();    // connection is considered broken, all pending callers failed
+    }
+
+    @Test
+    void replies() throws IOException {
+        var replies = new RedisMultiplexer.Replies(null, 2);
+        assertThat(replies.add("OK")).isFalse();
+        assertThat(replies.add(new RedisException("ERR"))).isTrue();
+
+        assertThat(replies.next(100)).isEqualTo("OK");
+        assertThat(replies.hasNext()).isTrue();
+        assertThatThrownBy(() -> replies.next(100)).isInstanceOf(RedisException.class);
+        assertThat(replies.hasNext()).isFalse();
+    }
+
+    @Test
+    void repliesWithTimeout() {
+        var replies = new RedisMultiplexer.Replies(null, 1);
+        assertThatThrownBy(() -> replies.next(10)).isInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    void repliesWithError() {
+        var replies = new RedisMultiplexer.Replies(null, 1);
+        replies.fail(new IOException("connection reset"));
+        assertThatThrownBy(() -> replies.next(100))
+            .isInstanceOf(IOException.class)
+            .hasMessage("connection reset");
+    }
+
+    private void reply(String expectedRequest, String response) {
+        try (Socket socket = server.accept()) {
+            InputStream input = socket.getInputStream();
+            byte[] request = input.readNBytes(expectedRequest.length());
+            assertThat(decode(request)).isEqualTo(expectedRequest);
+            OutputStream output = socket.getOutputStream();
+            output.write(Strings.bytes(response));
+            output.flush();
+            input.read();   // wait until client closes connection
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
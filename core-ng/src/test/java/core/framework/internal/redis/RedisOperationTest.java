@@ -25,6 +25,16 @@ class RedisOperationTest extends AbstractRedisOperationTest {
         assertRequestEquals("*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n");
     }
 
+    @Test
+    void getBytesWithTTL() {
+        response("$6\r\nfoobar\r\n:60000\r\n");
+        RedisImpl.ValueWithTTL value = redis.getBytesWithTTL("key");
+
+        assertThat(value.value()).isEqualTo(encode("foobar"));
+        assertThat(value.ttlInMs()).isEqualTo(60000);
+        assertRequestEquals("*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n*2\r\n$4\r\nPTTL\r\n$3\r\nkey\r\n");
+    }
+
     @Test
     void set() {
         response("+OK\r\n");
@@ -133,4 +143,13 @@ class RedisOperationTest extends AbstractRedisOperationTest {
         assertThat(expirationTimes).containsExactly(1000, -1, -2);
         assertRequestEquals("*2\r\n$4\r\nPTTL\r\n$2\r\nk1\r\n" + "*2\r\n$4\r\nPTTL\r\n$2\r\nk2\r\n" + "*2\r\n$4\r\nPTTL\r\n$2\r\nk3\r\n");
     }
+
+    @Test
+    void publish() {
+        response(":2\r\n");
+        long receivers = redis.publish("channel", encode("message"));
+
+        assertThat(receivers).isEqualTo(2);
+        assertRequestEquals("*3\r\n$7\r\nPUBLISH\r\n$7\r\nchannel\r\n$7\r\nmessage\r\n");
+    }
 }
@@ -0,0 +1,62 @@
+package core.framework.internal.redis;
+
+import core.framework.redis.RedisPipeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author neo
+ */
+class RedisPipelineOperationTest extends AbstractRedisOperationTest {
+    @Test
+    void execute() {
+        response("$2\r\nv1\r\n:1\r\n:2\r\n:0\r\n*4\r\n$2\r\nm1\r\n$1\r\n1\r\n$2\r\nm2\r\n$1\r\n2\r\n");
+        RedisPipeline pipeline = redis.pipeline();
+        Supplier<String> value = pipeline.get("key1");
+        pipeline.expire("key1", Duration.ofSeconds(60));
+        Supplier<Long> hashValue = pipeline.hash().increaseBy("key2", "f1", 2);
+        Supplier<Boolean> isMember = pipeline.set().isMember("key3", "m1");
+        Supplier<Map<String, Long>> range = pipeline.sortedSet().range("key4", 0, -1);
+
+        assertThatThrownBy(value::get)
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("pipeline is not executed");
+
+        pipeline.execute();
+
+        assertThat(value.get()).isEqualTo("v1");
+        assertThat(hashValue.get()).isEqualTo(2);
+        assertThat(isMember.get()).isFalse();
+        assertThat(range.get()).containsExactly(entry("m1", 1L), entry("m2", 2L));
+        assertRequestEquals("*2\r\n$3\r\nGET\r\n$4\r\nkey1\r\n"
+            + "*3\r\n$7\r\nPEXPIRE\r\n$4\r\nkey1\r\n$5\r\n60000\r\n"
+            + "*4\r\n$7\r\nHINCRBY\r\n$4\r\nkey2\r\n$2\r\nf1\r\n$1\r\n2\r\n"
+            + "*3\r\n$9\r\nSISMEMBER\r\n$4\r\nkey3\r\n$2\r\nm1\r\n"
+            + "*5\r\n$6\r\nZRANGE\r\n$4\r\nkey4\r\n$1\r\n0\r\n$2\r\n-1\r\n$10\r\nWITHSCORES\r\n");
+    }
+
+    @Test
+    void executeWithError() {
+        response("$2\r\nv1\r\n-WRONGTYPE Operation against a key holding the wrong kind of value\r\n:1\r\n");
+        RedisPipeline pipeline = redis.pipeline();
+        Supplier<String> value = pipeline.get("key0");
+        Supplier<String> hashValue = pipeline.hash().get("key1", "f1");
+        Supplier<Long> deleted = pipeline.del("key2");
+
+        pipeline.execute();
+
+        assertThat(value.get()).isEqualTo("v1");
+        assertThatThrownBy(hashValue::get)
+            .isInstanceOf(RedisException.class)
+            .hasMessageContaining("WRONGTYPE")
+            .hasMessageContaining("hget key1");
+        assertThat(deleted.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package core.framework.internal.redis;
+
+import core.framework.util.Strings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class RedisSubscriberTest {
+    private ServerSocket server;
+    private RedisSubscriber subscriber;
+    private BlockingQueue<byte[]> messages;
+
+    @BeforeEach
+    void createRedisSubscriber() throws IOException {
+        server = new ServerSocket(0);
+        var redis = new RedisImpl("redis");
+        redis.host("localhost:" + server.getLocalPort());
+        messages = new LinkedBlockingQueue<>();
+        subscriber = new RedisSubscriber(redis, "channel", messages::add);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        subscriber.close();
+        server.close();
+    }
+
+    @Test
+    void receive() throws InterruptedException {
+        Thread.ofVirtual().start(this::publish);
+        subscriber.start();
+
+        byte[] message = messages.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(decode(message)).isEqualTo("message");
+    }
+
+    private void publish() {
+        try (Socket socket = server.accept()) {
+            InputStream input = socket.getInputStream();
+            String expectedRequest = "*2\r\n$9\r\nSUBSCRIBE\r\n$7\r\nchannel\r\n";
+            assertThat(decode(input.readNBytes(expectedRequest.length()))).isEqualTo(expectedRequest);
+            OutputStream output = socket.getOutputStream();
+            output.write(Strings.bytes("*3\r\n$9\r\nsubscribe\r\n$7\r\nchannel\r\n:1\r\n"));
+            output.write(Strings.bytes("*3\r\n$7\r\nmessage\r\n$7\r\nchannel\r\n$7\r\nmessage\r\n"));
+            output.flush();
+            input.read();   // wait until client closes connection
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -34,6 +34,9 @@ class PoolMetricsTest {
 
         assertThat(stats.stats)
                 .containsEntry("pool_test_active_count", 1.0d)
-                .containsEntry("pool_test_total_count", 2.0d);
+                .containsEntry("pool_test_total_count", 2.0d)
+                .containsEntry("pool_test_waiting_count", 0.0d)
+                .containsEntry("pool_test_borrow_wait_le_1ms", 0.0d)
+                .containsEntry("pool_test_borrow_wait_gt_1000ms", 0.0d);
     }
 }
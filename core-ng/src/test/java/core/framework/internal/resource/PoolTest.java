@@ -31,7 +31,7 @@ class PoolTest {
 
         assertThat(pool.idleItems.size()).isEqualTo(1);
         assertThat(pool.size.get()).isEqualTo(1);
-        assertThat(pool.idleItems.getFirst().returnTime).isGreaterThan(0);
+        assertThat(pool.idleItems.poll().returnTime).isGreaterThan(0);
     }
 
     @Test
@@ -114,6 +114,25 @@ class PoolTest {
         pool.size(0, 0);
         PoolException exception = catchThrowableOfType(PoolException.class, pool::borrowItem);
         assertThat(exception.errorCode()).isEqualTo("POOL_TIME_OUT");
+        assertThat(pool.borrowWaits.counts[0].sum()).isEqualTo(1);
+    }
+
+    @Test
+    void borrowWithHandoff() throws InterruptedException {
+        pool.size(1, 1);
+        pool.checkoutTimeout(Duration.ofSeconds(5));
+        PoolItem<TestPoolResource> item = pool.borrowItem();
+
+        var waiter = Thread.ofVirtual().start(() -> pool.returnItem(pool.borrowItem()));
+        while (pool.idleItems.waiters() == 0) {
+            Thread.onSpinWait();
+        }
+        pool.returnItem(item);
+        waiter.join();
+
+        assertThat(pool.size.get()).isEqualTo(1);
+        assertThat(pool.idleItems.size()).isEqualTo(1);
+        assertThat(pool.idleItems.poll()).isSameAs(item);
     }
 
     @Test
@@ -0,0 +1,85 @@
+package core.framework.internal.web;
+
+import core.framework.web.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class ConcurrencyLimiterTest {
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void createConcurrencyLimiter() {
+        limiter = new ConcurrencyLimiter(2, Duration.ofMillis(100));
+    }
+
+    @Test
+    void acquire() {
+        ConcurrencyLimiter.Limit limit = limiter.acquire("action");
+        limiter.acquire("action");
+        limiter.acquire("other");
+
+        assertThatThrownBy(() -> limiter.acquire("action"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .satisfies(e -> assertThat(((ServiceUnavailableException) e).retryAfter).isEqualTo(Duration.ofSeconds(1)));
+        assertThat(limit.shed.sum()).isEqualTo(1);
+
+        long now = System.nanoTime();
+        limit.release(now, now + 1000);
+        limiter.acquire("action");
+    }
+
+    @Test
+    void acquireWithRouteMaxLimit() {
+        limiter.maxLimit("expensive", 1);
+        ConcurrencyLimiter.Limit limit = limiter.acquire("expensive");
+        assertThat(limit.maxLimit).isEqualTo(1);
+        assertThat(limit.inFlight()).isEqualTo(1);
+
+        assertThatThrownBy(() -> limiter.acquire("expensive"))
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(limiter.acquire("action").maxLimit).isEqualTo(2);
+    }
+
+    @Test
+    void decrease() {
+        var limit = new ConcurrencyLimiter.Limit(20, Duration.ofMillis(100).toNanos());
+        long start = System.nanoTime() + 1;
+        long slow = Duration.ofMillis(200).toNanos();
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(start, start + slow);
+        assertThat(limit.limit()).isEqualTo(18);
+
+        limit.release(start, start + slow);     // started before last decrease, not to decrease again
+        assertThat(limit.limit()).isEqualTo(18);
+
+        long nextStart = start + slow + 1;
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(nextStart, nextStart + slow);
+        assertThat(limit.limit()).isEqualTo(16);
+    }
+
+    @Test
+    void increase() {
+        var limit = new ConcurrencyLimiter.Limit(2, Duration.ofMillis(100).toNanos());
+        long start = System.nanoTime() + 1;
+        limit.tryAcquire();
+        limit.release(start, start + Duration.ofMillis(200).toNanos());
+        assertThat(limit.limit()).isEqualTo(1);
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(start, start + 1000);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+}
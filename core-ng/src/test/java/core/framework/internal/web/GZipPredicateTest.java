@@ -16,7 +16,7 @@ class GZipPredicateTest {
 
     @BeforeEach
     void createGZipPredicateTest() {
-        predicate = new GZipPredicate();
+        predicate = new GZipPredicate(200);
     }
 
     @Test
@@ -54,4 +54,20 @@ class GZipPredicateTest {
         var headers = new HeaderMap();
         assertThat(predicate.resolve(headers)).isFalse();
     }
+
+    @Test
+    void skipIfEncoded() {
+        var headers = new HeaderMap();
+        headers.put(Headers.CONTENT_TYPE, ContentType.TEXT_CSS.toString());
+        headers.put(Headers.CONTENT_ENCODING, "br");
+        assertThat(predicate.resolve(headers)).isFalse();
+    }
+
+    @Test
+    void skipIfPartial() {
+        var headers = new HeaderMap();
+        headers.put(Headers.CONTENT_TYPE, ContentType.TEXT_CSS.toString());
+        headers.put(Headers.CONTENT_RANGE, "bytes 0-999/5000");
+        assertThat(predicate.resolve(headers)).isFalse();
+    }
 }
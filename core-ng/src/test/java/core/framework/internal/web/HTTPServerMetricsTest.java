@@ -0,0 +1,26 @@
+package core.framework.internal.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class HTTPServerMetricsTest {
+    private HTTPServerMetrics metrics;
+
+    @BeforeEach
+    void createHTTPServerMetrics() {
+        metrics = new HTTPServerMetrics(null);
+    }
+
+    @Test
+    void routeName() {
+        assertThat(metrics.routeName("http:get:/user/:id")).isEqualTo("get_user_id");
+        assertThat(metrics.routeName("http:post:/ajax/report-export")).isEqualTo("post_ajax_report_export");
+        assertThat(metrics.routeName("http:get:/")).isEqualTo("get");
+        assertThat(metrics.routeName("api:put:/user/:id")).isEqualTo("put_user_id");
+    }
+}
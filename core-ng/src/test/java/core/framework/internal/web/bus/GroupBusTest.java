@@ -0,0 +1,79 @@
+package core.framework.internal.web.bus;
+
+import core.framework.internal.redis.RedisImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author neo
+ */
+class GroupBusTest {
+    private GroupBus bus;
+    private RedisImpl redis;
+
+    @BeforeEach
+    void createGroupBus() {
+        redis = mock(RedisImpl.class);
+        bus = new GroupBus();
+        bus.redis(redis);
+    }
+
+    @Test
+    void withoutRedis() {
+        var bus = new GroupBus();
+        bus.subscribe("ws:/ws", "group1", (group, message) -> {
+        });
+        bus.publish("ws:/ws", "group1", "message");
+        assertThat(bus.enabled()).isFalse();
+        assertThat(bus.subscriptions).isEmpty();
+    }
+
+    @Test
+    void subscribe() {
+        bus.subscribe("ws:/ws", "group1", (group, message) -> {
+        });
+        assertThat(bus.subscriptions).containsOnlyKeys("group-bus:ws:/ws:group1");
+
+        bus.unsubscribe("ws:/ws", "group1", () -> false);
+        assertThat(bus.subscriptions).containsOnlyKeys("group-bus:ws:/ws:group1");
+
+        bus.unsubscribe("ws:/ws", "group1", () -> true);
+        assertThat(bus.subscriptions).isEmpty();
+    }
+
+    @Test
+    void onMessage() {
+        List<String> messages = new ArrayList<>();
+        bus.subscribe("ws:/ws", "group1", (group, message) -> messages.add(group + ":" + message));
+
+        var sender = new GroupBus();
+        bus.onMessage("group-bus:ws:/ws:group1", sender.encode(List.of("message1", "message2")));
+        assertThat(messages).containsExactly("group1:message1", "group1:message2");
+        assertThat(bus.receivedMessages.sum()).isEqualTo(2);
+
+        messages.clear();
+        bus.onMessage("group-bus:ws:/ws:group1", bus.encode(List.of("message3")));  // skip message sent by self
+        bus.onMessage("group-bus:ws:/ws:group2", sender.encode(List.of("message4")));  // skip group not subscribed
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    void publish() {
+        bus.publish(List.of(new GroupBus.Message("group-bus:ws:/ws:group1", "message1"),
+            new GroupBus.Message("group-bus:ws:/ws:group2", "message2"),
+            new GroupBus.Message("group-bus:ws:/ws:group1", "message3")));
+
+        verify(redis).publish(eq("group-bus:ws:/ws:group1"), any(byte[].class));
+        verify(redis).publish(eq("group-bus:ws:/ws:group2"), any(byte[].class));
+        assertThat(bus.publishedMessages.sum()).isEqualTo(3);
+    }
+}
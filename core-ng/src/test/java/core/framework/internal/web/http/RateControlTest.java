@@ -1,6 +1,9 @@
 package core.framework.internal.web.http;
 
-import core.framework.internal.web.http.RateControl.Rate;
+import core.framework.internal.web.http.RateControl.DistributedGCRA;
+import core.framework.internal.web.http.RateControl.GCRA;
+import core.framework.internal.web.http.RateControl.SlidingWindowLog;
+import core.framework.internal.web.http.RateControl.TokenBucket;
 import core.framework.web.exception.TooManyRequestsException;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +11,13 @@ import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -15,22 +25,77 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class RateControlTest {
     @Test
     void acquire() {
-        var rate = new Rate(1);
-        rate.lastUpdateTime = 100;
-        boolean result = rate.acquire(101, 2, 1);
+        var rate = new TokenBucket(2, 1, 1, 100);
+        boolean result = rate.acquire(101);
         assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(1);
+        assertThat(rate.currentPermits()).isEqualTo(1);
 
-        result = rate.acquire(100, 2, 1);
+        result = rate.acquire(100);
         assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
+        assertThat(rate.currentPermits()).isEqualTo(0);
 
-        result = rate.acquire(101, 2, 1);
+        result = rate.acquire(101);
         assertThat(result).isFalse();
 
-        result = rate.acquire(102, 2, 1);
+        result = rate.acquire(102);
         assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
+        assertThat(rate.currentPermits()).isEqualTo(0);
+    }
+
+    @Test
+    void acquireWithSlidingWindowLog() {
+        var rate = new SlidingWindowLog(2, 10);
+        assertThat(rate.acquire(100)).isTrue();
+        assertThat(rate.acquire(105)).isTrue();
+        assertThat(rate.acquire(109)).isFalse();
+        assertThat(rate.acquire(110)).isTrue();     // request at 100 is out of window
+        assertThat(rate.acquire(114)).isFalse();
+        assertThat(rate.acquire(115)).isTrue();
+    }
+
+    @Test
+    void acquireWithGCRA() {
+        var rate = new GCRA(10, 10);    // 1 request per 10ns, burst 2
+        assertThat(rate.acquire(100)).isTrue();
+        assertThat(rate.acquire(100)).isTrue();
+        assertThat(rate.acquire(100)).isFalse();
+        assertThat(rate.acquire(110)).isTrue();
+        assertThat(rate.acquire(115)).isFalse();
+        assertThat(rate.acquire(130)).isTrue();
+    }
+
+    @Test
+    void acquireWithDistributedGCRA() {
+        RedisRateLimiter limiter = mock(RedisRateLimiter.class);
+        var rate = new DistributedGCRA("group/ip", new GCRA(10_000, 30_000), limiter, 10_000, 30_000, 2, 0);   // 1 request per 10us, burst 4
+        when(limiter.acquire(eq("group/ip"), eq(10L), eq(30L), eq(2), anyLong())).thenReturn(2L, -5_000L);
+
+        assertThat(rate.acquire(100)).isTrue();     // reserved 2 permits from redis
+        assertThat(rate.acquire(200)).isTrue();     // consumed reserved permit
+        assertThat(rate.acquire(300)).isFalse();    // denied by redis, wait 5us
+        assertThat(rate.acquire(400)).isFalse();    // denied without asking redis
+        verify(limiter, times(2)).acquire(eq("group/ip"), eq(10L), eq(30L), eq(2), anyLong());
+    }
+
+    @Test
+    void acquireWithDistributedGCRAOverLocalLimit() {
+        RedisRateLimiter limiter = mock(RedisRateLimiter.class);
+        var local = new GCRA(10_000, 0);
+        local.acquire(100);
+        var rate = new DistributedGCRA("group/ip", local, limiter, 10_000, 0, 1, 0);
+
+        assertThat(rate.acquire(100)).isFalse();
+        verifyNoInteractions(limiter);
+    }
+
+    @Test
+    void acquireWithDistributedGCRAWhenRedisIsDown() {
+        RedisRateLimiter limiter = mock(RedisRateLimiter.class);
+        when(limiter.acquire(eq("group/ip"), eq(10L), eq(0L), eq(1), anyLong())).thenReturn(0L);
+        var rate = new DistributedGCRA("group/ip", new GCRA(10_000, 0), limiter, 10_000, 0, 1, 0);
+
+        assertThat(rate.acquire(100)).isTrue();
+        assertThat(rate.acquire(200)).isFalse();    // limited by local rate
     }
 
     @Test
@@ -54,4 +119,14 @@ class RateControlTest {
             .isInstanceOf(TooManyRequestsException.class)
             .hasMessageContaining("exceeded");
     }
+
+    @Test
+    void evict() {
+        var shard = new RateControl.Shard(10);
+        RateControl.RateConfig config = (key, currentTime) -> new GCRA(10, 0);
+        for (int i = 0; i < 11; i++) {
+            shard.rate("key" + i, config, i).lastAccessTime = i;
+        }
+        assertThat(shard.rates).hasSize(9).doesNotContainKeys("key0", "key1");
+    }
 }
@@ -0,0 +1,52 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisRateLimiterTest {
+    @Mock
+    RedisImpl redis;
+    private RedisRateLimiter limiter;
+
+    @BeforeEach
+    void createRedisRateLimiter() {
+        limiter = new RedisRateLimiter(redis);
+    }
+
+    @Test
+    void acquire() {
+        when(redis.eval(RedisRateLimiter.GCRA, "rate:group/ip", "100", "1000", "2")).thenReturn(new Object[]{2L, 0L});
+        assertThat(limiter.acquire("group/ip", 100, 1000, 2, 0)).isEqualTo(2);
+    }
+
+    @Test
+    void acquireWithRateExceeded() {
+        when(redis.eval(RedisRateLimiter.GCRA, "rate:group/ip", "100", "1000", "2")).thenReturn(new Object[]{0L, 50L});
+        assertThat(limiter.acquire("group/ip", 100, 1000, 2, 0)).isEqualTo(-50_000);
+    }
+
+    @Test
+    void acquireWithRedisFailure() {
+        when(redis.eval(any(), anyString(), any(String[].class))).thenThrow(new RedisException("LOADING"));
+        assertThat(limiter.acquire("group/ip", 100, 1000, 2, 0)).isZero();
+        assertThat(limiter.acquire("group/ip", 100, 1000, 2, 100)).isZero();     // skip redis within retry interval
+        verify(redis, times(1)).eval(eq(RedisRateLimiter.GCRA), anyString(), any(String[].class));
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +64,29 @@ class RequestImplTest {
         assertThat(bean.bigDecimalField).isEqualTo("1");
     }
 
+    @Test
+    void forEachBean() {
+        request.method = HTTPMethod.POST;
+        request.contentType = ContentType.APPLICATION_JSON;
+        request.body = Strings.bytes("[{\"big_decimal_field\": 1, \"int_field\": 3}, {\"big_decimal_field\": 2, \"int_field\": 4}]");
+
+        List<TestBean> beans = new ArrayList<>();
+        request.forEachBean(TestBean.class, beans::add);
+        assertThat(beans).hasSize(2);
+        assertThat(beans.get(1).intField).isEqualTo(4);
+    }
+
+    @Test
+    void forEachBeanWithInvalidBody() {
+        request.method = HTTPMethod.POST;
+        request.contentType = ContentType.APPLICATION_JSON;
+        request.body = Strings.bytes("{\"big_decimal_field\": 1, \"int_field\": 3}");
+
+        assertThatThrownBy(() -> request.forEachBean(TestBean.class, bean -> {
+        })).isInstanceOf(BadRequestException.class)
+            .satisfies(e -> assertThat(((BadRequestException) e).errorCode()).isEqualTo("INVALID_HTTP_REQUEST"));
+    }
+
     @Test
     void beanWithFormPost() {
         request.method = HTTPMethod.POST;
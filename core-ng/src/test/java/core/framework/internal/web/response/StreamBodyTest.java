@@ -0,0 +1,75 @@
+package core.framework.internal.web.response;
+
+import core.framework.internal.web.bean.ResponseBeanWriter;
+import core.framework.internal.web.service.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class StreamBodyTest {
+    private ResponseBeanWriter writer;
+
+    @BeforeEach
+    void createResponseBeanWriter() {
+        writer = new ResponseBeanWriter();
+    }
+
+    @Test
+    void writeJSONArray() {
+        var body = new StreamBody(ErrorResponse.class, List.of(response("1"), response("2")).iterator()::forEachRemaining, false);
+        var stream = new ByteArrayOutputStream();
+        long length = body.write(stream, writer);
+
+        assertThat(stream.toString(StandardCharsets.UTF_8))
+            .startsWith("[{\"id\":\"1\"")
+            .contains("},{\"id\":\"2\"")
+            .endsWith("}]");
+        assertThat(length).isEqualTo(stream.size());
+    }
+
+    @Test
+    void writeEmptyJSONArray() {
+        var body = new StreamBody(ErrorResponse.class, consumer -> {
+        }, false);
+        var stream = new ByteArrayOutputStream();
+        long length = body.write(stream, writer);
+
+        assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+        assertThat(length).isEqualTo(2);
+    }
+
+    @Test
+    void writeNDJSON() {
+        var body = new StreamBody(ErrorResponse.class, List.of(response("1"), response("2")).iterator()::forEachRemaining, true);
+        var stream = new ByteArrayOutputStream();
+        long length = body.write(stream, writer);
+
+        assertThat(stream.toString(StandardCharsets.UTF_8).split("\n"))
+            .hasSize(2)
+            .allSatisfy(line -> assertThat(line).startsWith("{\"id\":").endsWith("}"));
+        assertThat(length).isEqualTo(stream.size());
+    }
+
+    @Test
+    void writeWithUnregisteredItem() {
+        var body = new StreamBody(Object.class, consumer -> consumer.accept("value"), true);
+        assertThatThrownBy(() -> body.write(new ByteArrayOutputStream(), writer))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("bean class must not be java built-in class");
+    }
+
+    private ErrorResponse response(String id) {
+        var response = new ErrorResponse();
+        response.id = id;
+        return response;
+    }
+}
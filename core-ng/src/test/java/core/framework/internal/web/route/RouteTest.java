@@ -0,0 +1,52 @@
+package core.framework.internal.web.route;
+
+import core.framework.http.HTTPMethod;
+import core.framework.internal.web.controller.ControllerHolder;
+import core.framework.web.Controller;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import core.framework.web.StreamingBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class RouteTest {
+    private Route route;
+
+    @BeforeEach
+    void createRoute() throws NoSuchMethodException {
+        route = new Route();
+        var controller = new StreamingController();
+        route.add(HTTPMethod.POST, "/upload/:id", new ControllerHolder(controller, StreamingController.class.getMethod("execute", Request.class), "upload", "upload", false));
+        route.add(HTTPMethod.PUT, "/upload/:id", new ControllerHolder(controller, Controller.class.getMethod("execute", Request.class), "update", "update", false));
+    }
+
+    @Test
+    void streamingBody() {
+        assertThat(route.streamingBody("/upload/1", HTTPMethod.POST)).isTrue();
+        assertThat(route.streamingBody("/upload/1", HTTPMethod.PUT)).isFalse();
+        assertThat(route.streamingBody("/upload/1", HTTPMethod.PATCH)).isFalse();
+        assertThat(route.streamingBody("/not-found", HTTPMethod.POST)).isFalse();
+        assertThat(route.streamingBody("/upload/%", HTTPMethod.POST)).isFalse();
+    }
+
+    @Test
+    void controller() {
+        assertThat(route.controller(HTTPMethod.PUT, "/upload/:id").action).isEqualTo("update");
+        assertThat(route.controller(HTTPMethod.GET, "/upload/:id")).isNull();
+        assertThat(route.controller(HTTPMethod.PUT, "/upload/1")).isNull();
+        assertThat(route.controller(HTTPMethod.PUT, "/not-found")).isNull();
+    }
+
+    public static class StreamingController implements Controller {
+        @StreamingBody
+        @Override
+        public Response execute(Request request) {
+            return Response.empty();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package core.framework.internal.web.site;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.util.Files;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+class StaticFileControllerTest {
+    private Path dir;
+    private Path file;
+    private Request request;
+    private StaticFileController controller;
+
+    @BeforeEach
+    void createStaticFileController() throws IOException {
+        dir = Files.tempDir();
+        file = dir.resolve("index.html");
+        java.nio.file.Files.writeString(file, "<html></html>\n".repeat(100), StandardCharsets.UTF_8);
+
+        request = mock(Request.class);
+        when(request.header(anyString())).thenReturn(Optional.empty());
+        controller = new StaticFileController(file);
+    }
+
+    @AfterEach
+    void cleanup() {
+        Files.deleteDir(dir);
+    }
+
+    @Test
+    void execute() throws IOException {
+        controller.cache(Duration.ofMinutes(10));
+
+        Response response = controller.execute(request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.OK);
+        assertThat(response.header("Cache-Control")).hasValue("public, max-age=600");
+        assertThat(controller.budget.usedBytes()).isEqualTo(1400);
+    }
+
+    @Test
+    void executeWithModifiedFile() throws IOException {
+        StaticFile loaded = controller.file;
+        java.nio.file.Files.writeString(file, "<html></html>\n", StandardCharsets.UTF_8);
+        java.nio.file.Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertThat(controller.execute(request).status()).isEqualTo(HTTPStatus.OK);
+        assertThat(controller.file).isNotSameAs(loaded);
+        assertThat(controller.budget.usedBytes()).isEqualTo(14);     // previous content is released
+    }
+
+    @Test
+    void precompress() {
+        controller.precompress();
+
+        assertThat(controller.file.memoryBytes()).isGreaterThan(1400);
+        assertThat(controller.budget.usedBytes()).isEqualTo(controller.file.memoryBytes());
+    }
+}
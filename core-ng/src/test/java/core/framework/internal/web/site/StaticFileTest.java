@@ -0,0 +1,191 @@
+package core.framework.internal.web.site;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.http.ContentType;
+import core.framework.util.Files;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+class StaticFileTest {
+    private Path dir;
+    private Path file;
+    private Map<String, String> headers;
+    private Request request;
+    private MemoryBudget budget;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        dir = Files.tempDir();
+        file = dir.resolve("app.js");
+        java.nio.file.Files.writeString(file, "console.log('test');\n".repeat(100), StandardCharsets.UTF_8);
+
+        budget = new MemoryBudget(1024 * 1024);
+        headers = new HashMap<>();
+        request = mock(Request.class);
+        when(request.header(anyString())).thenAnswer(invocation -> Optional.ofNullable(headers.get(invocation.<String>getArgument(0))));
+    }
+
+    @AfterEach
+    void cleanup() {
+        Files.deleteDir(dir);
+    }
+
+    @Test
+    void acceptedEncodings() {
+        assertThat(StaticFile.acceptedEncodings(null)).isZero();
+        assertThat(StaticFile.acceptedEncodings("gzip, deflate, br, zstd")).isEqualTo(0b111);
+        assertThat(StaticFile.acceptedEncodings("gzip;q=1.0, br;q=0")).isEqualTo(0b100);
+        assertThat(StaticFile.acceptedEncodings("*")).isEqualTo(0b111);
+        assertThat(StaticFile.acceptedEncodings("identity")).isZero();
+    }
+
+    @Test
+    void compressible() {
+        assertThat(StaticFile.compressible(ContentType.TEXT_CSS)).isTrue();
+        assertThat(StaticFile.compressible(ContentType.APPLICATION_JAVASCRIPT)).isTrue();
+        assertThat(StaticFile.compressible(ContentType.IMAGE_PNG)).isFalse();
+        assertThat(StaticFile.compressible(null)).isFalse();
+    }
+
+    @Test
+    void range() {
+        assertThat(StaticFile.range("bytes=0-99", 1000)).containsExactly(0, 99);
+        assertThat(StaticFile.range("bytes=900-", 1000)).containsExactly(900, 999);
+        assertThat(StaticFile.range("bytes=-100", 1000)).containsExactly(900, 999);
+        assertThat(StaticFile.range("bytes=500-2000", 1000)).containsExactly(500, 999);
+        assertThat(StaticFile.range("bytes=1000-", 1000)).isEmpty();
+        assertThat(StaticFile.range("bytes=0-1,5-9", 1000)).isNull();
+        assertThat(StaticFile.range("bytes=a-b", 1000)).isNull();
+        assertThat(StaticFile.range("items=0-1", 1000)).isNull();
+    }
+
+    @Test
+    void matches() {
+        assertThat(StaticFile.matches("\"1-2\"", "\"1-2\"")).isTrue();
+        assertThat(StaticFile.matches("\"0-0\", W/\"1-2\"", "\"1-2\"")).isTrue();
+        assertThat(StaticFile.matches("*", "\"1-2\"")).isTrue();
+        assertThat(StaticFile.matches("\"1-3\"", "\"1-2\"")).isFalse();
+    }
+
+    @Test
+    void responseWithoutVariant() {
+        headers.put("Accept-Encoding", "gzip, br");
+        Response response = StaticFile.load(file, false, budget).response(request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.OK);
+        assertThat(response.header("Content-Encoding")).isEmpty();
+        assertThat(response.header("Vary")).isEmpty();
+        assertThat(response.header("Accept-Ranges")).hasValue("bytes");
+        assertThat(response.header("ETag")).isPresent();
+        assertThat(response.header("Last-Modified")).isPresent();
+        assertThat(response.contentType()).hasValue(ContentType.APPLICATION_JAVASCRIPT);
+    }
+
+    @Test
+    void responseWithPrecompressed() {
+        var staticFile = StaticFile.load(file, true, budget);
+
+        headers.put("Accept-Encoding", "gzip, br");
+        Response response = staticFile.response(request);
+        assertThat(response.header("Content-Encoding")).hasValue("gzip");
+        assertThat(response.header("Vary")).hasValue("Accept-Encoding");
+        assertThat(response.header("ETag").orElseThrow()).isNotEqualTo(staticFile.etag).endsWith("-gzip\"");
+        assertThat(response.contentType()).hasValue(ContentType.APPLICATION_JAVASCRIPT);
+
+        headers.clear();
+        response = staticFile.response(request);
+        assertThat(response.header("Content-Encoding")).isEmpty();
+        assertThat(response.header("Vary")).hasValue("Accept-Encoding");
+    }
+
+    @Test
+    void responseWithPrecompressedOverBudget() {
+        budget = new MemoryBudget(2100);     // only enough for content
+        var staticFile = StaticFile.load(file, true, budget);
+        assertThat(staticFile.memoryBytes()).isEqualTo(2100);
+
+        headers.put("Accept-Encoding", "gzip");
+        Response response = staticFile.response(request);
+        assertThat(response.header("Content-Encoding")).isEmpty();
+        assertThat(response.header("Vary")).isEmpty();
+    }
+
+    @Test
+    void responseWithVariantFile() throws IOException {
+        java.nio.file.Files.write(dir.resolve("app.js.br"), new byte[10]);
+        var staticFile = StaticFile.load(file, true, budget);
+
+        headers.put("Accept-Encoding", "gzip, br");
+        assertThat(staticFile.response(request).header("Content-Encoding")).hasValue("br");
+        headers.put("Accept-Encoding", "gzip");
+        assertThat(staticFile.response(request).header("Content-Encoding")).hasValue("gzip");
+    }
+
+    @Test
+    void responseWithNotModified() {
+        var staticFile = StaticFile.load(file, false, budget);
+
+        headers.put("If-None-Match", staticFile.etag);
+        assertThat(staticFile.response(request).status()).isEqualTo(HTTPStatus.NOT_MODIFIED);
+
+        headers.put("If-None-Match", "\"other\"");
+        headers.put("If-Modified-Since", staticFile.lastModified);
+        assertThat(staticFile.response(request).status()).isEqualTo(HTTPStatus.OK);     // If-None-Match takes precedence
+
+        headers.remove("If-None-Match");
+        assertThat(staticFile.response(request).status()).isEqualTo(HTTPStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void responseWithRange() {
+        var staticFile = StaticFile.load(file, false, budget);
+
+        headers.put("Range", "bytes=0-9");
+        Response response = staticFile.response(request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.PARTIAL_CONTENT);
+        assertThat(response.header("Content-Range")).hasValue("bytes 0-9/2100");
+
+        headers.put("Range", "bytes=5000-");
+        response = staticFile.response(request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.RANGE_NOT_SATISFIABLE);
+        assertThat(response.header("Content-Range")).hasValue("bytes */2100");
+
+        headers.put("Range", "bytes=0-9");
+        headers.put("If-Range", "\"outdated\"");
+        assertThat(staticFile.response(request).status()).isEqualTo(HTTPStatus.OK);
+    }
+
+    @Test
+    void loadWithinBudget() {
+        var staticFile = StaticFile.load(file, false, budget);
+        assertThat(staticFile.memoryBytes()).isEqualTo(2100);
+        assertThat(budget.usedBytes()).isEqualTo(2100);
+
+        budget = new MemoryBudget(1000);
+        staticFile = StaticFile.load(file, false, budget);
+        assertThat(staticFile.memoryBytes()).isZero();
+        assertThat(budget.usedBytes()).isZero();
+
+        headers.put("Range", "bytes=10-19");    // read from file
+        Response response = staticFile.response(request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.PARTIAL_CONTENT);
+        assertThat(response.header("Content-Range")).hasValue("bytes 10-19/2100");
+    }
+}
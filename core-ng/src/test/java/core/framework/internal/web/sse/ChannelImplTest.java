@@ -25,13 +25,13 @@ class ChannelImplTest {
 
     @Test
     void poll() {
-        channel.queue.add(Strings.bytes("1"));
+        channel.queue.add(new ChannelImpl.Event(null, Strings.bytes("1")));
         ByteBuffer buffer = channel.poll();
         assertThat(buffer.array()).isEqualTo(Strings.bytes("1"));
 
-        channel.queue.add(Strings.bytes("1"));
-        channel.queue.add(Strings.bytes("2"));
-        channel.queue.add(Strings.bytes("3"));
+        channel.queue.add(new ChannelImpl.Event(null, Strings.bytes("1")));
+        channel.queue.add(new ChannelImpl.Event(null, Strings.bytes("2")));
+        channel.queue.add(new ChannelImpl.Event(null, Strings.bytes("3")));
         buffer = channel.poll();
         assertThat(buffer.array()).isEqualTo(Strings.bytes("123"));
     }
@@ -43,5 +43,44 @@ class ChannelImplTest {
 
         assertThat(channel.queue.size()).isEqualTo(1);
         assertThat(channel.lastSentTime).isGreaterThan(oldTime);
+        assertThat(channel.pendingBytes).isGreaterThan(0);
+    }
+
+    @Test
+    void sendLatest() {
+        var context = new ServerSentEventContextImpl<TestEvent>();
+        channel = new ChannelImpl<>(exchange(), null, context, new ServerSentEventBuilder<>(TestEvent.class), null);
+        channel.send("key1", "1");
+        channel.send("key2", "2");
+        channel.send("key1", "33");
+
+        assertThat(channel.queue).hasSize(2);
+        assertThat(channel.pendingBytes).isEqualTo(3);
+        assertThat(context.coalescedEvents.sum()).isEqualTo(1);
+        assertThat(channel.poll().array()).isEqualTo(Strings.bytes("332"));
+
+        channel.send("key1", "4");     // polled event won't be replaced
+        assertThat(channel.queue).hasSize(1);
+    }
+
+    @Test
+    void evict() {
+        var context = new ServerSentEventContextImpl<TestEvent>();
+        channel = new ChannelImpl<>(exchange(), null, context, new ServerSentEventBuilder<>(TestEvent.class), null);
+        channel.maxPendingBytes = 2;
+        channel.send("1");
+        channel.send("2");
+        assertThat(channel.isOpen()).isTrue();
+
+        channel.send("3");
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(channel.queue).isEmpty();
+        assertThat(context.evictedChannels.sum()).isEqualTo(1);
+    }
+
+    private HttpServerExchange exchange() {
+        HttpServerExchange exchange = mock(HttpServerExchange.class);
+        when(exchange.getIoThread()).thenReturn(mock(XnioIoThread.class));
+        return exchange;
     }
 }
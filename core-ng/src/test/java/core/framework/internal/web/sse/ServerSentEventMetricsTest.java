@@ -23,6 +23,8 @@ class ServerSentEventMetricsTest {
         var stats = new Stats();
         metrics.collect(stats);
         assertThat(stats.stats)
-            .containsEntry("sse_active_channels", 1.0d);
+            .containsEntry("sse_active_channels", 1.0d)
+            .containsEntry("sse_pending_bytes", 0.0d)
+            .containsEntry("sse_evicted_channels", 0.0d);
     }
 }
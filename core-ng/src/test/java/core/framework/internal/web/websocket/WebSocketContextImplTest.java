@@ -1,12 +1,15 @@
 package core.framework.internal.web.websocket;
 
 import core.framework.web.websocket.Channel;
+import io.undertow.websockets.core.WebSocketChannel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -53,6 +56,42 @@ class WebSocketContextImplTest {
         assertThat(context.all()).isEmpty();
     }
 
+    @Test
+    void broadcastToSlowChannel() {
+        WebSocketChannel webSocketChannel = mock(WebSocketChannel.class);
+        var support = new ChannelSupport<>(TestWebSocketMessage.class, TestWebSocketMessage.class, new TestChannelListener(), context);
+        context.support = support;
+        var channel = new ChannelImpl<>(webSocketChannel, support);
+        channel.join("group1");
+        channel.pendingMessages.set(context.broadcast.maxPendingMessages);
+
+        var message = new TestWebSocketMessage();
+        message.message = "value";
+        context.broadcast("group1", message);
+
+        assertThat(context.broadcast.droppedMessages.sum()).isEqualTo(1);
+        assertThat(context.broadcast.count.sum()).isEqualTo(1);
+        assertThat(channel.pendingMessages.get()).isEqualTo(context.broadcast.maxPendingMessages);
+    }
+
+    @Test
+    void broadcastToClosedChannel() {
+        WebSocketChannel webSocketChannel = mock(WebSocketChannel.class);
+        when(webSocketChannel.isCloseFrameSent()).thenReturn(Boolean.TRUE);
+        var support = new ChannelSupport<>(TestWebSocketMessage.class, TestWebSocketMessage.class, new TestChannelListener(), context);
+        context.support = support;
+        var channel = new ChannelImpl<>(webSocketChannel, support);
+        channel.join("group1");
+
+        var message = new TestWebSocketMessage();
+        message.message = "value";
+        context.broadcast("group1", message);
+        context.broadcast("group2", message);   // group without channels
+
+        assertThat(channel.pendingMessages.get()).isZero();
+        assertThat(context.broadcast.droppedMessages.sum()).isZero();
+    }
+
     private ChannelImpl<TestWebSocketMessage, TestWebSocketMessage> channel() {
         return new ChannelImpl<>(null, new ChannelSupport<>(TestWebSocketMessage.class, TestWebSocketMessage.class, new TestChannelListener(), context));
     }
@@ -4,6 +4,7 @@ import core.framework.internal.cache.CacheImpl;
 import core.framework.internal.cache.LocalCacheStore;
 import core.framework.internal.cache.RedisCacheStore;
 import core.framework.internal.cache.TestCache;
+import core.framework.internal.cache.TieredCacheStore;
 import core.framework.internal.module.ModuleContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,6 +70,49 @@ class CacheConfigTest {
         assertThat(cache.cacheStore).isInstanceOf(LocalCacheStore.class);
     }
 
+    @Test
+    void addWithNear() {
+        config.redis("localhost");
+
+        CacheStoreConfig cacheStoreConfig = config.add(TestCache.class, Duration.ofHours(1));
+        cacheStoreConfig.near(Duration.ofMinutes(1));
+        CacheImpl<?> cache = config.caches.get("testcache");
+        assertThat(cache.cacheStore).isInstanceOf(TieredCacheStore.class);
+    }
+
+    @Test
+    void addWithLocalNear() {
+        config.local();
+
+        CacheStoreConfig cacheStoreConfig = config.add(TestCache.class, Duration.ofHours(1));
+        cacheStoreConfig.near(Duration.ofMinutes(1));
+        CacheImpl<?> cache = config.caches.get("testcache");
+        assertThat(cache.cacheStore).isInstanceOf(LocalCacheStore.class);
+    }
+
+    @Test
+    void addWithBinary() {
+        config.redis("localhost");
+
+        CacheStoreConfig cacheStoreConfig = config.add(TestCache.class, Duration.ofHours(1));
+        cacheStoreConfig.binary();
+        assertThat(config.codecMetrics().codecs).hasSize(1);
+    }
+
+    @Test
+    void refreshAfter() {
+        config.local();
+
+        CacheStoreConfig cacheStoreConfig = config.add(TestCache.class, Duration.ofHours(1));
+        assertThatThrownBy(() -> cacheStoreConfig.refreshAfter(Duration.ofHours(1)))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("refreshAfter must be shorter than cache duration");
+
+        assertThatThrownBy(() -> cacheStoreConfig.refreshAfter(Duration.ofMinutes(30)))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("executor is not initialized");
+    }
+
     @Test
     void cacheName() {
         assertThat(config.cacheName(TestCache.class))
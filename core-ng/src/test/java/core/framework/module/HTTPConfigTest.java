@@ -11,6 +11,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.time.Duration;
+
 import static core.framework.http.HTTPMethod.DELETE;
 import static core.framework.http.HTTPMethod.GET;
 import static core.framework.http.HTTPMethod.PATCH;
@@ -44,6 +46,25 @@ class HTTPConfigTest {
         config.route(PATCH, "/route-test", controller);
     }
 
+    @Test
+    void limitConcurrency() {
+        assertThatThrownBy(() -> config.limitConcurrency(GET, "/ajax/report", 10))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("concurrency limit is not configured");
+
+        config.limitConcurrency(100, Duration.ofSeconds(1));
+        assertThatThrownBy(() -> config.limitConcurrency(GET, "/ajax/report", 10))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("route not found");
+
+        config.route(GET, "/ajax/report", new TestController());
+        config.limitConcurrency(GET, "/ajax/report", 10);
+
+        var api = new APIConfig();
+        api.initialize(config.context, null);
+        api.service(APIConfigTest.TestWebService.class, new APIConfigTest.TestWebServiceImpl());
+        config.limitConcurrency(PUT, "/test/:id", 10);
+    }
 
     @Test
     void bean() {
@@ -31,4 +31,22 @@ class LimitRateConfigTest {
         config.add("test", 100, 100, Duration.ofMinutes(1));
         config.validate();
     }
+
+    @Test
+    void addSlidingWindow() {
+        assertThatThrownBy(() -> config.addSlidingWindow("test", 2000, Duration.ofMinutes(1)))
+            .hasMessageContaining("maxRequests must be between 1 and 1000");
+
+        config.addSlidingWindow("test", 10, Duration.ofMinutes(1));
+        config.validate();
+    }
+
+    @Test
+    void addGCRA() {
+        assertThatThrownBy(() -> config.addGCRA("test", 10, Duration.ofSeconds(1), 0))
+            .hasMessageContaining("burst must be greater than 0");
+
+        config.addGCRA("test", 10, Duration.ofSeconds(1), 5);
+        config.validate();
+    }
 }
@@ -29,4 +29,31 @@ class LogConfigTest {
             .isInstanceOf(Error.class)
             .hasMessageContaining("log appender is already set");
     }
+
+    @Test
+    void kafkaBuffer() {
+        assertThatThrownBy(() -> config.kafkaBuffer(1000, true))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("kafka log appender is not configured");
+    }
+
+    @Test
+    void kafkaBinaryFormat() {
+        assertThatThrownBy(() -> config.kafkaBinaryFormat())
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("kafka log appender is not configured");
+    }
+
+    @Test
+    void sampleTrace() {
+        assertThatThrownBy(() -> config.sampleTrace(101, 0))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("slowestPercent must be between 0 and 100");
+
+        assertThatThrownBy(() -> config.sampleTrace(1, 2))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("sampleRate must be between 0 and 1");
+
+        config.sampleTrace(1, 0.01);
+    }
 }
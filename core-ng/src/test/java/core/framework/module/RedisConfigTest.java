@@ -35,5 +35,21 @@ class RedisConfigTest {
         assertThat(config.client()).isNotNull();
 
         config.validate();
+
+        assertThatThrownBy(() -> config.multiplex(2))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("multiplex must not be configured with poolSize");
+    }
+
+    @Test
+    void multiplex() {
+        config.multiplex(2);
+
+        assertThatThrownBy(() -> config.multiplex(2))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("multiplex is already configured");
+        assertThatThrownBy(() -> config.poolSize(1, 1))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("poolSize must not be configured with multiplex");
     }
 }
@@ -5,6 +5,7 @@ import core.framework.internal.web.HTTPIOHandler;
 import core.framework.internal.web.websocket.TestChannelListener;
 import core.framework.internal.web.websocket.TestWebSocketMessage;
 import core.framework.util.Types;
+import core.framework.web.websocket.SlowChannelPolicy;
 import core.framework.web.websocket.WebSocketContext;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,17 @@ class WebSocketConfigTest {
         assertThat(config.context.apiController.beanClasses).contains(TestWebSocketMessage.class);
     }
 
+    @Test
+    void slowChannel() {
+        assertThatThrownBy(() -> config.slowChannel(0, SlowChannelPolicy.DROP_MESSAGE))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("maxPendingMessages must be greater than 0");
+
+        config.slowChannel(100, SlowChannelPolicy.CLOSE_CHANNEL);
+        assertThat(config.context.httpServer.webSocketHandler.broadcast.maxPendingMessages).isEqualTo(100);
+        assertThat(config.context.httpServer.webSocketHandler.broadcast.slowChannelPolicy).isEqualTo(SlowChannelPolicy.CLOSE_CHANNEL);
+    }
+
     @Test
     void validate() {
         config.validate();